@@ -22,6 +22,7 @@ import java.net.URI;
 import org.eclipse.core.filesystem.*;
 import org.eclipse.core.filesystem.provider.FileSystem;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.osgi.service.environment.Constants;
 
 /**
@@ -113,6 +114,20 @@ public class LocalFileSystem extends FileSystem {
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The local file system lists the directories of the tree as the client
+	 * visits them, prefetching the subdirectories of each visited directory
+	 * one level ahead in the background, see {@link LocalFileTree}.
+	 */
+	@Override
+	public IFileTree fetchFileTree(IFileStore root, IProgressMonitor monitor) {
+		if (!(root instanceof LocalFile))
+			return null;
+		return new LocalFileTree((LocalFile) root, monitor);
+	}
+
 	@Override
 	public IFileStore fromLocalFile(File file) {
 		return new LocalFile(file);
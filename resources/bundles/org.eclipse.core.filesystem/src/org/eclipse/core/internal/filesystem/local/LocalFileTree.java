@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filesystem.local;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.filesystem.*;
+import org.eclipse.core.filesystem.provider.FileInfo;
+import org.eclipse.core.filesystem.provider.FileTree;
+import org.eclipse.core.runtime.*;
+
+/**
+ * A file tree for the local file system that lists directories ahead of the
+ * client. Each directory is listed once and the information of its children is
+ * fetched directly from the native handler, without creating a
+ * {@link LocalFile} for every child.
+ * <p>
+ * Directories are prefetched one level ahead of the client: when the children
+ * of a directory are requested, the listing of its subdirectories is started in
+ * the background. Directories the client never asks for, for example because the
+ * workspace filters them out, are therefore never descended into. Only their own
+ * listing may be fetched.
+ * </p><p>
+ * Symbolic links to directories are not prefetched, and prefetching stops after
+ * {@link #MAX_ENTRIES} entries. Directories that have not been prefetched for
+ * either reason are listed on demand when their children are requested, so that
+ * clients never see a truncated tree.
+ * </p><p>
+ * Sibling directories are listed concurrently on a shared fork-join pool whose
+ * parallelism is capped by {@link #PARALLELISM}. A value of 1 disables
+ * prefetching, every directory is then listed when it is requested.
+ * </p>
+ */
+public class LocalFileTree extends FileTree {
+	/**
+	 * The maximum number of entries that are prefetched. Can be changed with
+	 * -Declipse.filesystem.fileTreeMaxEntries=&lt;count&gt;.
+	 */
+	static final int MAX_ENTRIES = Integer.getInteger("eclipse.filesystem.fileTreeMaxEntries", 200_000); //$NON-NLS-1$
+
+	/**
+	 * The maximum number of threads used to prefetch a tree. Can be changed with
+	 * -Declipse.filesystem.fileTreeParallelism=&lt;threads&gt;.
+	 */
+	static final int PARALLELISM = Math.max(1, Integer.getInteger("eclipse.filesystem.fileTreeParallelism", Runtime.getRuntime().availableProcessors())); //$NON-NLS-1$
+
+	private static final IFileInfo[] NO_CHILDREN = {};
+
+	/**
+	 * Initialize-on-demand holder of the pool used for parallel prefetching.
+	 */
+	private static class PoolHolder {
+		static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+	}
+
+	/**
+	 * Map of absolute directory paths to the listing of their children, sorted
+	 * by name. A listing may still be in progress.
+	 */
+	private final Map<String, ForkJoinTask<IFileInfo[]>> childInfos = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of entries fetched so far.
+	 */
+	private final AtomicInteger entries = new AtomicInteger();
+
+	private final IProgressMonitor monitor;
+
+	private final IFileInfo rootInfo;
+
+	/**
+	 * Creates a file tree rooted at the given store and starts to list it.
+	 *
+	 * @param root the root of the tree
+	 * @param monitor a progress monitor, or <code>null</code>
+	 */
+	public LocalFileTree(LocalFile root, IProgressMonitor monitor) {
+		super(root);
+		this.monitor = monitor == null ? new NullProgressMonitor() : monitor;
+		rootInfo = root.fetchInfo();
+		if (rootInfo.isDirectory())
+			prefetch(root.filePath);
+	}
+
+	/**
+	 * Returns information about the file with the given name in the given directory.
+	 */
+	private static IFileInfo fetchInfo(String directory, String name) {
+		FileInfo info = LocalFileNativesManager.fetchFileInfo(directory + File.separatorChar + name);
+		//natives don't set the file name on all platforms
+		if (info.getName().isEmpty())
+			info.setName(name);
+		return info;
+	}
+
+	/**
+	 * Starts listing the given directory in the background, unless it is already
+	 * listed, prefetching is disabled or the tree is full.
+	 */
+	private void prefetch(String directory) {
+		if (PARALLELISM <= 1 || entries.get() >= MAX_ENTRIES || monitor.isCanceled())
+			return;
+		childInfos.computeIfAbsent(directory, d -> PoolHolder.POOL.submit(() -> fetchDirectory(d)));
+	}
+
+	/**
+	 * Lists the children of the given directory, sorted by name.
+	 */
+	IFileInfo[] fetchDirectory(String directory) {
+		String[] names = new File(directory).list();
+		if (names == null || names.length == 0)
+			return NO_CHILDREN;
+		IFileInfo[] infos = new IFileInfo[names.length];
+		for (int i = 0; i < names.length; i++)
+			infos[i] = fetchInfo(directory, names[i]);
+		Arrays.sort(infos);
+		entries.addAndGet(infos.length);
+		return infos;
+	}
+
+	/**
+	 * Returns the listing of the given directory if it has been prefetched,
+	 * waiting for it if it is still in progress, or null otherwise.
+	 */
+	private IFileInfo[] getPrefetched(String directory) {
+		ForkJoinTask<IFileInfo[]> task = childInfos.get(directory);
+		if (task == null)
+			return null;
+		try {
+			return task.join();
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public IFileInfo[] getChildInfos(IFileStore store) {
+		if (!(store instanceof LocalFile)) {
+			try {
+				return store.childInfos(EFS.NONE, null);
+			} catch (CoreException e) {
+				return NO_CHILDREN;
+			}
+		}
+		String directory = ((LocalFile) store).filePath;
+		IFileInfo[] infos = getPrefetched(directory);
+		//not prefetched, so list the directory now
+		if (infos == null)
+			infos = fetchDirectory(directory);
+		//the client descends into this directory, so get its subdirectories ready
+		for (IFileInfo info : infos) {
+			if (info.isDirectory() && !info.getAttribute(EFS.ATTRIBUTE_SYMLINK))
+				prefetch(directory + File.separatorChar + info.getName());
+		}
+		return infos.clone();
+	}
+
+	@Override
+	public IFileStore[] getChildStores(IFileStore store) {
+		IFileInfo[] infos = getChildInfos(store);
+		IFileStore[] result = new IFileStore[infos.length];
+		for (int i = 0; i < infos.length; i++)
+			result[i] = store.getChild(infos[i].getName());
+		return result;
+	}
+
+	@Override
+	public IFileInfo getFileInfo(IFileStore store) {
+		if (store.equals(treeRoot))
+			return rootInfo;
+		IFileStore parent = store.getParent();
+		IFileInfo[] siblings = parent instanceof LocalFile ? getPrefetched(((LocalFile) parent).filePath) : null;
+		if (siblings == null)
+			return store.fetchInfo();
+		FileInfo key = new FileInfo(store.getName());
+		int index = Arrays.binarySearch(siblings, key);
+		//the file did not exist when the tree was created
+		return index >= 0 ? siblings[index] : key;
+	}
+}
@@ -194,7 +194,7 @@ public abstract class AbstractDataTreeNode {
 			// This is a complete picture, so deletions
 			// wipe out the child and are no longer useful
 			AbstractDataTreeNode[] assembledChildren = assembleWith(children, node.children, false);
-			return new DataTreeNode(name, node.getData(), assembledChildren);
+			return new DataTreeNode(name, node.getData(), assembledChildren).neverPack();
 		}
 		if (this.isDelta()) {
 			AbstractDataTreeNode[] assembledChildren = assembleWith(children, node.children, true);
@@ -203,7 +203,7 @@ public abstract class AbstractDataTreeNode {
 			return new NoDataDeltaNode(name, assembledChildren);
 		}
 		AbstractDataTreeNode[] assembledChildren = assembleWith(children, node.children, false);
-		return new DataTreeNode(name, this.getData(), assembledChildren);
+		return new DataTreeNode(name, this.getData(), assembledChildren).neverPack();
 	}
 
 	/**
@@ -297,14 +297,14 @@ public abstract class AbstractDataTreeNode {
 			int compare = oldNode.name.compareTo(newNode.name);
 			if (compare < 0) {
 				/* give the client a chance to say whether it should be in the delta */
-				int userComparison = comparator.compare(oldNode.getData(), null);
+				int userComparison = comparator.compare(oldNode.peekData(), null);
 				if (userComparison != 0) {
 					comparedNodes[count++] = convertToRemovedComparisonNode(oldNode, userComparison);
 				}
 				++oldIndex;
 			} else if (compare > 0) {
 				/* give the client a chance to say whether it should be in the delta */
-				int userComparison = comparator.compare(null, newNode.getData());
+				int userComparison = comparator.compare(null, newNode.peekData());
 				if (userComparison != 0) {
 					comparedNodes[count++] = convertToAddedComparisonNode(newNode, userComparison);
 				}
@@ -325,7 +325,7 @@ public abstract class AbstractDataTreeNode {
 			DataTreeNode oldNode = (DataTreeNode) oldNodes[oldIndex++];
 
 			/* give the client a chance to say whether it should be in the delta */
-			int userComparison = comparator.compare(oldNode.getData(), null);
+			int userComparison = comparator.compare(oldNode.peekData(), null);
 			if (userComparison != 0) {
 				comparedNodes[count++] = convertToRemovedComparisonNode(oldNode, userComparison);
 			}
@@ -334,7 +334,7 @@ public abstract class AbstractDataTreeNode {
 			DataTreeNode newNode = (DataTreeNode) newNodes[newIndex++];
 
 			/* give the client a chance to say whether it should be in the delta */
-			int userComparison = comparator.compare(null, newNode.getData());
+			int userComparison = comparator.compare(null, newNode.peekData());
 			if (userComparison != 0) {
 				comparedNodes[count++] = convertToAddedComparisonNode(newNode, userComparison);
 			}
@@ -386,7 +386,7 @@ public abstract class AbstractDataTreeNode {
 				convertedChildren[i] = convertToAddedComparisonNode(children[i], userComparison);
 			}
 		}
-		return new DataTreeNode(newNode.name, new NodeComparison(null, newNode.getData(), NodeComparison.K_ADDED, userComparison), convertedChildren);
+		return new DataTreeNode(newNode.name, new NodeComparison(null, newNode.peekData(), NodeComparison.K_ADDED, userComparison), convertedChildren);
 	}
 
 	static AbstractDataTreeNode convertToRemovedComparisonNode(AbstractDataTreeNode oldNode, int userComparison) {
@@ -401,7 +401,7 @@ public abstract class AbstractDataTreeNode {
 				convertedChildren[i] = convertToRemovedComparisonNode(children[i], userComparison);
 			}
 		}
-		return new DataTreeNode(oldNode.name, new NodeComparison(oldNode.getData(), null, NodeComparison.K_REMOVED, userComparison), convertedChildren);
+		return new DataTreeNode(oldNode.name, new NodeComparison(oldNode.peekData(), null, NodeComparison.K_REMOVED, userComparison), convertedChildren);
 	}
 
 	/**
@@ -435,6 +435,15 @@ public abstract class AbstractDataTreeNode {
 		throw new AbstractMethodError(Messages.dtree_subclassImplement);
 	}
 
+	/**
+	 * Returns the node's data for reading only.
+	 *
+	 * @see DataTreeNode#peekData()
+	 */
+	Object peekData() {
+		return getData();
+	}
+
 	/**
 	 * return the name of the node
 	 */
@@ -574,6 +583,58 @@ public abstract class AbstractDataTreeNode {
 		return children.length;
 	}
 
+	/**
+	 * Packs the data of the complete children of the receiver, and of all
+	 * nodes below it, with the given packer.
+	 */
+	void packData(IDataPacker packer) {
+		//copy children pointer in case of concurrent modification
+		AbstractDataTreeNode[] nodes = children;
+		int count = 0;
+		for (AbstractDataTreeNode node : nodes) {
+			node.packData(packer);
+			if (isPackable(node, packer))
+				count++;
+		}
+		if (count == 0)
+			return;
+		DataTreeNode[] packable = new DataTreeNode[count];
+		String[] names = new String[count];
+		Object[] data = new Object[count];
+		count = 0;
+		for (AbstractDataTreeNode node : nodes) {
+			// nodes may have been handed out since they were counted
+			if (count < packable.length && isPackable(node, packer)) {
+				Object o = ((DataTreeNode) node).rawData();
+				if (packer.canPack(o)) {
+					packable[count] = (DataTreeNode) node;
+					names[count] = node.name;
+					data[count++] = o;
+				}
+			}
+		}
+		if (count < packable.length) {
+			packable = Arrays.copyOf(packable, count);
+			names = Arrays.copyOf(names, count);
+			data = Arrays.copyOf(data, count);
+		}
+		if (count == 0)
+			return;
+		IPackedData packed = packer.pack(names, data);
+		if (packed != null) {
+			for (int i = 0; i < count; i++)
+				packable[i].packData(data[i], packed);
+		}
+	}
+
+	/**
+	 * Returns whether the given node is complete, its data has not been handed
+	 * out and can be packed by the given packer.
+	 */
+	private static boolean isPackable(AbstractDataTreeNode node, IDataPacker packer) {
+		return node.type() == T_COMPLETE_NODE && ((DataTreeNode) node).isPackable() && packer.canPack(((DataTreeNode) node).rawData());
+	}
+
 	/* (non-Javadoc
 	 * Method declared on IStringPoolParticipant
 	 */
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.core.internal.dtree;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import org.eclipse.core.internal.utils.*;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IPath;
@@ -23,8 +25,36 @@ import org.eclipse.core.runtime.IPath;
  * another node or subtree.
  */
 public class DataTreeNode extends AbstractDataTreeNode {
+	/**
+	 * Whether node data may be packed, see {@link DeltaDataTree#packData(IDataPacker)}.
+	 * Unless it is, nodes don't track whether their data has been handed out,
+	 * and reading data costs nothing extra.
+	 */
+	public static final boolean PACKING_ENABLED = Boolean.getBoolean("org.eclipse.core.resources.compactTree"); //$NON-NLS-1$
+
+	/**
+	 * Accesses {@link #data} with volatile semantics while packing is enabled.
+	 */
+	private static final VarHandle DATA;
+	static {
+		try {
+			DATA = MethodHandles.lookup().findVarHandle(DataTreeNode.class, "data", Object.class); //$NON-NLS-1$
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
 	protected Object data;
 
+	/**
+	 * Whether the data of this node may have been handed out to clients, who
+	 * may update it in place. Such data is never packed, since the updates
+	 * would be lost. Only tracked if {@link #PACKING_ENABLED}.
+	 *
+	 * @see #packData(Object, IPackedData)
+	 */
+	private volatile boolean handedOut;
+
 	/**
 	 * Creates a new node
 	 *
@@ -100,8 +130,8 @@ public class DataTreeNode extends AbstractDataTreeNode {
 
 	AbstractDataTreeNode compareWith(DataTreeNode other, IComparator comparator) {
 		AbstractDataTreeNode[] comparedChildren = compareWith(children, other.children, comparator);
-		Object oldData = data;
-		Object newData = other.data;
+		Object oldData = peekData();
+		Object newData = other.peekData();
 
 		/* don't allow comparison of implicit root node */
 		int userComparison = 0;
@@ -128,9 +158,9 @@ public class DataTreeNode extends AbstractDataTreeNode {
 		if (children.length > 0) {
 			AbstractDataTreeNode[] childrenCopy = new AbstractDataTreeNode[children.length];
 			System.arraycopy(children, 0, childrenCopy, 0, children.length);
-			return new DataTreeNode(name, data, childrenCopy);
+			return new DataTreeNode(name, getData(), childrenCopy).neverPack();
 		}
-		return new DataTreeNode(name, data, children);
+		return new DataTreeNode(name, getData(), children).neverPack();
 	}
 
 	/**
@@ -164,7 +194,7 @@ public class DataTreeNode extends AbstractDataTreeNode {
 		childNode.setName(localName);
 		newChildren[left] = childNode;
 		System.arraycopy(children, left, newChildren, left + 1, children.length - left);
-		return new DataTreeNode(this.getName(), this.getData(), newChildren);
+		return new DataTreeNode(this.getName(), this.getData(), newChildren).neverPack();
 	}
 
 	/**
@@ -186,7 +216,7 @@ public class DataTreeNode extends AbstractDataTreeNode {
 		} else {
 			newSize = this.size() - 1;
 			children = new AbstractDataTreeNode[newSize];
-			newNode = new DataTreeNode(this.getName(), this.getData(), children);
+			newNode = new DataTreeNode(this.getName(), this.getData(), children).neverPack();
 			newNode.copyChildren(0, index - 1, this, 0); //#from:to:with:startingAt:
 			newNode.copyChildren(index, newSize - 1, this, index + 1);
 		}
@@ -291,15 +321,17 @@ public class DataTreeNode extends AbstractDataTreeNode {
 	 * Although typed as abstract nodes, the given nodes must be complete.
 	 */
 	protected static AbstractDataTreeNode forwardDeltaWithOrNullIfEqual(AbstractDataTreeNode oldNode, AbstractDataTreeNode newNode, IComparator comparer) {
+		// complete subtrees are shared between trees as long as they don't change
+		if (oldNode == newNode)
+			return null;
 		AbstractDataTreeNode[] childDeltas = forwardDeltaWith(oldNode.children, newNode.children, comparer);
-		Object newData = newNode.getData();
-		if (comparer.compare(oldNode.getData(), newData) == 0) {
+		if (comparer.compare(oldNode.peekData(), newNode.peekData()) == 0) {
 			if (childDeltas.length == 0) {
 				return null;
 			}
 			return new NoDataDeltaNode(newNode.name, childDeltas);
 		}
-		return new DataDeltaNode(newNode.name, newData, childDeltas);
+		return new DataDeltaNode(newNode.name, newNode.getData(), childDeltas);
 	}
 
 	/**
@@ -307,7 +339,13 @@ public class DataTreeNode extends AbstractDataTreeNode {
 	 */
 	@Override
 	public Object getData() {
-		return data;
+		if (!PACKING_ENABLED)
+			return data;
+		// must be set before data is read, see packData
+		if (!handedOut)
+			handedOut = true;
+		Object o = DATA.getVolatile(this);
+		return o instanceof IPackedData ? unpackData() : o;
 	}
 
 	/**
@@ -318,6 +356,57 @@ public class DataTreeNode extends AbstractDataTreeNode {
 		return true;
 	}
 
+	/**
+	 * Returns whether the data of this node may be packed.
+	 */
+	boolean isPackable() {
+		return PACKING_ENABLED && !handedOut;
+	}
+
+	/**
+	 * Marks the data of this node as handed out, so that it is never packed.
+	 * Returns this node.
+	 */
+	DataTreeNode neverPack() {
+		if (PACKING_ENABLED)
+			handedOut = true;
+		return this;
+	}
+
+	/**
+	 * Replaces the data of this node by the given packed data, unless the
+	 * data has changed since it was passed to the packer, or it has been
+	 * handed out by {@link #getData()} in the meantime. Since getData marks the
+	 * node before it reads the data, either it sees the packed data, or this
+	 * method sees the mark and restores the data.
+	 */
+	synchronized void packData(Object expected, IPackedData packed) {
+		if (!PACKING_ENABLED || data != expected || handedOut)
+			return;
+		DATA.setVolatile(this, packed);
+		if (handedOut)
+			DATA.setVolatile(this, expected);
+	}
+
+	/**
+	 * Returns the data of this node without unpacking it.
+	 */
+	Object rawData() {
+		return data;
+	}
+
+	/**
+	 * Returns the data of this node for reading only. Packed data is unpacked
+	 * into a new object that is not kept by this node, so traversals of the
+	 * whole tree, like writing it or comparing it, do not undo the packing.
+	 * The returned object must not be updated.
+	 */
+	@Override
+	Object peekData() {
+		Object o = data;
+		return o instanceof IPackedData ? ((IPackedData) o).unpack(name) : o;
+	}
+
 	/**
 	 * Sets the data for the node
 	 */
@@ -354,4 +443,18 @@ public class DataTreeNode extends AbstractDataTreeNode {
 	int type() {
 		return T_COMPLETE_NODE;
 	}
+
+	/**
+	 * Replaces packed data of this node by its unpacked form and returns it.
+	 * Synchronized, since nodes of immutable trees are shared by all threads,
+	 * and so that it does not overlap with packData.
+	 */
+	private synchronized Object unpackData() {
+		Object o = data;
+		if (o instanceof IPackedData) {
+			o = ((IPackedData) o).unpack(name);
+			DATA.setVolatile(this, o);
+		}
+		return o;
+	}
 }
@@ -64,7 +64,7 @@ public class DataTreeWriter {
 
 		/* maybe write the data */
 		if (node.hasData()) {
-			Object data = node.getData();
+			Object data = node.peekData();
 
 			/**
 			 * Write a flag indicating whether or not the data field is null.
@@ -74,7 +74,7 @@ public class DataTreeWriter {
 				writeNumber(0);
 			} else {
 				writeNumber(1);
-				flatener.writeData(path, node.getData(), output);
+				flatener.writeData(path, data, output);
 			}
 
 		}
@@ -128,7 +128,7 @@ public class DataTreeWriter {
 
 		/* maybe write the data */
 		if (node.hasData()) {
-			Object data = node.getData();
+			Object data = node.peekData();
 
 			/**
 			 * Write a flag indicating whether or not the data field is null.
@@ -138,7 +138,7 @@ public class DataTreeWriter {
 				writeNumber(0);
 			} else {
 				writeNumber(1);
-				flatener.writeData(path, node.getData(), output);
+				flatener.writeData(path, data, output);
 			}
 		}
 	}
@@ -13,7 +13,7 @@
  *******************************************************************************/
 package org.eclipse.core.internal.dtree;
 
-import java.util.Objects;
+import java.util.*;
 import org.eclipse.core.internal.utils.Messages;
 import org.eclipse.core.internal.utils.StringPool;
 import org.eclipse.core.runtime.Assert;
@@ -234,6 +234,26 @@ public class DeltaDataTree extends AbstractDataTree {
 		return this;
 	}
 
+	/**
+	 * Returns a tree whose root node is a copy of the root node of this tree, with
+	 * the children of the root nodes of the given trees as its children. This is
+	 * used to combine trees that have been read separately for disjoint subtrees of
+	 * the same tree. The parents of this tree and of the given trees are ignored.
+	 *
+	 * @param subtrees trees whose root nodes have children with distinct names
+	 * @param parent the parent of the returned tree, or <code>null</code>
+	 */
+	public DeltaDataTree combineWith(DeltaDataTree[] subtrees, DeltaDataTree parent) {
+		List<AbstractDataTreeNode> children = new ArrayList<>();
+		for (DeltaDataTree subtree : subtrees) {
+			Collections.addAll(children, subtree.rootNode.getChildren());
+		}
+		children.sort((a, b) -> a.name.compareTo(b.name));
+		AbstractDataTreeNode root = rootNode.copy();
+		root.setChildren(children.isEmpty() ? AbstractDataTreeNode.NO_CHILDREN : children.toArray(new AbstractDataTreeNode[children.size()]));
+		return new DeltaDataTree(root, parent);
+	}
+
 	/**
 	 * Returns a DeltaDataTree that describes the differences between
 	 * this tree and "other" tree.  Each node of the returned tree
@@ -978,6 +998,25 @@ public class DeltaDataTree extends AbstractDataTree {
 		setRootNode(rootNode.simplifyWithParent(rootKey(), parent, comparer));
 	}
 
+	/**
+	 * Packs the data of the complete nodes of this tree and its parents with
+	 * the given packer. Data is unpacked again when it is requested, so this
+	 * does not change the contents of the trees. This tree must be immutable.
+	 * Does nothing unless {@link DataTreeNode#PACKING_ENABLED}.
+	 *
+	 * @see IDataPacker
+	 */
+	public void packData(IDataPacker packer) {
+		Assert.isTrue(isImmutable());
+		if (!DataTreeNode.PACKING_ENABLED)
+			return;
+		for (DeltaDataTree dad = this; dad != null; dad = dad.getParent()) {
+			AbstractDataTreeNode root = dad.getRootNode();
+			if (root != null)
+				root.packData(packer);
+		}
+	}
+
 	/**
 	 * @see org.eclipse.core.internal.utils.IStringPoolParticipant#shareStrings(StringPool)
 	 */
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.dtree;
+
+/**
+ * An interface for packing the data of sibling nodes of an immutable data
+ * tree into a compact form that is shared by these nodes.
+ *
+ * @see DeltaDataTree#packData(IDataPacker)
+ */
+public interface IDataPacker {
+	/**
+	 * Returns whether the given data object can be packed. The data may
+	 * already have been packed by a previous pass.
+	 */
+	boolean canPack(Object data);
+
+	/**
+	 * Returns the packed form of the data of the given sibling nodes, or
+	 * <code>null</code> if packing them is not worthwhile.
+	 *
+	 * @param names the names of the nodes, in the order of their siblings
+	 * @param data the data of the nodes, all of which can be packed
+	 */
+	IPackedData pack(String[] names, Object[] data);
+}
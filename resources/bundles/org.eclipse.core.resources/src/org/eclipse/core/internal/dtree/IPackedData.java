@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.dtree;
+
+/**
+ * The data of sibling nodes, packed by an {@link IDataPacker}. A node holding
+ * packed data replaces it with the unpacked data object the first time its
+ * data is requested, so that the same object is returned from then on.
+ * Writing or comparing trees only reads a temporary unpacked copy.
+ */
+public interface IPackedData {
+	/**
+	 * Returns a new data object for the node with the given name.
+	 */
+	Object unpack(String name);
+}
@@ -21,7 +21,6 @@ package org.eclipse.core.internal.events;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.eclipse.core.internal.resources.*;
 import org.eclipse.core.internal.resources.ComputeProjectOrder.Digraph;
@@ -38,40 +37,6 @@ public class BuildManager implements ICoreConstants, IManager, ILifecycleListene
 
 	private static final String BUILDER_INIT = "BuilderInitInfo"; //$NON-NLS-1$
 
-	/**
-	 * Cache used to optimize the common case of an autobuild against
-	 * a workspace where only a single project has changed (and hence
-	 * only a single delta is interesting).
-	 */
-	static class DeltaCache<E> {
-		private final Map<IPath, E> deltas = new HashMap<>();
-		private ElementTree newTree;
-		private ElementTree oldTree;
-
-		public void flush() {
-			deltas.clear();
-			this.oldTree = null;
-			this.newTree = null;
-		}
-
-		/**
-		 * Returns the cached resource delta for the given project and trees, or
-		 * calls calculator to compute a new delta if there is no matching one in the cache.
-		 */
-		public E computeIfAbsent(IPath project, ElementTree anOldTree, ElementTree aNewTree, Supplier<E> calculator) {
-			if (!(areEqual(this.oldTree, anOldTree) && areEqual(this.newTree, aNewTree))) {
-				this.oldTree = anOldTree;
-				this.newTree = aNewTree;
-				deltas.clear();
-			}
-			return deltas.computeIfAbsent(project, p -> calculator.get());
-		}
-
-		private static boolean areEqual(ElementTree cached, ElementTree requested) {
-			return !ElementTree.hasChanges(requested, cached, ResourceComparator.getBuildComparator(), true);
-		}
-	}
-
 	/**
 	 * These builders are added to build tables in place of builders that couldn't be instantiated
 	 */
@@ -119,9 +84,10 @@ public class BuildManager implements ICoreConstants, IManager, ILifecycleListene
 	private ElementTree currentTree;
 
 	/**
-	 * Caches the IResourceDelta for a pair of trees
+	 * Caches the build deltas of the builders for pairs of trees. It holds build
+	 * deltas only; the notification manager just flushes it after notifications.
 	 */
-	final private DeltaCache<IResourceDelta> deltaCache = new DeltaCache<>();
+	final private ResourceDeltaCache deltaCache;
 
 	private ILock lock;
 
@@ -172,6 +138,7 @@ public class BuildManager implements ICoreConstants, IManager, ILifecycleListene
 		projectsToRebuild = ConcurrentHashMap.newKeySet();
 		restartBuildImmediately = new ConcurrentHashMap<>();
 		this.lock = workspaceLock;
+		this.deltaCache = workspace.getDeltaCache();
 		InternalBuilder.buildManager = this;
 		setEarlyExitFromBuildLoopAllowed(
 				Boolean.getBoolean("org.eclipse.core.resources.allowEarlyBuildLoopExit")); //$NON-NLS-1$ );
@@ -956,13 +923,13 @@ public class BuildManager implements ICoreConstants, IManager, ILifecycleListene
 
 	private IResourceDelta getDeltaCached(IProject project, ElementTree oldTree, ElementTree newTree) {
 		final IPath fullPath = project.getFullPath();
-		IResourceDelta resultDelta = deltaCache.computeIfAbsent(fullPath, oldTree, newTree, () -> {
+		IResourceDelta resultDelta = deltaCache.computeBuildDelta(fullPath, oldTree, newTree, () -> {
 			long startTime = 0L;
 			if (Policy.DEBUG_BUILD_DELTA) {
 				startTime = System.currentTimeMillis();
 				Policy.debug("Computing delta for project: " + project.getName()); //$NON-NLS-1$
 			}
-			IResourceDelta result;
+			ResourceDelta result;
 			if (!project.exists() && !newTree.includes(fullPath) && !oldTree.includes(fullPath)) {
 				result = null;
 			} else {
@@ -973,7 +940,7 @@ public class BuildManager implements ICoreConstants, IManager, ILifecycleListene
 						"Build: no delta " + debugBuilder() + " [" + debugProject() + "] " + fullPath); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			if (Policy.DEBUG_BUILD_DELTA)
 				Policy.debug("Finished computing delta, time: " + (System.currentTimeMillis() - startTime) + "ms" //$NON-NLS-1$ //$NON-NLS-2$
-						+ ((ResourceDelta) result).toDeepDebugString());
+						+ result.toDeepDebugString());
 
 			return result;
 		});
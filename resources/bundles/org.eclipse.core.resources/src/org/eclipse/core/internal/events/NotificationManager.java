@@ -14,9 +14,9 @@
  *******************************************************************************/
 package org.eclipse.core.internal.events;
 
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.internal.events.ResourceChangeListenerList.ListenerEntry;
 import org.eclipse.core.internal.resources.*;
 import org.eclipse.core.internal.utils.Messages;
@@ -25,6 +25,7 @@ import org.eclipse.core.internal.watson.ElementTree;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
 
 public class NotificationManager implements IManager, ILifecycleListener {
 	class NotifyJob extends Job {
@@ -57,6 +58,17 @@ public class NotificationManager implements IManager, ILifecycleListener {
 	}
 
 	private static final long NOTIFICATION_DELAY = 1500;
+	/**
+	 * The maximum number of threads that notify listeners implementing
+	 * {@link IConcurrentResourceChangeListener}. If zero, all listeners are
+	 * notified by the thread that broadcasts the changes.
+	 */
+	private static final int NOTIFICATION_THREADS = Integer.getInteger("org.eclipse.core.resources.notificationThreads", Math.min(4, Runtime.getRuntime().availableProcessors())); //$NON-NLS-1$
+	/**
+	 * The number of seconds after which a warning is logged if a concurrent
+	 * listener has not returned yet.
+	 */
+	private static final long CONCURRENT_WARNING_SECONDS = 10;
 	/**
 	 * The Threads that are currently avoiding notification.
 	 */
@@ -107,6 +119,11 @@ public class NotificationManager implements IManager, ILifecycleListener {
 
 	protected volatile boolean notificationRequested = false;
 	private final Job notifyJob;
+	/**
+	 * The threads that notify concurrent listeners, created on first use.
+	 * This field is guarded by <code>this</code>.
+	 */
+	private ThreadPoolExecutor notificationPool;
 	private final Workspace workspace;
 
 	public NotificationManager(Workspace workspace) {
@@ -186,6 +203,10 @@ public class NotificationManager implements IManager, ILifecycleListener {
 			workspace.getMarkerManager().resetMarkerDeltas(Math.min(lastPostBuildId, lastPostChangeId));
 			lastDelta = null;
 			lastDeltaState = lastState;
+			// cached build deltas must not keep the trees notified so far alive
+			ResourceDeltaCache deltaCache = workspace.getDeltaCache();
+			if (deltaCache != null)
+				deltaCache.flush();
 		}
 	}
 
@@ -289,34 +310,169 @@ public class NotificationManager implements IManager, ILifecycleListener {
 		if (lockTree)
 			workspace.setTreeLocked(true);
 		try {
+			// the interested listeners, and the events they receive
+			List<IResourceChangeListener> targets = new ArrayList<>(resourceListeners.length);
+			List<ResourceChangeEvent> events = new ArrayList<>(resourceListeners.length);
+			// listeners with equal filters share the pruned event
+			Map<ResourceChangeFilter, ResourceChangeEvent> filteredEvents = null;
 			for (ListenerEntry resourceListener : resourceListeners) {
-				if ((type & resourceListener.eventMask) != 0) {
-					final IResourceChangeListener listener = resourceListener.listener;
-					if (ResourceStats.TRACE_LISTENERS)
-						ResourceStats.startNotify(listener);
-					SafeRunner.run(new ISafeRunnable() {
-						@Override
-						public void handleException(Throwable e) {
-							// exception logged in SafeRunner#run
-						}
-
-						@Override
-						public void run() throws Exception {
-							if (Policy.DEBUG_NOTIFICATIONS)
-								Policy.debug("Notifying " + listener.getClass().getName() + " about resource change event" + event.toDebugString()); //$NON-NLS-1$ //$NON-NLS-2$
-							listener.resourceChanged(event);
-						}
-					});
-					if (ResourceStats.TRACE_LISTENERS)
-						ResourceStats.endNotify();
+				if ((type & resourceListener.eventMask) == 0)
+					continue;
+				ResourceChangeEvent listenerEvent = event;
+				if (resourceListener.filter != null && event.getDelta() != null) {
+					if (filteredEvents == null)
+						filteredEvents = new HashMap<>();
+					if (!filteredEvents.containsKey(resourceListener.filter))
+						filteredEvents.put(resourceListener.filter, filter(event, resourceListener.pruner));
+					listenerEvent = filteredEvents.get(resourceListener.filter);
+					if (listenerEvent == null)
+						continue;
 				}
+				targets.add(resourceListener.listener);
+				events.add(listenerEvent);
+			}
+			// other listeners may modify the workspace unless the tree is locked
+			List<Future<?>> concurrent = lockTree ? notifyConcurrent(targets, events) : null;
+			for (int i = 0; i < targets.size(); i++) {
+				IResourceChangeListener listener = targets.get(i);
+				if (concurrent != null && listener instanceof IConcurrentResourceChangeListener)
+					continue;
+				if (ResourceStats.TRACE_LISTENERS)
+					ResourceStats.startNotify(listener);
+				notify(listener, events.get(i));
+				if (ResourceStats.TRACE_LISTENERS)
+					ResourceStats.endNotify();
 			}
+			if (concurrent != null)
+				awaitConcurrent(concurrent, targets);
 		} finally {
 			if (lockTree)
 				workspace.setTreeLocked(oldLock);
 		}
 	}
 
+	/**
+	 * Returns an event with the delta of the given event pruned by the given
+	 * pruner, or <code>null</code> if the delta contains no matching changes.
+	 */
+	private ResourceChangeEvent filter(ResourceChangeEvent event, ResourceDeltaPruner pruner) {
+		ResourceDelta delta = pruner.prune((ResourceDelta) event.getDelta());
+		if (delta == null)
+			return null;
+		return new ResourceChangeEvent(event.getSource(), event.getType(), event.getBuildKind(), delta);
+	}
+
+	private void notify(final IResourceChangeListener listener, final ResourceChangeEvent event) {
+		SafeRunner.run(new ISafeRunnable() {
+			@Override
+			public void handleException(Throwable e) {
+				// exception logged in SafeRunner#run
+			}
+
+			@Override
+			public void run() throws Exception {
+				if (Policy.DEBUG_NOTIFICATIONS)
+					Policy.debug("Notifying " + listener.getClass().getName() + " about resource change event" + event.toDebugString()); //$NON-NLS-1$ //$NON-NLS-2$
+				listener.resourceChanged(event);
+			}
+		});
+	}
+
+	/**
+	 * Submits the notification of the concurrent listeners among the given ones
+	 * to the notification pool. Must only be called while the tree is locked.
+	 * Returns <code>null</code> if all listeners should be notified by the current
+	 * thread, because there are no concurrent listeners or no other listeners to
+	 * notify at the same time.
+	 */
+	private List<Future<?>> notifyConcurrent(List<IResourceChangeListener> targets, List<ResourceChangeEvent> events) {
+		if (NOTIFICATION_THREADS <= 0 || targets.size() < 2)
+			return null;
+		List<Future<?>> futures = null;
+		for (int i = 0; i < targets.size(); i++) {
+			IResourceChangeListener listener = targets.get(i);
+			if (!(listener instanceof IConcurrentResourceChangeListener))
+				continue;
+			if (futures == null)
+				futures = new ArrayList<>();
+			ResourceChangeEvent event = events.get(i);
+			futures.add(getNotificationPool().submit(() -> {
+				// the tree is locked for the broadcasting thread, lock it for the pool thread too
+				workspace.setTreeLockedNotifier(true);
+				try {
+					if (ResourceStats.TRACE_LISTENERS) {
+						PerformanceStats stats = ResourceStats.startConcurrentNotify(listener);
+						notify(listener, event);
+						ResourceStats.endNotify(stats);
+					} else {
+						notify(listener, event);
+					}
+				} finally {
+					workspace.setTreeLockedNotifier(false);
+				}
+			}));
+		}
+		return futures;
+	}
+
+	/**
+	 * Waits until the given concurrent notifications of the concurrent listeners
+	 * among the given ones are done. The notification must not end early when
+	 * the current thread is interrupted or a listener takes long, because the
+	 * workspace may change afterwards. A listener that waits for the current
+	 * thread, for example with <code>Display.syncExec</code> when changes are
+	 * broadcast in the UI thread, therefore deadlocks; a warning naming the
+	 * listener is logged when it has not returned after
+	 * {@link #CONCURRENT_WARNING_SECONDS}. Errors that are not handled by
+	 * {@link SafeRunner} are rethrown once all notifications are done.
+	 */
+	private void awaitConcurrent(List<Future<?>> futures, List<IResourceChangeListener> targets) {
+		boolean interrupted = false;
+		Throwable error = null;
+		Iterator<IResourceChangeListener> listeners = targets.stream().filter(IConcurrentResourceChangeListener.class::isInstance).iterator();
+		for (Future<?> future : futures) {
+			IResourceChangeListener listener = listeners.next();
+			boolean warned = false;
+			while (true) {
+				try {
+					future.get(CONCURRENT_WARNING_SECONDS, TimeUnit.SECONDS);
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (TimeoutException e) {
+					if (!warned) {
+						warned = true;
+						Policy.log(IStatus.WARNING, NLS.bind(Messages.events_concurrentListenerBlocked, listener.getClass().getName(), Thread.currentThread().getName()), null);
+					}
+				} catch (ExecutionException e) {
+					if (error == null)
+						error = e.getCause();
+					break;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		if (error instanceof Error)
+			throw (Error) error;
+		if (error instanceof RuntimeException)
+			throw (RuntimeException) error;
+	}
+
+	private synchronized ExecutorService getNotificationPool() {
+		if (notificationPool == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(NOTIFICATION_THREADS, NOTIFICATION_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "Resource Change Notification-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			pool.allowCoreThreadTimeOut(true);
+			notificationPool = pool;
+		}
+		return notificationPool;
+	}
+
 	public void removeListener(IResourceChangeListener listener) {
 		listeners.remove(listener);
 		if (ResourceStats.TRACE_LISTENERS)
@@ -336,6 +492,11 @@ public class NotificationManager implements IManager, ILifecycleListener {
 	public void shutdown(IProgressMonitor monitor) {
 		//wipe out any existing listeners
 		listeners.clear();
+		synchronized (this) {
+			if (notificationPool != null)
+				notificationPool.shutdown();
+			notificationPool = null;
+		}
 	}
 
 	@Override
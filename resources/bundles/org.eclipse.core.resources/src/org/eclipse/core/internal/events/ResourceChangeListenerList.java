@@ -15,7 +15,7 @@ package org.eclipse.core.internal.events;
 
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
-import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.*;
 
 /**
  * This class is used to maintain a list of listeners. It is a fairly lightweight object,
@@ -36,10 +36,17 @@ public class ResourceChangeListenerList {
 	static final class ListenerEntry {
 		final int eventMask;
 		final IResourceChangeListener listener;
+		/**
+		 * The filter of the listener, or <code>null</code> if it is interested in all changes.
+		 */
+		final ResourceChangeFilter filter;
+		final ResourceDeltaPruner pruner;
 
 		ListenerEntry(IResourceChangeListener listener, int eventMask) {
 			this.listener = listener;
 			this.eventMask = eventMask;
+			this.filter = listener instanceof IFilteredResourceChangeListener ? ((IFilteredResourceChangeListener) listener).getFilter() : null;
+			this.pruner = filter == null ? null : new ResourceDeltaPruner(filter);
 		}
 
 		@Override
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.events;
+
+import java.util.*;
+import java.util.function.Supplier;
+import org.eclipse.core.internal.utils.Policy;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * A bounded cache of the resource deltas of builds. Deltas are keyed by the
+ * pair of trees they compare and the root of the delta. The least recently used
+ * deltas are evicted when the cache is full, and the cache is flushed at the end
+ * of each build and after each notification, so that it does not keep old trees
+ * alive.
+ * <p>
+ * Notification deltas are not cached. They include marker deltas, are updated
+ * in place when markers change, and are computed only once per notification.
+ * </p>
+ * <p>
+ * Trees are compared by identity, except that a pair of build trees without
+ * changes relative to the most recently cached pair is mapped to that pair. This
+ * covers the common case of an autobuild in which only few projects have
+ * changed, and builders ask for the delta of the same projects against trees
+ * that differ only in layers without relevant changes.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public class ResourceDeltaCache {
+	private static final int CACHE_SIZE = Integer.getInteger("org.eclipse.core.resources.deltaCacheSize", 16); //$NON-NLS-1$
+
+	private final int capacity;
+
+	/**
+	 * The key of a cached delta. Trees are compared by identity.
+	 */
+	private static final class Key {
+		final ElementTree oldTree;
+		final ElementTree newTree;
+		final IPath root;
+
+		Key(ElementTree oldTree, ElementTree newTree, IPath root) {
+			this.oldTree = oldTree;
+			this.newTree = newTree;
+			this.root = root;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return oldTree == other.oldTree && newTree == other.newTree && root.equals(other.root);
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(oldTree) * 31 + System.identityHashCode(newTree)) * 31 + root.hashCode();
+		}
+	}
+
+	private final Map<Key, ResourceDelta> deltas = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, ResourceDelta> eldest) {
+			if (size() <= capacity)
+				return false;
+			evictions++;
+			return true;
+		}
+	};
+
+	/**
+	 * The most recently cached pair of build trees.
+	 */
+	private ElementTree lastOldTree;
+	private ElementTree lastNewTree;
+
+	// statistics
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public ResourceDeltaCache() {
+		this(CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a cache that keeps at most the given number of deltas.
+	 */
+	public ResourceDeltaCache(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the cached build delta for the given root and trees, or calls the
+	 * calculator to compute a new delta if there is no matching one in the cache.
+	 * Build deltas do not contain marker deltas.
+	 *
+	 * @return the delta, or <code>null</code> if the calculator returned <code>null</code>
+	 */
+	public synchronized ResourceDelta computeBuildDelta(IPath root, ElementTree oldTree, ElementTree newTree, Supplier<ResourceDelta> calculator) {
+		if (oldTree != lastOldTree || newTree != lastNewTree) {
+			if (lastOldTree != null && isEquivalent(lastOldTree, oldTree) && isEquivalent(lastNewTree, newTree)) {
+				oldTree = lastOldTree;
+				newTree = lastNewTree;
+			} else {
+				lastOldTree = oldTree;
+				lastNewTree = newTree;
+			}
+		}
+		Key key = new Key(oldTree, newTree, root);
+		ResourceDelta delta = deltas.get(key);
+		if (delta != null) {
+			hits++;
+			return delta;
+		}
+		misses++;
+		delta = calculator.get();
+		if (delta != null)
+			deltas.put(key, delta);
+		return delta;
+	}
+
+	/**
+	 * Removes all deltas from the cache, and prints the statistics if delta
+	 * debugging is enabled.
+	 */
+	public synchronized void flush() {
+		if (Policy.DEBUG_BUILD_DELTA && hits + misses > 0)
+			Policy.debug(this.toString());
+		deltas.clear();
+		lastOldTree = null;
+		lastNewTree = null;
+		hits = misses = evictions = 0;
+	}
+
+	/**
+	 * Returns the number of cached deltas.
+	 */
+	public synchronized int size() {
+		return deltas.size();
+	}
+
+	/**
+	 * Returns the number of deltas found in the cache since it was last flushed.
+	 */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of deltas evicted from the cache since it was last flushed.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	private static boolean isEquivalent(ElementTree cached, ElementTree requested) {
+		return cached == requested || !ElementTree.hasChanges(requested, cached, ResourceComparator.getBuildComparator(), true);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "Delta cache: size=" + deltas.size() + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
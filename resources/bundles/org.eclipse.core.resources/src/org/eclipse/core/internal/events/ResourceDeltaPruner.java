@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.events;
+
+import java.util.Arrays;
+import java.util.Set;
+import org.eclipse.core.internal.resources.ResourceInfo;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Prunes resource deltas to the changes that match a {@link ResourceChangeFilter}.
+ * Subtrees that do not contain matching changes are dropped, and subtrees that
+ * are kept entirely are shared with the original delta.
+ */
+public class ResourceDeltaPruner {
+	private static final ResourceDelta[] NO_CHILDREN = new ResourceDelta[0];
+
+	private final Set<String> projects;
+	private final Set<IPath> paths;
+	private final Set<String> fileExtensions;
+	private final int kindMask;
+	private final int flagMask;
+
+	public ResourceDeltaPruner(ResourceChangeFilter filter) {
+		this.projects = filter.getProjects();
+		this.paths = filter.getPaths();
+		this.fileExtensions = filter.getFileExtensions();
+		this.kindMask = filter.getKindMask();
+		this.flagMask = filter.getFlagMask();
+	}
+
+	/**
+	 * Returns whether the subtree of the given path may contain matching changes.
+	 */
+	private boolean isCandidate(IPath path) {
+		if (projects != null && path.segmentCount() > 0 && !projects.contains(path.segment(0)))
+			return false;
+		if (paths == null)
+			return true;
+		for (IPath prefix : paths) {
+			if (prefix.isPrefixOf(path) || path.isPrefixOf(prefix))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given delta itself is a change that matches the filter.
+	 */
+	private boolean matches(ResourceDelta delta) {
+		int kind = delta.getKind();
+		int flags = delta.getFlags();
+		// ancestors of changed resources are changed without flags
+		if (kind == IResourceDelta.NO_CHANGE || (kind == IResourceDelta.CHANGED && flags == 0))
+			return false;
+		if ((kind & kindMask) == 0 || (flagMask != 0 && (flags & flagMask) == 0))
+			return false;
+		IPath path = delta.getFullPath();
+		if (projects != null && (path.segmentCount() == 0 || !projects.contains(path.segment(0))))
+			return false;
+		if (paths != null && paths.stream().noneMatch(prefix -> prefix.isPrefixOf(path)))
+			return false;
+		if (fileExtensions != null) {
+			ResourceInfo info = (kind & (IResourceDelta.REMOVED | IResourceDelta.REMOVED_PHANTOM)) != 0 ? delta.oldInfo : delta.newInfo;
+			if (info == null || info.getType() != IResource.FILE || !fileExtensions.contains(path.getFileExtension()))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the given delta pruned to the matching changes, or <code>null</code>
+	 * if it does not contain matching changes.
+	 */
+	public ResourceDelta prune(ResourceDelta delta) {
+		if (!isCandidate(delta.getFullPath()))
+			return null;
+		ResourceDelta[] children = delta.children;
+		ResourceDelta[] pruned = null;
+		int count = 0;
+		for (int i = 0; i < children.length; i++) {
+			ResourceDelta child = prune(children[i]);
+			if (child != children[i] && pruned == null) {
+				pruned = new ResourceDelta[children.length];
+				System.arraycopy(children, 0, pruned, 0, i);
+			}
+			if (child != null) {
+				if (pruned != null)
+					pruned[count] = child;
+				count++;
+			}
+		}
+		if (pruned == null)
+			// no child has been pruned
+			return children.length > 0 || matches(delta) ? delta : null;
+		if (count == 0 && !matches(delta))
+			return null;
+		ResourceDelta result = new ResourceDelta(delta.path, delta.deltaInfo);
+		result.setStatus(delta.status);
+		result.setOldInfo(delta.oldInfo);
+		result.setNewInfo(delta.newInfo);
+		result.setChildren(count == 0 ? NO_CHILDREN : Arrays.copyOf(pruned, count));
+		return result;
+	}
+}
@@ -49,6 +49,14 @@ public class ResourceStats {
 		currentStats = null;
 	}
 
+	/**
+	 * Ends timing a listener that has been started with
+	 * {@link #startConcurrentNotify(IResourceChangeListener)}.
+	 */
+	public static void endNotify(PerformanceStats stats) {
+		stats.endRun();
+	}
+
 	public static void endSave() {
 		if (currentStats != null)
 			currentStats.endRun();
@@ -87,6 +95,19 @@ public class ResourceStats {
 		currentStats.startRun();
 	}
 
+	/**
+	 * Starts timing a listener that is notified concurrently with other
+	 * listeners. Unlike {@link #startNotify(IResourceChangeListener)}, this
+	 * does not use the current event, so it may be called from any thread.
+	 *
+	 * @return the stats to pass to {@link #endNotify(PerformanceStats)}
+	 */
+	public static PerformanceStats startConcurrentNotify(IResourceChangeListener listener) {
+		PerformanceStats stats = PerformanceStats.getStats(EVENT_LISTENERS, listener);
+		stats.startRun();
+		return stats;
+	}
+
 	public static void startSnapshot() {
 		currentStats = PerformanceStats.getStats(EVENT_SNAPSHOT, ResourcesPlugin.getWorkspace());
 		currentStats.startRun();
@@ -13,18 +13,29 @@
  *******************************************************************************/
 package org.eclipse.core.internal.localstore;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Set;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
-import org.eclipse.core.internal.utils.UniversalUniqueIdentifier;
+import org.eclipse.core.internal.resources.ResourceException;
+import org.eclipse.core.internal.utils.*;
+import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.osgi.util.NLS;
 
 /**
  * Blob store which maps UUIDs to blobs on disk. The UUID is mapped
  * to a file in the file-system and the blob is the file contents. For scalability,
  * the blobs are split among 255 directories with the names 00 to FF.
+ * <p>
+ * Blobs are either identified by a fresh UUID, or by the digest of their
+ * contents, in which case identical contents are only stored once.
+ * </p>
  */
 public class BlobStore {
 	protected IFileStore localStore;
@@ -60,6 +71,55 @@ public class BlobStore {
 		return uuid;
 	}
 
+	/**
+	 * Adds the contents of the given file as a blob that is identified by the
+	 * first {@link UniversalUniqueIdentifier#BYTES_SIZE} bytes of the SHA-256
+	 * digest of the contents. If a blob with the same contents exists already,
+	 * nothing is copied and its identifier is returned. In that case, the given
+	 * file is deleted if its contents were to be moved.
+	 * <p>
+	 * Since blobs may be shared, callers are responsible for not deleting blobs
+	 * that are still referenced.
+	 * </p>
+	 */
+	public UniversalUniqueIdentifier addContentBlob(IFileStore target, boolean moveContents) throws CoreException {
+		MessageDigest digest = newDigest();
+		// a blob must never be visible with partial contents under its final name, since it would be reused
+		IFileStore temp = localStore.getChild(new UniversalUniqueIdentifier() + ".tmp"); //$NON-NLS-1$
+		try {
+			if (moveContents) {
+				// if the move falls back to copy and delete, only the temporary file is partial
+				target.move(temp, EFS.NONE, null);
+				updateDigest(digest, temp);
+			} else {
+				// the digest is computed while the contents are copied
+				InputStream input = new DigestInputStream(target.openInputStream(EFS.NONE, null), digest);
+				FileUtil.transferStreams(input, temp.openOutputStream(EFS.NONE, null), temp.toString(), null);
+			}
+		} catch (CoreException e) {
+			temp.delete(EFS.NONE, null);
+			throw e;
+		}
+		byte[] bytes = new byte[UniversalUniqueIdentifier.BYTES_SIZE];
+		System.arraycopy(digest.digest(), 0, bytes, 0, bytes.length);
+		UniversalUniqueIdentifier uuid = new UniversalUniqueIdentifier(bytes);
+		IFileStore destination = fileFor(uuid);
+		if (destination.fetchInfo().exists()) {
+			temp.delete(EFS.NONE, null);
+			return uuid;
+		}
+		folderFor(uuid).mkdir(EFS.NONE, null);
+		try {
+			temp.move(destination, EFS.NONE, null);
+		} catch (CoreException e) {
+			temp.delete(EFS.NONE, null);
+			// another thread may have added the same contents concurrently
+			if (!destination.fetchInfo().exists())
+				throw e;
+		}
+		return uuid;
+	}
+
 	/**
 	 * @see UniversalUniqueIdentifier#appendByteString(StringBuilder, byte)
 	 */
@@ -87,6 +147,30 @@ public class BlobStore {
 		return buffer.toString();
 	}
 
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Updates the given digest with the contents of the given file.
+	 */
+	private static void updateDigest(MessageDigest digest, IFileStore file) throws CoreException {
+		byte[] buffer = new byte[8192];
+		try (InputStream input = file.openInputStream(EFS.NONE, null)) {
+			int read;
+			while ((read = input.read(buffer)) >= 0)
+				digest.update(buffer, 0, read);
+		} catch (IOException e) {
+			String message = NLS.bind(Messages.localstore_couldNotRead, file);
+			throw new ResourceException(IResourceStatus.FAILED_READ_LOCAL, null, message, e);
+		}
+	}
+
 	/**
 	 * Deletes a blobFile.
 	 */
@@ -18,10 +18,16 @@ package org.eclipse.core.internal.localstore;
 
 import java.io.*;
 import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import org.eclipse.core.internal.resources.ResourceException;
 import org.eclipse.core.internal.resources.ResourceStatus;
 import org.eclipse.core.internal.utils.Messages;
+import org.eclipse.core.internal.utils.Policy;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.*;
 import org.eclipse.osgi.util.NLS;
@@ -29,6 +35,25 @@ import org.eclipse.osgi.util.NLS;
 /**
  * A bucket is a persistent dictionary having paths as keys. Values are determined
  * by subclasses.
+ * <p>
+ * Index files are written with their entries sorted by key, preceded by a table
+ * of entry offsets:
+ * </p>
+ * <pre>
+ * FILE ::= VERSION_ID ENTRY_COUNT OFFSET* ENTRY*
+ * ENTRY_COUNT ::= int
+ * OFFSET ::= int (position of the entry in the file)
+ * ENTRY ::= PATH VALUE
+ * PATH ::= string (does not include project name)
+ * VALUE ::= defined by subclasses, must not depend on other values
+ * </pre>
+ * <p>
+ * Loading such a file only reads (or, for large files, maps) its bytes. Entries
+ * are found with a binary search on the offset table and only materialized when
+ * they are requested. Changed entries are kept in memory on top of the file until
+ * the bucket is saved. Files in the format of {@link #getLegacyVersion()} are
+ * read completely, and written in the current format when saved.
+ * </p>
  *
  *  @since 3.1
  */
@@ -152,13 +177,71 @@ public abstract class Bucket {
 	static final String INDEXES_DIR_NAME = ".indexes"; //$NON-NLS-1$
 
 	/**
-	 * Map of the history entries in this bucket. Maps (String -&gt; byte[][] or String[][]),
+	 * The loaded contents of a bucket, detached from it so that the bucket can be
+	 * used for another location. Changes that have not been saved are kept.
+	 *
+	 * @see BucketTree
+	 */
+	static final class State {
+		final Map<String, Object> entries;
+		final ByteBuffer index;
+		final int indexCount;
+		final File location;
+		final boolean needSaving;
+		final String projectName;
+
+		State(Bucket bucket) {
+			this.entries = bucket.entries;
+			this.index = bucket.index;
+			this.indexCount = bucket.indexCount;
+			this.location = bucket.location;
+			this.needSaving = bucket.needSaving;
+			this.projectName = bucket.projectName;
+		}
+	}
+
+	/**
+	 * Guards the creation and removal of index directories, since buckets
+	 * of different trees may be saved concurrently and share parent directories.
+	 */
+	private static final Object DIRECTORY_LOCK = new Object();
+
+	/**
+	 * Index files of at least this size are memory-mapped instead of being read.
+	 * Files are never mapped on Windows, where mapped files cannot be replaced.
+	 */
+	private static final int MAP_THRESHOLD = 64 * 1024;
+	private static final boolean CAN_MAP = !Platform.OS_WIN32.equals(Platform.getOS());
+
+	/**
+	 * The size of the header of an index file, before the offset table.
+	 */
+	private static final int HEADER_LENGTH = 5;
+
+	/**
+	 * Marks entries in {@link #entries} that have been removed from the index file.
+	 */
+	private static final Object REMOVED = new Object();
+
+	/**
+	 * Map of the entries in this bucket that are in memory. Maps (String -&gt; byte[][] or String[][]),
 	 * where the key is the path of the object we are storing history for, and
-	 * the value is the history entry data (UUID,timestamp) pairs.
+	 * the value is the history entry data (UUID,timestamp) pairs. While {@link #index}
+	 * is set, this only contains the entries that have been requested or changed, and
+	 * removed entries are mapped to {@link #REMOVED}.
 	 */
-	private final Map<String, Object> entries;
+	private Map<String, Object> entries;
 	private SoftReference<Map<Object, Map<String, Object>>> entriesCache;
 
+	/**
+	 * The contents of the index file, or <code>null</code> if all entries are in memory.
+	 */
+	private ByteBuffer index;
+	/**
+	 * The number of entries in {@link #index}.
+	 */
+	private int indexCount;
+
 	/**
 	 * The file system location of this bucket index file.
 	 */
@@ -194,6 +277,7 @@ public abstract class Bucket {
 	 * @exception CoreException thrown by the visitor or from a failed save
 	 */
 	public final int accept(Visitor visitor, IPath filter, int depth) throws CoreException {
+		materializeAll();
 		if (entries.isEmpty())
 			return Visitor.CONTINUE;
 		try {
@@ -228,10 +312,38 @@ public abstract class Bucket {
 		}
 	}
 
+	/**
+	 * Replaces the contents of this bucket with the given detached contents,
+	 * without saving the current contents.
+	 */
+	final void attach(State state) {
+		entries = state.entries;
+		index = state.index;
+		indexCount = state.indexCount;
+		location = state.location;
+		needSaving = state.needSaving;
+		projectName = state.projectName;
+	}
+
+	/**
+	 * Called before each entry value is read or written in the current file
+	 * format, in which values are read lazily and in any order. Subclasses that
+	 * share state between the values of a file must reset it here.
+	 */
+	protected void beginEntryValue() {
+		// nothing to reset by default
+	}
+
 	/**
 	 * Tries to delete as many empty levels as possible.
 	 */
 	private void cleanUp(File toDelete) {
+		synchronized (DIRECTORY_LOCK) {
+			internalCleanUp(toDelete);
+		}
+	}
+
+	private void internalCleanUp(File toDelete) {
 		if (!toDelete.delete())
 			// if deletion didn't go well, don't bother trying to delete the parent dir
 			return;
@@ -239,7 +351,7 @@ public abstract class Bucket {
 		if (toDelete.getName().equals(INDEXES_DIR_NAME))
 			return;
 		// recurse to parent directory
-		cleanUp(toDelete.getParentFile());
+		internalCleanUp(toDelete.getParentFile());
 	}
 
 	/**
@@ -247,6 +359,20 @@ public abstract class Bucket {
 	 */
 	protected abstract Entry createEntry(IPath path, Object value);
 
+	/**
+	 * Detaches the contents of this bucket, including unsaved changes, and leaves
+	 * the bucket without contents and not associated to any location.
+	 */
+	final State detach() {
+		State state = new State(this);
+		entries = new HashMap<>();
+		index = null;
+		location = null;
+		needSaving = false;
+		projectName = null;
+		return state;
+	}
+
 	/**
 	 * Flushes this bucket so it has no contents and is not associated to any
 	 * location. Any uncommitted changes are lost.
@@ -258,6 +384,7 @@ public abstract class Bucket {
 		projectName = null;
 		location = null;
 		entries.clear();
+		index = null;
 		needSaving = false;
 	}
 
@@ -265,14 +392,36 @@ public abstract class Bucket {
 	 * Returns how many entries there are in this bucket.
 	 */
 	public final int getEntryCount() {
+		try {
+			materializeAll();
+		} catch (CoreException e) {
+			Policy.log(e.getStatus());
+		}
 		return entries.size();
 	}
 
+	/**
+	 * Returns the index file this bucket is associated to, or <code>null</code>.
+	 */
+	final File getLocation() {
+		return location;
+	}
+
 	/**
 	 * Returns the value for entry corresponding to the given path (null if none found).
 	 */
 	public final Object getEntryValue(String path) {
-		return entries.get(path);
+		Object value = entries.get(path);
+		if (value == null && index != null) {
+			try {
+				value = readIndexedValue(path);
+			} catch (CoreException e) {
+				Policy.log(e.getStatus());
+			}
+			if (value != null)
+				entries.put(path, value);
+		}
+		return value == REMOVED ? null : value;
 	}
 
 	/**
@@ -280,6 +429,15 @@ public abstract class Bucket {
 	 */
 	protected abstract String getIndexFileName();
 
+	/**
+	 * Returns the version number of the previous file format used to persist this
+	 * bucket, in which all entries are stored unsorted, or -1 if there is none.
+	 * Files in that format are still read.
+	 */
+	protected int getLegacyVersion() {
+		return -1;
+	}
+
 	/**
 	 * Returns the version number for the file format used to persist this bucket.
 	 */
@@ -313,24 +471,21 @@ public abstract class Bucket {
 			save();
 			this.projectName = newProjectName;
 			this.location = new File(baseLocation, getIndexFileName());
-			Map<String, Object> loadedEntries = null;
 			this.entries.clear();
-			if (force) {
-				loadedEntries = loadEntries(this.location);
-			} else {
-				if (isCachingEnabled()) {
-					Map<Object, Map<String, Object>> cache = entriesCache.get();
-					if (cache != null) {
-						loadedEntries = cache.get(createBucketKey());
-					}
-				}
-				// errors are not cached, so
-				// loadedEntries == null means cached value is not present:
-				if (loadedEntries == null) {
-					loadedEntries = loadEntries(this.location);
+			this.index = null;
+			Map<String, Object> cachedEntries = null;
+			if (!force && isCachingEnabled()) {
+				Map<Object, Map<String, Object>> cache = entriesCache.get();
+				if (cache != null) {
+					cachedEntries = cache.get(createBucketKey());
 				}
 			}
-			this.entries.putAll(loadedEntries);
+			// errors are not cached, so
+			// cachedEntries == null means cached value is not present:
+			if (cachedEntries == null)
+				loadEntries(this.location);
+			else
+				this.entries.putAll(cachedEntries);
 		} catch (IOException ioe) {
 			String message = NLS.bind(Messages.resources_readMeta, location.getAbsolutePath());
 			ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_READ_METADATA, null, message, ioe);
@@ -346,26 +501,164 @@ public abstract class Bucket {
 		return this.location == null ? null : this.location.getAbsolutePath();
 	}
 
-	private Map<String, Object> loadEntries(File indexFile) throws CoreException, IOException {
-		if (!indexFile.isFile()) {
-			return Collections.EMPTY_MAP; // remember file does not exist
+	/**
+	 * Reads the given index file. Files in the current format are kept as they are
+	 * until their entries are requested, files in the legacy format are read completely.
+	 */
+	private void loadEntries(File indexFile) throws CoreException, IOException {
+		if (!indexFile.isFile())
+			return;
+		ByteBuffer contents;
+		try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException();//caught and rethrown by the caller
+			if (CAN_MAP && size >= MAP_THRESHOLD) {
+				contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				contents = ByteBuffer.allocate((int) size);
+				while (contents.hasRemaining() && channel.read(contents) >= 0) {
+					// keep reading
+				}
+				contents.flip();
+			}
 		}
-		Map<String, Object> resultEntries = new HashMap<>();
-		try (DataInputStream source = new DataInputStream(
-				new BufferedInputStream(new FileInputStream(indexFile), 8192))) {
-			int version = source.readByte();
-			if (version != getVersion()) {
-				// unknown version
-				String message = NLS.bind(Messages.resources_readMetaWrongVersion, location.getAbsolutePath(), Integer.toString(version));
-				ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_READ_METADATA, message);
-				throw new ResourceException(status);
+		int version = contents.hasRemaining() ? contents.get(0) : -1;
+		if (version == getVersion()) {
+			int count = contents.getInt(1);
+			if (count < 0 || contents.limit() < HEADER_LENGTH + 4L * count)
+				throw new EOFException();
+			if (count > 0) {
+				index = contents;
+				indexCount = count;
 			}
-			int entryCount = source.readInt();
-			for (int i = 0; i < entryCount; i++) {
-				resultEntries.put(readEntryKey(source), readEntryValue(source));
+			return;
+		}
+		if (version != getLegacyVersion()) {
+			// unknown version
+			String message = NLS.bind(Messages.resources_readMetaWrongVersion, location.getAbsolutePath(), Integer.toString(version));
+			ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_READ_METADATA, message);
+			throw new ResourceException(status);
+		}
+		contents.position(1);
+		DataInputStream source = new DataInputStream(new ByteBufferInputStream(contents));
+		int entryCount = source.readInt();
+		for (int i = 0; i < entryCount; i++) {
+			entries.put(readEntryKey(source), readEntryValue(source));
+		}
+	}
+
+	/**
+	 * Reads all entries of the index file that are not in memory yet, so that
+	 * {@link #entries} contains all entries of this bucket.
+	 */
+	private void materializeAll() throws CoreException {
+		if (index == null)
+			return;
+		try {
+			for (int i = 0; i < indexCount; i++) {
+				DataInputStream source = openEntry(i);
+				String key = readEntryKey(source);
+				if (!entries.containsKey(key)) {
+					beginEntryValue();
+					entries.put(key, readEntryValue(source));
+				}
 			}
-			return resultEntries;
+		} catch (IOException | RuntimeException e) {
+			String message = NLS.bind(Messages.resources_readMeta, location.getAbsolutePath());
+			ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_READ_METADATA, null, message, e);
+			throw new ResourceException(status);
 		}
+		index = null;
+		entries.values().removeIf(value -> value == REMOVED);
+	}
+
+	/**
+	 * Returns a stream positioned at the entry with the given number in the index file.
+	 */
+	private DataInputStream openEntry(int entryNumber) {
+		ByteBuffer buffer = index.duplicate();
+		buffer.position(index.getInt(HEADER_LENGTH + 4 * entryNumber));
+		return new DataInputStream(new ByteBufferInputStream(buffer));
+	}
+
+	/**
+	 * Returns the value of the entry with the given path from the index file,
+	 * or <code>null</code> if there is none.
+	 */
+	private Object readIndexedValue(String path) throws CoreException {
+		String key = toStoredKey(path);
+		if (key == null)
+			return null;
+		try {
+			byte[] encodedKey = encodeKey(key);
+			int low = 0;
+			int high = indexCount - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				int comparison = compareStoredKey(index.getInt(HEADER_LENGTH + 4 * middle), encodedKey);
+				if (comparison < 0)
+					low = middle + 1;
+				else if (comparison > 0)
+					high = middle - 1;
+				else {
+					DataInputStream source = openEntry(middle);
+					source.skipBytes(source.readUnsignedShort());
+					beginEntryValue();
+					return readEntryValue(source);
+				}
+			}
+			return null;
+		} catch (IOException | RuntimeException e) {
+			String message = NLS.bind(Messages.resources_readMeta, location.getAbsolutePath());
+			ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_READ_METADATA, null, message, e);
+			throw new ResourceException(status);
+		}
+	}
+
+	/**
+	 * Compares the key stored at the given position of the index file with the
+	 * given encoded key, in the order of their unsigned bytes.
+	 */
+	private int compareStoredKey(int position, byte[] encodedKey) {
+		int length = index.getShort(position) & 0xFFFF;
+		int otherLength = encodedKey.length - 2;
+		int common = Math.min(length, otherLength);
+		for (int i = 0; i < common; i++) {
+			int comparison = (index.get(position + 2 + i) & 0xFF) - (encodedKey[2 + i] & 0xFF);
+			if (comparison != 0)
+				return comparison;
+		}
+		return length - otherLength;
+	}
+
+	/**
+	 * Compares two encoded keys in the order of their unsigned bytes.
+	 */
+	static int compareEncodedKeys(byte[] key1, byte[] key2) {
+		return Arrays.compareUnsigned(key1, 2, key1.length, key2, 2, key2.length);
+	}
+
+	/**
+	 * Returns the given key as written by {@link DataOutputStream#writeUTF(String)}.
+	 */
+	private static byte[] encodeKey(String key) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(key.length() + 2);
+		new DataOutputStream(bytes).writeUTF(key);
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Returns the key under which the given path is stored in the index file,
+	 * or <code>null</code> if the path does not belong to the project of this bucket.
+	 */
+	private String toStoredKey(String path) {
+		if (projectName == null)
+			return path;
+		int projectLength = projectName.length();
+		if (!path.startsWith(projectName, 1) || (path.length() > projectLength + 1 && path.charAt(projectLength + 1) != IPath.SEPARATOR))
+			return null;
+		return path.substring(projectLength + 1);
 	}
 
 	private String readEntryKey(DataInputStream source) throws IOException {
@@ -383,9 +676,16 @@ public abstract class Bucket {
 	 * Saves this bucket's contents back to its location.
 	 */
 	public void save() throws CoreException {
+		if (needSaving)
+			materializeAll();
 		if (isCachingEnabled()) {
 			Object key = createBucketKey();
-			if (key != null) {
+			if (key != null && index != null) {
+				// only complete entries are cached, the index file is read again instead
+				Map<Object, Map<String, Object>> cache = entriesCache.get();
+				if (cache != null)
+					cache.remove(key);
+			} else if (key != null) {
 				// we do need to make a copy from this.entries because that instance is reused
 				@SuppressWarnings("unchecked")
 				java.util.Map.Entry<String, Object>[] a = new java.util.Map.Entry[0];
@@ -410,15 +710,40 @@ public abstract class Bucket {
 			File parent = location.getParentFile();
 			if (parent == null)
 				throw new IOException();//caught and rethrown below
-			parent.mkdirs();
-			try (DataOutputStream destination = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(location), 8192))) {
+			byte[][] keys = new byte[entries.size()][];
+			Object[] values = new Object[keys.length];
+			Map<byte[], Object> sorted = new TreeMap<>(Bucket::compareEncodedKeys);
+			for (java.util.Map.Entry<String, Object> entry : entries.entrySet())
+				sorted.put(encodeKey(toStoredKey(entry.getKey())), entry.getValue());
+			sorted.keySet().toArray(keys);
+			sorted.values().toArray(values);
+			// entries are written after the offset table
+			int[] offsets = new int[keys.length];
+			ByteArrayOutputStream body = new ByteArrayOutputStream(keys.length * 64);
+			DataOutputStream bodyStream = new DataOutputStream(body);
+			int bodyStart = HEADER_LENGTH + 4 * keys.length;
+			for (int i = 0; i < keys.length; i++) {
+				offsets[i] = bodyStart + bodyStream.size();
+				bodyStream.write(keys[i]);
+				beginEntryValue();
+				writeEntryValue(bodyStream, values[i]);
+			}
+			// the file is replaced atomically, so that mappings of the old file stay valid
+			File temporary = new File(parent, location.getName() + ".tmp"); //$NON-NLS-1$
+			FileOutputStream fileStream;
+			// once the file exists, its directory is not removed by another bucket
+			synchronized (DIRECTORY_LOCK) {
+				parent.mkdirs();
+				fileStream = new FileOutputStream(temporary);
+			}
+			try (DataOutputStream destination = new DataOutputStream(new BufferedOutputStream(fileStream, 8192))) {
 				destination.write(getVersion());
-				destination.writeInt(entries.size());
-				for (java.util.Map.Entry<String, Object> entry : entries.entrySet()) {
-					writeEntryKey(destination, entry.getKey());
-					writeEntryValue(destination, entry.getValue());
-				}
+				destination.writeInt(keys.length);
+				for (int offset : offsets)
+					destination.writeInt(offset);
+				body.writeTo(destination);
 			}
+			Files.move(temporary.toPath(), location.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 			needSaving = false;
 		} catch (IOException ioe) {
 			String message = NLS.bind(Messages.resources_writeMeta, location.getAbsolutePath());
@@ -432,27 +757,49 @@ public abstract class Bucket {
 	 * removes the entry.
 	 */
 	public final void setEntryValue(String path, Object value) {
-		if (value == null)
+		if (value == null && index != null)
+			entries.put(path, REMOVED);
+		else if (value == null)
 			entries.remove(path);
 		else
 			entries.put(path, value);
 		needSaving = true;
 	}
 
-	private void writeEntryKey(DataOutputStream destination, String path) throws IOException {
-		if (projectName == null) {
-			destination.writeUTF(path);
-			return;
-		}
-		// omit the project name
-		int pathLength = path.length();
-		int projectLength = projectName.length();
-		String key = (pathLength == projectLength + 1) ? "" : path.substring(projectLength + 1); //$NON-NLS-1$
-		destination.writeUTF(key);
-	}
-
 	/**
 	 * Defines how an entry is to be persisted to the bucket file.
 	 */
 	protected abstract void writeEntryValue(DataOutputStream destination, Object entryValue) throws IOException, CoreException;
+
+	/**
+	 * An input stream on the remaining bytes of a buffer.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0)
+				return 0;
+			if (!buffer.hasRemaining())
+				return -1;
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+	}
 }
@@ -15,15 +15,27 @@
 package org.eclipse.core.internal.localstore;
 
 import java.io.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.eclipse.core.internal.localstore.Bucket.Visitor;
 import org.eclipse.core.internal.resources.ResourceException;
 import org.eclipse.core.internal.resources.Workspace;
 import org.eclipse.core.internal.utils.Messages;
+import org.eclipse.core.internal.utils.Policy;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
 import org.eclipse.osgi.util.NLS;
 
 /**
+ * A tree of bucket index files, accessed through a single bucket.
+ * <p>
+ * The contents of the most recently used buckets besides the current one are
+ * kept in memory, including changes that have not been saved yet, so that
+ * switching between a few locations does not save and read index files every
+ * time. Changes of a cached bucket are saved when it is evicted, and by
+ * {@link #save()} and {@link #close()}.
+ * </p>
  * @since 3,1
  */
 public class BucketTree {
@@ -44,6 +56,20 @@ public class BucketTree {
 			HEX_STRINGS[i] = Integer.toHexString(i).toCharArray();
 	}
 
+	/**
+	 * The maximum number of buckets whose contents are cached besides the current one.
+	 * Can be changed with -Dorg.eclipse.core.resources.bucketCacheSize=&lt;count&gt;,
+	 * a value of 0 turns caching off.
+	 */
+	private static final int CACHE_SIZE = Math.max(0, Integer.getInteger("org.eclipse.core.resources.bucketCacheSize", 8)); //$NON-NLS-1$
+
+	/**
+	 * Map of index files to the contents of their buckets, least recently used first.
+	 */
+	private final Map<File, Bucket.State> cache = new LinkedHashMap<>();
+	private int cacheHits;
+	private int cacheMisses;
+
 	protected Bucket current;
 
 	private Workspace workspace;
@@ -65,7 +91,7 @@ public class BucketTree {
 	 */
 	public void accept(Bucket.Visitor visitor, IPath base, int depth) throws CoreException {
 		if (Path.ROOT.equals(base)) {
-			current.load(null, locationFor(Path.ROOT));
+			load(null, locationFor(Path.ROOT));
 			if (current.accept(visitor, base, DEPTH_ZERO) != Visitor.CONTINUE)
 				return;
 			if (depth == DEPTH_ZERO)
@@ -82,8 +108,47 @@ public class BucketTree {
 	}
 
 	public void close() throws CoreException {
-		current.save();
+		save();
 		saveVersion();
+		if (Policy.DEBUG_BUCKETS)
+			Policy.debug("Bucket cache for " + current.getIndexFileName() + ": " + cacheHits + " hits, " + cacheMisses + " misses"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * Saves the contents of the given detached bucket and returns them again.
+	 */
+	private Bucket.State save(Bucket.State state) throws CoreException {
+		Bucket.State active = current.detach();
+		try {
+			current.attach(state);
+			current.save();
+			return current.detach();
+		} finally {
+			current.attach(active);
+		}
+	}
+
+	/**
+	 * Discards the contents of the current bucket and of all cached buckets.
+	 * Changes that have not been saved are lost.
+	 */
+	public void flush() {
+		cache.clear();
+		current.flush();
+	}
+
+	/**
+	 * Returns how many times the contents of a bucket were found in the cache.
+	 */
+	public int getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * Returns how many times a bucket had to be loaded from its index file.
+	 */
+	public int getCacheMisses() {
+		return cacheMisses;
 	}
 
 	public Bucket getCurrent() {
@@ -100,7 +165,7 @@ public class BucketTree {
 	 * @return whether to continue visiting other branches
 	 */
 	private boolean internalAccept(Bucket.Visitor visitor, IPath base, File bucketDir, int depthRequested, int currentDepth) throws CoreException {
-		current.load(base.segment(0), bucketDir);
+		load(base.segment(0), bucketDir);
 		int outcome = current.accept(visitor, base, depthRequested);
 		if (outcome != Visitor.CONTINUE)
 			return outcome == Visitor.RETURN;
@@ -119,11 +184,43 @@ public class BucketTree {
 		return true;
 	}
 
+	/**
+	 * Makes the bucket in the given directory the current one. The contents of
+	 * the previous bucket are cached, evicting the least recently used bucket
+	 * if the cache is full.
+	 */
+	private void load(String projectName, File bucketDir) throws CoreException {
+		File loaded = current.getLocation();
+		File indexFile = new File(bucketDir, current.getIndexFileName());
+		if (CACHE_SIZE == 0 || indexFile.equals(loaded)) {
+			current.load(projectName, bucketDir);
+			return;
+		}
+		if (loaded != null)
+			cache.put(loaded, current.detach());
+		Bucket.State state = cache.remove(indexFile);
+		if (state != null) {
+			cacheHits++;
+			current.attach(state);
+		} else {
+			cacheMisses++;
+			current.load(projectName, bucketDir);
+		}
+		for (Iterator<Bucket.State> i = cache.values().iterator(); cache.size() > CACHE_SIZE;) {
+			Bucket.State evicted = i.next();
+			i.remove();
+			save(evicted);
+		}
+	}
+
 	public void loadBucketFor(IPath path) throws CoreException {
-		current.load(Path.ROOT.equals(path) ? null : path.segment(0), locationFor(path));
+		load(Path.ROOT.equals(path) ? null : path.segment(0), locationFor(path));
 	}
 
-	private File locationFor(IPath resourcePath) {
+	/**
+	 * Returns the directory of the bucket index file for the given path.
+	 */
+	File locationFor(IPath resourcePath) {
 		//optimized to avoid string and path creations
 		IPath baseLocation = workspace.getMetaArea().locationFor(resourcePath).removeTrailingSeparator();
 		int segmentCount = resourcePath.segmentCount();
@@ -141,6 +238,17 @@ public class BucketTree {
 		return new File(locationBuffer.toString());
 	}
 
+	/**
+	 * Saves the changes of the current bucket and of all cached buckets.
+	 */
+	public void save() throws CoreException {
+		current.save();
+		for (Map.Entry<File, Bucket.State> entry : cache.entrySet()) {
+			if (entry.getValue().needSaving)
+				entry.setValue(save(entry.getValue()));
+		}
+	}
+
 	/**
 	 * Writes the version tag to a file on disk.
 	 */
@@ -968,9 +968,12 @@ public class FileSystemResourceManager implements ICoreConstants, IManager, Pref
 		SubMonitor subMonitor = SubMonitor.convert(monitor, title, 100);
 		IFileTree fileTree = null;
 		// If there can be more than one resource to refresh, try to get the whole tree in one shot, if the file system supports it.
+		// The local file tree lists folders ahead of the visit, which only pays off for infinite refreshes.
 		if (depth != IResource.DEPTH_ZERO) {
 			IFileStore fileStore = ((Resource) target).getStore();
-			fileTree = fileStore.getFileSystem().fetchFileTree(fileStore, subMonitor.newChild(2));
+			IFileSystem fileSystem = fileStore.getFileSystem();
+			if (depth == IResource.DEPTH_INFINITE || fileSystem != EFS.getLocalFileSystem())
+				fileTree = fileSystem.fetchFileTree(fileStore, subMonitor.newChild(2));
 		}
 		UnifiedTree tree = fileTree == null ? new UnifiedTree(target) : new UnifiedTree(target, fileTree);
 		SubMonitor refreshMonitor = subMonitor.newChild(98);
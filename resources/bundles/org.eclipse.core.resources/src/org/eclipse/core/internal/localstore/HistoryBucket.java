@@ -223,6 +223,20 @@ public class HistoryBucket extends Bucket {
 	/**
 	 * Version number for the current implementation file's format.
 	 * <p>
+	 * Version 3:
+	 * </p>
+	 * <pre>
+	 * FILE ::= VERSION_ID ENTRY_COUNT OFFSET* ENTRY*
+	 * ENTRY_COUNT ::= int
+	 * OFFSET ::= int
+	 * ENTRY ::= PATH STATE_COUNT STATE+ (sorted by PATH)
+	 * PATH ::= string (does not include project name)
+	 * STATE_COUNT ::= int
+	 * STATE ::= UUID LAST_MODIFIED
+	 * UUID	 ::= byte[16]
+	 * LAST_MODIFIED ::= byte[8]
+	 * </pre>
+	 * <p>
 	 * Version 2 (3.1 M5):
 	 * </p>
 	 * <pre>
@@ -247,7 +261,12 @@ public class HistoryBucket extends Bucket {
 	 * LAST_MODIFIED ::= byte[8]
 	 * </pre>
 	 */
-	public final static byte VERSION = 2;
+	public final static byte VERSION = 3;
+
+	/**
+	 * Version number of the previous file format, which is still read.
+	 */
+	private final static byte LEGACY_VERSION = 2;
 
 	public HistoryBucket() {
 		super(false); // history is fire and forget
@@ -297,6 +316,11 @@ public class HistoryBucket extends Bucket {
 		return "history.index"; //$NON-NLS-1$
 	}
 
+	@Override
+	protected int getLegacyVersion() {
+		return LEGACY_VERSION;
+	}
+
 	@Override
 	protected byte getVersion() {
 		return VERSION;
@@ -16,6 +16,8 @@ package org.eclipse.core.internal.localstore;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.core.filesystem.*;
 import org.eclipse.core.internal.localstore.Bucket.Entry;
 import org.eclipse.core.internal.localstore.HistoryBucket.HistoryEntry;
@@ -24,7 +26,35 @@ import org.eclipse.core.internal.utils.*;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
 
+/**
+ * A history store that keeps its index in bucket files below the metadata
+ * area of each project.
+ * <p>
+ * Adding and reading the states of a single file only locks one of
+ * {@link #STRIPES} bucket trees, which is selected by the location of the
+ * bucket index file, so that concurrent operations on files in different
+ * buckets do not wait for each other. Copying blobs into the blob store
+ * happens before the stripe is locked. Operations that visit whole subtrees
+ * of the history (copying, removing, cleaning) lock out all stripes.
+ * </p><p>
+ * Blobs are identified by the digest of their contents, so that saving the
+ * same contents again only adds an entry to the bucket. A blob may therefore
+ * be referenced by several states, and is only deleted once no entry in the
+ * history refers to it anymore.
+ * </p>
+ */
 public class HistoryStore2 implements IHistoryStore {
+	/**
+	 * Whether blobs are identified by their contents. Can be turned off with
+	 * -Dorg.eclipse.core.resources.history.deduplication.disable=true, in which
+	 * case every state gets a blob of its own.
+	 */
+	private static final boolean DEDUPLICATE = !Boolean.getBoolean("org.eclipse.core.resources.history.deduplication.disable"); //$NON-NLS-1$
+
+	/**
+	 * The number of independently locked bucket trees.
+	 */
+	private static final int STRIPES = 16;
 
 	class HistoryCopyVisitor extends Bucket.Visitor {
 		private List<HistoryEntry> changes = new ArrayList<>();
@@ -68,8 +98,27 @@ public class HistoryStore2 implements IHistoryStore {
 	}
 
 	private BlobStore blobStore;
+	/**
+	 * Blobs that are no longer referenced. Only accessed while holding the
+	 * write lock of {@link #treeLock}.
+	 */
 	private Set<UniversalUniqueIdentifier> blobsToRemove = new HashSet<>();
+	/**
+	 * The bucket tree used for operations on subtrees of the history.
+	 * Only accessed while holding the write lock of {@link #treeLock}.
+	 */
 	final BucketTree tree;
+	/**
+	 * The bucket trees used for operations on single files. Each stripe is
+	 * guarded by its own monitor, and only ever loads the buckets whose
+	 * location maps to it.
+	 */
+	private final BucketTree[] stripes;
+	/**
+	 * Operations on single files hold the read lock while they use one of the
+	 * stripes, operations on subtrees hold the write lock.
+	 */
+	private final ReadWriteLock treeLock = new ReentrantReadWriteLock();
 	private Workspace workspace;
 
 	public HistoryStore2(Workspace workspace, IFileStore store, int limit) {
@@ -82,35 +131,47 @@ public class HistoryStore2 implements IHistoryStore {
 		}
 		this.blobStore = new BlobStore(store, limit);
 		this.tree = new BucketTree(workspace, new HistoryBucket());
+		this.stripes = new BucketTree[STRIPES];
+		for (int i = 0; i < stripes.length; i++)
+			stripes[i] = new BucketTree(workspace, new HistoryBucket());
 	}
 
 	/**
 	 * @see IHistoryStore#addState(IPath, IFileStore, IFileInfo, boolean)
 	 */
 	@Override
-	public synchronized IFileState addState(IPath key, IFileStore localFile, IFileInfo info, boolean moveContents) {
+	public IFileState addState(IPath key, IFileStore localFile, IFileInfo info, boolean moveContents) {
 		long lastModified = info.getLastModified();
 		if (Policy.DEBUG_HISTORY)
 			Policy.debug("History: Adding state for key: " + key + ", file: " + localFile + ", timestamp: " + lastModified + ", size: " + localFile.fetchInfo().getLength()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 		if (!isValid(localFile, info))
 			return null;
 		UniversalUniqueIdentifier uuid = null;
+		BucketTree stripe = stripeFor(key);
+		// a blob may be shared with other states, so clean() must not run between
+		// finding or creating it and recording the new state that refers to it
+		treeLock.readLock().lock();
 		try {
-			uuid = blobStore.addBlob(localFile, moveContents);
-			tree.loadBucketFor(key);
-			HistoryBucket currentBucket = (HistoryBucket) tree.getCurrent();
-			currentBucket.addBlob(key, uuid, lastModified);
-			//			currentBucket.save();
+			// copy the contents before the stripe is locked
+			uuid = DEDUPLICATE ? blobStore.addContentBlob(localFile, moveContents) : blobStore.addBlob(localFile, moveContents);
+			synchronized (stripe) {
+				stripe.loadBucketFor(key);
+				HistoryBucket currentBucket = (HistoryBucket) stripe.getCurrent();
+				currentBucket.addBlob(key, uuid, lastModified);
+			}
 		} catch (CoreException e) {
 			log(e);
+		} finally {
+			treeLock.readLock().unlock();
 		}
 		return new FileState(this, key, lastModified, uuid);
 	}
 
 	@Override
-	public synchronized Set<IPath> allFiles(IPath root, int depth, IProgressMonitor monitor) {
+	public Set<IPath> allFiles(IPath root, int depth, IProgressMonitor monitor) {
 		final Set<IPath> allFiles = new HashSet<>();
 		try {
+			lockTree();
 			tree.accept(new Bucket.Visitor() {
 				@Override
 				public int visit(Entry fileEntry) {
@@ -120,6 +181,8 @@ public class HistoryStore2 implements IHistoryStore {
 			}, root, depth == IResource.DEPTH_INFINITE ? BucketTree.DEPTH_INFINITE : depth);
 		} catch (CoreException e) {
 			log(e);
+		} finally {
+			unlockTree();
 		}
 		return allFiles;
 	}
@@ -152,13 +215,14 @@ public class HistoryStore2 implements IHistoryStore {
 				return CONTINUE;
 			}
 		}, root, BucketTree.DEPTH_INFINITE);
-		tree.getCurrent().save();
+		tree.save();
 	}
 
 	@Override
-	public synchronized void clean(final IProgressMonitor monitor) {
+	public void clean(final IProgressMonitor monitor) {
 		long start = System.currentTimeMillis();
 		try {
+			lockTree();
 			monitor.beginTask(Messages.resources_pruningHistory, IProgressMonitor.UNKNOWN);
 			IWorkspaceDescription description = workspace.internalGetDescription();
 			final long minimumTimestamp = System.currentTimeMillis() - description.getFileStateLongevity();
@@ -173,7 +237,9 @@ public class HistoryStore2 implements IHistoryStore {
 						entryCount[0] += fileEntry.getOccurrences();
 						applyPolicy((HistoryEntry) fileEntry, maxStates, minimumTimestamp);
 						// remove unreferenced blobs, when blobsToRemove size is greater than 100
-						removeUnreferencedBlobs(100);
+						// (shared blobs can only be removed once all states have been visited)
+						if (!DEDUPLICATE)
+							removeUnreferencedBlobs(100);
 						return monitor.isCanceled() ? STOP : CONTINUE;
 					}
 				}, Path.ROOT, BucketTree.DEPTH_INFINITE);
@@ -182,6 +248,12 @@ public class HistoryStore2 implements IHistoryStore {
 				Policy.debug("Time to apply history store policies: " + (System.currentTimeMillis() - start) + "ms."); //$NON-NLS-1$ //$NON-NLS-2$
 				Policy.debug("Total number of history store entries: " + entryCount[0]); //$NON-NLS-1$
 			}
+			if (DEDUPLICATE) {
+				// blobs of removed states may still be referenced by others
+				if (monitor.isCanceled() || blobsToRemove.isEmpty())
+					return;
+				retainUnreferenced(blobsToRemove);
+			}
 			// remove all remaining unreferenced blobs
 			removeUnreferencedBlobs(0);
 		} catch (Exception e) {
@@ -189,6 +261,7 @@ public class HistoryStore2 implements IHistoryStore {
 			ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_DELETE_LOCAL, null, message, e);
 			Policy.log(status);
 		} finally {
+			unlockTree();
 			monitor.done();
 		}
 	}
@@ -212,15 +285,17 @@ public class HistoryStore2 implements IHistoryStore {
 	@Override
 	public void closeHistoryStore(IResource resource) {
 		try {
-			tree.getCurrent().save();
-			tree.getCurrent().flush();
+			lockTree();
+			tree.save();
 		} catch (CoreException e) {
 			log(e);
+		} finally {
+			unlockTree();
 		}
 	}
 
 	@Override
-	public synchronized void copyHistory(IResource sourceResource, IResource destinationResource, boolean moving) {
+	public void copyHistory(IResource sourceResource, IResource destinationResource, boolean moving) {
 		// return early if either of the paths are null or if the source and
 		// destination are the same.
 		if (sourceResource == null || destinationResource == null) {
@@ -243,14 +318,12 @@ public class HistoryStore2 implements IHistoryStore {
 		Assert.isLegal(source.segmentCount() > 1 || destination.segmentCount() == 1);
 
 		try {
+			// all buckets are flushed when the tree is locked and unlocked, which avoids
+			// confusion if another project is created with the same name after a move
+			lockTree();
 			// special case: we are moving a project
-			if (moving && sourceResource.getType() == IResource.PROJECT) {
-				// flush the tree to avoid confusion if another project is created with the same name
-				final Bucket bucket = tree.getCurrent();
-				bucket.save();
-				bucket.flush();
+			if (moving && sourceResource.getType() == IResource.PROJECT)
 				return;
-			}
 			// copy history by visiting the source tree
 			HistoryCopyVisitor copyVisitor = new HistoryCopyVisitor(source, destination);
 			tree.accept(copyVisitor, source, BucketTree.DEPTH_INFINITE);
@@ -258,6 +331,8 @@ public class HistoryStore2 implements IHistoryStore {
 			applyPolicy(destinationResource.getFullPath());
 		} catch (CoreException e) {
 			log(e);
+		} finally {
+			unlockTree();
 		}
 	}
 
@@ -276,20 +351,26 @@ public class HistoryStore2 implements IHistoryStore {
 	}
 
 	@Override
-	public synchronized IFileState[] getStates(IPath filePath, IProgressMonitor monitor) {
+	public IFileState[] getStates(IPath filePath, IProgressMonitor monitor) {
+		BucketTree stripe = stripeFor(filePath);
+		treeLock.readLock().lock();
 		try {
-			tree.loadBucketFor(filePath);
-			HistoryBucket currentBucket = (HistoryBucket) tree.getCurrent();
-			HistoryEntry fileEntry = currentBucket.getEntry(filePath);
-			if (fileEntry == null || fileEntry.isEmpty())
-				return new IFileState[0];
-			IFileState[] states = new IFileState[fileEntry.getOccurrences()];
-			for (int i = 0; i < states.length; i++)
-				states[i] = new FileState(this, fileEntry.getPath(), fileEntry.getTimestamp(i), fileEntry.getUUID(i));
-			return states;
+			synchronized (stripe) {
+				stripe.loadBucketFor(filePath);
+				HistoryBucket currentBucket = (HistoryBucket) stripe.getCurrent();
+				HistoryEntry fileEntry = currentBucket.getEntry(filePath);
+				if (fileEntry == null || fileEntry.isEmpty())
+					return new IFileState[0];
+				IFileState[] states = new IFileState[fileEntry.getOccurrences()];
+				for (int i = 0; i < states.length; i++)
+					states[i] = new FileState(this, fileEntry.getPath(), fileEntry.getTimestamp(i), fileEntry.getUUID(i));
+				return states;
+			}
 		} catch (CoreException ce) {
 			log(ce);
 			return new IFileState[0];
+		} finally {
+			treeLock.readLock().unlock();
 		}
 	}
 
@@ -319,6 +400,43 @@ public class HistoryStore2 implements IHistoryStore {
 		return result;
 	}
 
+	/**
+	 * Acquires exclusive access to the history for an operation on a subtree.
+	 * Changes held by the stripes are saved first, so that the operation sees
+	 * them. Must be followed by a call to {@link #unlockTree()} in a
+	 * <code>finally</code> block, even if this method throws an exception.
+	 */
+	private void lockTree() throws CoreException {
+		treeLock.writeLock().lock();
+		for (BucketTree stripe : stripes) {
+			stripe.save();
+			// the operation may change the index files behind the back of the stripe
+			stripe.flush();
+		}
+	}
+
+	/**
+	 * Releases the exclusive access acquired by {@link #lockTree()}. Changes
+	 * made by the operation are saved, so that the stripes see them.
+	 */
+	private void unlockTree() {
+		try {
+			tree.save();
+			tree.flush();
+		} catch (CoreException e) {
+			log(e);
+		} finally {
+			treeLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the stripe that is responsible for the bucket of the given path.
+	 */
+	private BucketTree stripeFor(IPath path) {
+		return stripes[Math.floorMod(tree.locationFor(path).hashCode(), STRIPES)];
+	}
+
 	/**
 	 * Logs a CoreException
 	 */
@@ -331,8 +449,9 @@ public class HistoryStore2 implements IHistoryStore {
 	}
 
 	@Override
-	public synchronized void remove(IPath root, IProgressMonitor monitor) {
+	public void remove(IPath root, IProgressMonitor monitor) {
 		try {
+			lockTree();
 			final Set<UniversalUniqueIdentifier> tmpBlobsToRemove = blobsToRemove;
 			tree.accept(new Bucket.Visitor() {
 				@Override
@@ -346,6 +465,8 @@ public class HistoryStore2 implements IHistoryStore {
 			}, root, BucketTree.DEPTH_INFINITE);
 		} catch (CoreException ce) {
 			log(ce);
+		} finally {
+			unlockTree();
 		}
 	}
 
@@ -353,30 +474,48 @@ public class HistoryStore2 implements IHistoryStore {
 	 * @see IHistoryStore#removeGarbage()
 	 */
 	@Override
-	public synchronized void removeGarbage() {
+	public void removeGarbage() {
 		try {
-			final Set<UniversalUniqueIdentifier> tmpBlobsToRemove = blobsToRemove;
-			tree.accept(new Bucket.Visitor() {
-				@Override
-				public int visit(Entry fileEntry) {
-					for (int i = 0; i < fileEntry.getOccurrences(); i++)
-						// remember we need to delete the files later
-						tmpBlobsToRemove.remove(((HistoryEntry) fileEntry).getUUID(i));
-					return CONTINUE;
-				}
-			}, Path.ROOT, BucketTree.DEPTH_INFINITE);
+			lockTree();
+			// blobs are shared by deduplicated states, and by states copied with copyHistory
+			if (!blobsToRemove.isEmpty())
+				retainUnreferenced(blobsToRemove);
 			blobStore.deleteBlobs(blobsToRemove);
 			blobsToRemove = new HashSet<>();
 		} catch (Exception e) {
 			String message = Messages.history_problemsCleaning;
 			ResourceStatus status = new ResourceStatus(IResourceStatus.FAILED_DELETE_LOCAL, null, message, e);
 			Policy.log(status);
+		} finally {
+			unlockTree();
 		}
 	}
 
+	/**
+	 * Removes all blobs that are still referenced by a state in the history
+	 * from the given set. Must be called while holding the write lock of
+	 * {@link #treeLock}, which keeps {@link #addState} from reusing a blob
+	 * while the history is scanned.
+	 */
+	private void retainUnreferenced(final Set<UniversalUniqueIdentifier> blobs) throws CoreException {
+		tree.accept(new Bucket.Visitor() {
+			@Override
+			public int visit(Entry fileEntry) {
+				for (int i = 0; i < fileEntry.getOccurrences(); i++)
+					blobs.remove(((HistoryEntry) fileEntry).getUUID(i));
+				return blobs.isEmpty() ? STOP : CONTINUE;
+			}
+		}, Path.ROOT, BucketTree.DEPTH_INFINITE);
+	}
+
 	@Override
-	public synchronized void shutdown(IProgressMonitor monitor) throws CoreException {
-		tree.close();
+	public void shutdown(IProgressMonitor monitor) throws CoreException {
+		try {
+			lockTree();
+			tree.close();
+		} finally {
+			unlockTree();
+		}
 	}
 
 	@Override
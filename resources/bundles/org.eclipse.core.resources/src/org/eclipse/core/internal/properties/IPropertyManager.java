@@ -74,4 +74,9 @@ public interface IPropertyManager extends IManager {
 	 * properties can be found, returns an empty map.
 	 */
 	Map<QualifiedName, String> getProperties(IResource resource) throws CoreException;
+
+	/**
+	 * Writes all property changes that have not been written yet to disk.
+	 */
+	void save() throws CoreException;
 }
@@ -201,6 +201,21 @@ public class PropertyBucket extends Bucket {
 	public static final byte QNAME = 2;
 
 	/** Version number for the current implementation file's format.
+	 * <p>
+	 * Version 2:
+	 * </p>
+	 * <pre> {@code
+	 * FILE ::= VERSION_ID ENTRY_COUNT OFFSET* ENTRY*
+	 * ENTRY_COUNT ::= int
+	 * OFFSET ::= int
+	 * ENTRY ::= PATH PROPERTY_COUNT PROPERTY+ (sorted by PATH)
+	 * PATH ::= string (does not contain project name)
+	 * PROPERTY_COUNT ::= int
+	 * PROPERTY ::= QUALIFIER LOCAL_NAME VALUE
+	 * QUALIFIER ::= INDEX | QNAME (indexes only refer to qualifiers of the same entry)
+	 * INDEX -> byte int
+	 * QNAME -> byte string
+	 * }</pre>
 	 * <p>
 	 * Version 1:
 	 * </p>
@@ -217,7 +232,12 @@ public class PropertyBucket extends Bucket {
 	 * LAST_MODIFIED ::= byte[8]
 	 * }</pre>
 	 */
-	private static final byte VERSION = 1;
+	private static final byte VERSION = 2;
+
+	/**
+	 * Version number of the previous file format, which is still read.
+	 */
+	private static final byte LEGACY_VERSION = 1;
 
 	private final List<String> qualifierIndex = new ArrayList<>();
 
@@ -225,6 +245,12 @@ public class PropertyBucket extends Bucket {
 		super(!Boolean.getBoolean("org.eclipse.core.PropertyCache.disable")); //$NON-NLS-1$
 	}
 
+	@Override
+	protected void beginEntryValue() {
+		// qualifiers are only shared within an entry, so that entries can be read in any order
+		qualifierIndex.clear();
+	}
+
 	@Override
 	protected Entry createEntry(IPath path, Object value) {
 		return new PropertyEntry(path, (String[][]) value);
@@ -250,6 +276,11 @@ public class PropertyBucket extends Bucket {
 		return entry.getProperty(name);
 	}
 
+	@Override
+	protected int getLegacyVersion() {
+		return LEGACY_VERSION;
+	}
+
 	@Override
 	protected byte getVersion() {
 		return VERSION;
@@ -26,6 +26,7 @@ import org.eclipse.core.internal.utils.Messages;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -34,6 +35,38 @@ import org.eclipse.osgi.util.NLS;
 public class PropertyManager2 implements IPropertyManager {
 	private static final int MAX_VALUE_SIZE = 2 * 1024;
 
+	/**
+	 * The default delay in milliseconds after which changed properties are
+	 * written to disk, or 0 to write every change immediately.
+	 */
+	private static final long WRITE_DELAY = Long.getLong("org.eclipse.core.resources.propertyWriteDelay", 0); //$NON-NLS-1$
+
+	/**
+	 * The default number of pending property changes after which they are
+	 * written to disk before the delay has expired.
+	 */
+	private static final int MAX_PENDING_WRITES = Integer.getInteger("org.eclipse.core.resources.propertyMaxPendingWrites", 1000); //$NON-NLS-1$
+
+	/**
+	 * Writes the pending property changes to disk.
+	 */
+	private class WriteJob extends Job {
+		WriteJob() {
+			super(Messages.properties_saving);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				save();
+			} catch (CoreException e) {
+				return e.getStatus();
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
 	class PropertyCopyVisitor extends Bucket.Visitor {
 		private List<PropertyEntry> changes = new ArrayList<>();
 		private IPath destination;
@@ -75,17 +108,42 @@ public class PropertyManager2 implements IPropertyManager {
 
 	BucketTree tree;
 
+	private final long writeDelay;
+	private final int maxPendingWrites;
+	private final WriteJob writeJob = new WriteJob();
+	/**
+	 * The number of property changes that have not been written to disk yet.
+	 * They are kept in the loaded and cached buckets of the tree.
+	 */
+	private int pendingWrites;
+	/**
+	 * Whether the tree has been closed on shutdown. Pending writes are no
+	 * longer saved once it is closed.
+	 */
+	private boolean closed;
+
 	public PropertyManager2(Workspace workspace) {
+		this(workspace, WRITE_DELAY, MAX_PENDING_WRITES);
+	}
+
+	/**
+	 * Creates a property manager that writes changed properties to disk after
+	 * the given delay, or as soon as the given number of changes is pending.
+	 * A delay of 0 writes every change immediately.
+	 */
+	public PropertyManager2(Workspace workspace, long writeDelay, int maxPendingWrites) {
 		this.tree = new BucketTree(workspace, new PropertyBucket());
+		this.writeDelay = writeDelay;
+		this.maxPendingWrites = maxPendingWrites;
 	}
 
 	@Override
-	public void closePropertyStore(IResource target) throws CoreException {
+	public synchronized void closePropertyStore(IResource target) throws CoreException {
 		// ensure any uncommitted are written to disk
-		tree.getCurrent().save();
+		save();
 		// flush in-memory state to avoid confusion if another project is later
 		// created with the same name
-		tree.getCurrent().flush();
+		tree.flush();
 	}
 
 	@Override
@@ -180,12 +238,41 @@ public class PropertyManager2 implements IPropertyManager {
 		tree.loadBucketFor(resourcePath);
 		PropertyBucket current = (PropertyBucket) tree.getCurrent();
 		current.setProperty(resourcePath, name, value);
-		current.save();
+		if (writeDelay <= 0) {
+			current.save();
+			return;
+		}
+		// the change is kept in memory, where it is visible to readers, until it is written
+		if (++pendingWrites >= maxPendingWrites)
+			save();
+		else if (pendingWrites == 1)
+			writeJob.schedule(writeDelay);
+	}
+
+	@Override
+	public synchronized void save() throws CoreException {
+		if (closed)
+			return;
+		pendingWrites = 0;
+		tree.save();
 	}
 
 	@Override
 	public void shutdown(IProgressMonitor monitor) throws CoreException {
-		tree.close();
+		// a write that is already running must finish before the tree is closed
+		writeJob.cancel();
+		try {
+			writeJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			pendingWrites = 0;
+			tree.close();
+		}
 	}
 
 	@Override
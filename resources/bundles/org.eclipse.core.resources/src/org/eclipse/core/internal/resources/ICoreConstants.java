@@ -119,6 +119,7 @@ public interface ICoreConstants {
 
 	int WORKSPACE_TREE_VERSION_1 = 67305985;
 	int WORKSPACE_TREE_VERSION_2 = 67305986;
+	int WORKSPACE_TREE_VERSION_3 = 67305987;
 
 	// helper constants for empty structures
 	IBuildConfiguration[] EMPTY_BUILD_CONFIG_ARRAY = new IBuildConfiguration[0];
@@ -118,10 +118,7 @@ public class Marker extends PlatformObject implements IMarker {
 		MarkerInfo info = getInfo();
 		if (info == null)
 			return defaultValue;
-		Object value = info.getAttribute(attributeName);
-		if (value instanceof Integer)
-			return ((Integer) value).intValue();
-		return defaultValue;
+		return info.getAttribute(attributeName, defaultValue);
 	}
 
 	/**
@@ -16,28 +16,217 @@
  *******************************************************************************/
 package org.eclipse.core.internal.resources;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.core.internal.utils.IStringPoolParticipant;
 import org.eclipse.core.internal.utils.StringPool;
+import org.eclipse.core.resources.IMarker;
 
 /**
  * A specialized Map<String,Object> implementation that is optimized for a small
  * set of strings as keys. The keys will be interned() on insert.
  *
  * Unlike a java.util.HashMap nulls are neither allowed for key or value.
+ *
+ * Integer values of the well known attributes severity, line number, char start,
+ * char end and priority are stored in primitive slots; all other attributes are
+ * stored in a pair of arrays.
  */
 // the Map interface is not implemented as it would allow to insert null key or values
 // or non interned keys via the iterator if not a specific entrySet is implemented.
 public class MarkerAttributeMap implements IStringPoolParticipant {
+	/** The well known attributes that have primitive slots for integer values. */
+	private static final String[] INT_KEYS = {IMarker.SEVERITY, IMarker.LINE_NUMBER, IMarker.CHAR_START, IMarker.CHAR_END, IMarker.PRIORITY};
+
+	private static final int[] NO_INTS = new int[0];
+	private static final String[] NO_KEYS = new String[0];
+	private static final Object[] NO_VALUES = new Object[0];
+
+	/**
+	 * An immutable set of attributes.
+	 */
+	private static final class Attributes {
+		static final Attributes EMPTY = new Attributes(0, NO_INTS, NO_KEYS, NO_VALUES);
+
+		/** Bit i is set if the slot of INT_KEYS[i] is used. */
+		final int intMask;
+		/** The values of the used slots, in slot order. */
+		final int[] ints;
+		/** The interned keys and the values of the other attributes. */
+		final String[] keys;
+		final Object[] values;
+
+		Attributes(int intMask, int[] ints, String[] keys, Object[] values) {
+			this.intMask = intMask;
+			this.ints = ints;
+			this.keys = keys;
+			this.values = values;
+		}
+
+		int size() {
+			return ints.length + keys.length;
+		}
+
+		/** Returns the index of the value of the given slot in ints, or -1 if the slot is not used. */
+		int intIndex(int slot) {
+			int bit = 1 << slot;
+			return (intMask & bit) == 0 ? -1 : Integer.bitCount(intMask & (bit - 1));
+		}
+
+		int indexOf(Object key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == key || keys[i].equals(key))
+					return i;
+			}
+			return -1;
+		}
+
+		Object get(Object key) {
+			int slot = intSlot(key);
+			if (slot >= 0) {
+				int index = intIndex(slot);
+				if (index >= 0)
+					return Integer.valueOf(ints[index]);
+			}
+			int index = indexOf(key);
+			return index < 0 ? null : values[index];
+		}
+	}
+
+	/**
+	 * Collects attributes for a new attribute set.
+	 */
+	static final class Builder {
+		private int intMask;
+		private final int[] ints = new int[INT_KEYS.length];
+		private String[] keys;
+		private Object[] values;
+		private int count;
+
+		Builder(int capacity) {
+			keys = new String[capacity];
+			values = new Object[capacity];
+		}
+
+		private Builder(Attributes attributes) {
+			intMask = attributes.intMask;
+			for (int slot = 0, i = 0; slot < INT_KEYS.length; slot++) {
+				if ((intMask & (1 << slot)) != 0)
+					ints[slot] = attributes.ints[i++];
+			}
+			count = attributes.keys.length;
+			keys = Arrays.copyOf(attributes.keys, count + 1);
+			values = Arrays.copyOf(attributes.values, count + 1);
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < count; i++) {
+				if (keys[i] == key || keys[i].equals(key))
+					return i;
+			}
+			return -1;
+		}
+
+		/**
+		 * Puts the given attribute. A <code>null</code> value removes the attribute.
+		 */
+		Builder put(String key, Object value) {
+			Objects.requireNonNull(key, "insert of null key not allowed"); //$NON-NLS-1$
+			if (value instanceof Integer && intSlot(key) >= 0)
+				return putInt(key, ((Integer) value).intValue());
+			remove(key);
+			if (value == null)
+				return this;
+			if (count == keys.length) {
+				keys = Arrays.copyOf(keys, count * 2 + 1);
+				values = Arrays.copyOf(values, count * 2 + 1);
+			}
+			keys[count] = key.intern();
+			values[count] = value;
+			count++;
+			return this;
+		}
+
+		Builder putInt(String key, int value) {
+			int slot = intSlot(key);
+			if (slot < 0)
+				return put(key, Integer.valueOf(value));
+			removeObject(key);
+			intMask |= 1 << slot;
+			ints[slot] = value;
+			return this;
+		}
+
+		Builder remove(Object key) {
+			int slot = intSlot(key);
+			if (slot >= 0)
+				intMask &= ~(1 << slot);
+			removeObject(key);
+			return this;
+		}
+
+		private void removeObject(Object key) {
+			int index = indexOf(key);
+			if (index < 0)
+				return;
+			count--;
+			keys[index] = keys[count];
+			values[index] = values[count];
+			keys[count] = null;
+			values[count] = null;
+		}
+
+		private Attributes toAttributes() {
+			if (intMask == 0 && count == 0)
+				return Attributes.EMPTY;
+			int[] compactInts = NO_INTS;
+			if (intMask != 0) {
+				compactInts = new int[Integer.bitCount(intMask)];
+				for (int slot = 0, i = 0; slot < INT_KEYS.length; slot++) {
+					if ((intMask & (1 << slot)) != 0)
+						compactInts[i++] = ints[slot];
+				}
+			}
+			if (count == 0)
+				return new Attributes(intMask, compactInts, NO_KEYS, NO_VALUES);
+			return new Attributes(intMask, compactInts, Arrays.copyOf(keys, count), Arrays.copyOf(values, count));
+		}
+
+		MarkerAttributeMap build() {
+			return new MarkerAttributeMap(toAttributes());
+		}
+	}
+
+	/**
+	 * Receives the attributes of a map without boxing the integer values of the
+	 * well known attributes.
+	 */
+	interface Visitor {
+		void visitInt(String key, int value) throws IOException;
+
+		void visit(String key, Object value) throws IOException;
+	}
+
 	// This implementation is a copy on write map.
-	private final AtomicReference<Map<String, Object>> mapRef;
+	private final AtomicReference<Attributes> attributesRef;
 
 	// Typically contains 9 keys:
 	// "severity","sourceId","charStart","charEnd","arguments","id","message","lineNumber","categoryId"
 	protected static final int DEFAULT_SIZE = 9;
 
+	/**
+	 * Returns the primitive slot of the given key, or -1 if the key has no slot.
+	 */
+	static int intSlot(Object key) {
+		for (int slot = 0; slot < INT_KEYS.length; slot++) {
+			if (INT_KEYS[slot] == key || INT_KEYS[slot].equals(key))
+				return slot;
+		}
+		return -1;
+	}
+
 	/**
 	 * Creates a new marker attribute map of default size
 	 */
@@ -53,15 +242,16 @@ public class MarkerAttributeMap implements IStringPoolParticipant {
 	 */
 	public MarkerAttributeMap(int initialCapacity) {
 		// ignore initialCapacity - a copy on write datastructure will be copied anyway.
-		mapRef = new AtomicReference<>(Map.of());
+		this(Attributes.EMPTY);
 	}
 
 	/**
 	 * Copy constructor. Note that a java.util.Map can not be passed since it could
-	 * contain null keys or null values, or keys that are not interned.
+	 * contain null keys or null values, or keys that are not interned. The maps
+	 * share their entries until either of them is modified.
 	 */
 	public MarkerAttributeMap(MarkerAttributeMap m) {
-		mapRef = new AtomicReference<>(copy(m.getMap()));
+		this(m.getAttributes());
 	}
 
 	/**
@@ -69,7 +259,11 @@ public class MarkerAttributeMap implements IStringPoolParticipant {
 	 * values are silently ignored.
 	 */
 	public MarkerAttributeMap(Map<String, ? extends Object> map, boolean validate) {
-		mapRef = new AtomicReference<>(copy(map, validate));
+		this(copy(Attributes.EMPTY, map, validate));
+	}
+
+	private MarkerAttributeMap(Attributes attributes) {
+		attributesRef = new AtomicReference<>(attributes);
 	}
 
 	/**
@@ -77,32 +271,14 @@ public class MarkerAttributeMap implements IStringPoolParticipant {
 	 * are not allowed. Entries with null values are silently ignored.
 	 */
 	public void setAttributes(Map<String, ? extends Object> map, boolean validate) {
-		mapRef.set(copy(map, validate));
-	}
-
-	private Map<String, Object> copy(Map<String, ? extends Object> map, boolean validate) {
-		Map<String, Object> target = new HashMap<>();
-		putAll(target, map, validate);
-		return target;
-	}
-
-	/**
-	 * puts all entries of the given map. Entries with null keys are not allowed.
-	 * Entries with null values are silently ignored.
-	 */
-	public void putAll(Map<String, ? extends Object> map, boolean validate) {
-		mapRef.getAndUpdate(old -> {
-			Map<String, Object> copy = copy(old);
-			putAll(copy, map, validate);
-			return copy;
-		});
+		attributesRef.set(copy(Attributes.EMPTY, map, validate));
 	}
 
-	private void putAll(Map<String, Object> target, Map<String, ? extends Object> source, boolean validate) {
-		if (source == null) {
-			return;
-		}
-		for (Entry<String, ? extends Object> e : source.entrySet()) {
+	private static Attributes copy(Attributes attributes, Map<String, ? extends Object> map, boolean validate) {
+		if (map == null || map.isEmpty())
+			return attributes;
+		Builder builder = new Builder(attributes);
+		for (Entry<String, ? extends Object> e : map.entrySet()) {
 			String key = e.getKey();
 			Objects.requireNonNull(key, "insert of null key not allowed"); //$NON-NLS-1$
 			Object value = e.getValue();
@@ -110,27 +286,53 @@ public class MarkerAttributeMap implements IStringPoolParticipant {
 				value = MarkerInfo.checkValidAttribute(value);
 			}
 			if (value != null) { // null values => ignore
-				target.put(e.getKey().intern(), value);
+				builder.put(key, value);
 			}
 		}
+		return builder.toAttributes();
 	}
 
-	private Map<String, Object> copy(Map<String, ? extends Object> map) {
-		return new HashMap<>(map);
+	/**
+	 * puts all entries of the given map. Entries with null keys are not allowed.
+	 * Entries with null values are silently ignored.
+	 */
+	public void putAll(Map<String, ? extends Object> map, boolean validate) {
+		attributesRef.getAndUpdate(old -> copy(old, map, validate));
 	}
 
-	private Map<String, Object> getMap() {
-		return mapRef.get();
+	private Attributes getAttributes() {
+		return attributesRef.get();
 	}
 
 	/** creates a copy that fulfills the java.util.Map interface **/
 	public Map<String, Object> toMap() {
-		return copy(this.getMap());
+		Attributes attributes = getAttributes();
+		Map<String, Object> map = new HashMap<>();
+		for (int slot = 0, i = 0; slot < INT_KEYS.length; slot++) {
+			if ((attributes.intMask & (1 << slot)) != 0)
+				map.put(INT_KEYS[slot], Integer.valueOf(attributes.ints[i++]));
+		}
+		for (int i = 0; i < attributes.keys.length; i++)
+			map.put(attributes.keys[i], attributes.values[i]);
+		return map;
 	}
 
-	/** @see java.util.Map#entrySet **/
+	/** @see java.util.Map#entrySet; the returned set is a copy **/
 	public Set<Map.Entry<String, Object>> entrySet() {
-		return getMap().entrySet();
+		return toMap().entrySet();
+	}
+
+	/**
+	 * Calls the visitor for each attribute of this map.
+	 */
+	void accept(Visitor visitor) throws IOException {
+		Attributes attributes = getAttributes();
+		for (int slot = 0, i = 0; slot < INT_KEYS.length; slot++) {
+			if ((attributes.intMask & (1 << slot)) != 0)
+				visitor.visitInt(INT_KEYS[slot], attributes.ints[i++]);
+		}
+		for (int i = 0; i < attributes.keys.length; i++)
+			visitor.visit(attributes.keys[i], attributes.values[i]);
 	}
 
 	/**
@@ -140,20 +342,17 @@ public class MarkerAttributeMap implements IStringPoolParticipant {
 	public void put(String k, Object value) {
 		Objects.requireNonNull(k, "insert of null key not allowed"); //$NON-NLS-1$
 		Objects.requireNonNull(value, "insert of null value not allowed"); //$NON-NLS-1$
-		mapRef.getAndUpdate(map -> {
-			Map<String, Object> m = copy(map);
-			m.put(k.intern(), value);
-			return m;
-		});
+		attributesRef.getAndUpdate(attributes -> new Builder(attributes).put(k, value).toAttributes());
 	}
 
 	@Override
 	public void shareStrings(StringPool set) {
 		// don't share keys because they are already interned
-		for (java.util.Map.Entry<String, Object> e : getMap().entrySet()) {
-			Object o = e.getValue();
+		Object[] values = getAttributes().values;
+		for (int i = 0; i < values.length; i++) {
+			Object o = values[i];
 			if (o instanceof String) {
-				e.setValue(set.add((String) o));
+				values[i] = set.add((String) o);
 			} else if (o instanceof IStringPoolParticipant) {
 				((IStringPoolParticipant) o).shareStrings(set);
 			}
@@ -162,22 +361,46 @@ public class MarkerAttributeMap implements IStringPoolParticipant {
 
 	/** @see java.util.Map#isEmpty **/
 	public boolean isEmpty() {
-		return getMap().isEmpty();
+		return getAttributes().size() == 0;
 	}
 
 	/** @see java.util.Map#remove **/
 	public Object remove(Object key) {
-		return getMap().remove(key);
+		Attributes previous = attributesRef.getAndUpdate(attributes -> {
+			if (attributes.get(key) == null)
+				return attributes;
+			return new Builder(attributes).remove(key).toAttributes();
+		});
+		return previous.get(key);
 	}
 
 	/** @see java.util.Map#get **/
 	public Object get(Object key) {
-		return getMap().get(key);
+		return getAttributes().get(key);
+	}
+
+	/**
+	 * Returns the value of the given attribute if it is an integer, and the
+	 * default value otherwise. The well known integer attributes are returned
+	 * without boxing.
+	 */
+	public int getInt(String key, int defaultValue) {
+		Attributes attributes = getAttributes();
+		int slot = intSlot(key);
+		if (slot >= 0) {
+			int index = attributes.intIndex(slot);
+			if (index >= 0)
+				return attributes.ints[index];
+		}
+		int index = attributes.indexOf(key);
+		if (index >= 0 && attributes.values[index] instanceof Integer)
+			return ((Integer) attributes.values[index]).intValue();
+		return defaultValue;
 	}
 
 	/** @see java.util.Map#size **/
 	public int size() {
-		return getMap().size();
+		return getAttributes().size();
 	}
 
 }
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.resources;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.eclipse.core.internal.dtree.*;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.internal.watson.ElementTreeIterator;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * An index of the resources that have markers in an immutable workspace tree.
+ * <p>
+ * The resources are sorted by path such that the resources of a subtree are
+ * adjacent, so deep marker queries only look at the resources with markers
+ * instead of visiting every resource of the subtree. The index is brought up to
+ * date with a newer immutable tree by comparing the marker sets of the two
+ * trees, which only visits the parts of the trees that have changed. Marker
+ * attributes are not indexed, because they are changed in place.
+ * </p>
+ * <p>
+ * While an operation runs, the index reflects the immutable tree the operation
+ * started from, and the resources changed by the operation so far are read
+ * from the mutable tree. The index has to be rebuilt when markers are restored
+ * into an existing tree.
+ * </p>
+ */
+class MarkerIndex {
+	/**
+	 * Orders paths segment by segment, so that a path is directly followed by
+	 * its descendants.
+	 */
+	private static final Comparator<IPath> PATH_ORDER = (path1, path2) -> {
+		int count1 = path1.segmentCount();
+		int count2 = path2.segmentCount();
+		for (int i = 0, count = Math.min(count1, count2); i < count; i++) {
+			int result = path1.segment(i).compareTo(path2.segment(i));
+			if (result != 0)
+				return result;
+		}
+		return count1 - count2;
+	};
+
+	/**
+	 * Reports a change for nodes with different marker sets or resource types.
+	 */
+	private static final IComparator MARKER_COMPARATOR = (data1, data2) -> {
+		ResourceInfo info1 = (ResourceInfo) data1;
+		ResourceInfo info2 = (ResourceInfo) data2;
+		if (info1 == null || info2 == null)
+			return info1 == info2 ? 0 : 1;
+		return info1.getMarkers(false) == info2.getMarkers(false) && info1.getType() == info2.getType() ? 0 : 1;
+	};
+
+	/**
+	 * The markers of a resource.
+	 */
+	static final class Entry {
+		final int type;
+		final MarkerSet markers;
+
+		Entry(int type, MarkerSet markers) {
+			this.type = type;
+			this.markers = markers;
+		}
+	}
+
+	private final TreeMap<IPath, Entry> entries = new TreeMap<>(PATH_ORDER);
+
+	/**
+	 * The tree the index reflects, or <code>null</code> if it has to be rebuilt.
+	 * The tree is only needed to compare it with a newer tree, and is held weakly
+	 * so that the index does not keep an old tree with its layers and marker sets
+	 * alive once the workspace has collapsed or saved them. The index is rebuilt
+	 * if the tree has been collected.
+	 */
+	private WeakReference<ElementTree> tree;
+
+	/**
+	 * Calls the consumer with the marker set and resource type of each resource
+	 * with markers at or below the given path. Returns <code>false</code> without
+	 * calling the consumer if the index cannot be used for the given tree.
+	 */
+	synchronized boolean forEach(ElementTree current, IPath path, BiConsumer<IPath, Entry> consumer) {
+		ElementTree base = current.isImmutable() ? current : current.getParent();
+		if (base == null || !base.isImmutable())
+			return false;
+		update(base);
+		// resources changed by the running operation are read from the current tree
+		Set<IPath> changed = Collections.emptySet();
+		if (base != current) {
+			changed = new HashSet<>();
+			if (path.isRoot())
+				changed.add(Path.ROOT);
+			DeltaDataTree comparison = base.getDataTree().compareWith(current.getDataTree(), MARKER_COMPARATOR);
+			if (comparison.includes(path))
+				visitChanges(comparison, path, changed::add);
+		}
+		for (Map.Entry<IPath, Entry> entry : entries.tailMap(path, true).entrySet()) {
+			if (!path.isPrefixOf(entry.getKey()))
+				break;
+			if (!changed.contains(entry.getKey()))
+				consumer.accept(entry.getKey(), entry.getValue());
+		}
+		for (IPath changedPath : changed) {
+			Entry entry = read(current, changedPath);
+			if (entry != null)
+				consumer.accept(changedPath, entry);
+		}
+		return true;
+	}
+
+	/**
+	 * Discards the index, e.g. because markers have been restored into the tree.
+	 */
+	synchronized void invalidate() {
+		entries.clear();
+		tree = null;
+	}
+
+	/**
+	 * Returns the markers of the resource with the given path in the given tree,
+	 * or <code>null</code> if it does not exist or has no markers.
+	 */
+	private static Entry read(ElementTree current, IPath path) {
+		if (!path.isRoot() && !current.includes(path))
+			return null;
+		// the data of the root is the tree data, which is not part of the data tree
+		ResourceInfo info = (ResourceInfo) (path.isRoot() ? current.getTreeData() : current.getElementData(path));
+		if (info == null)
+			return null;
+		MarkerSet markers = info.getMarkers(false);
+		if (markers == null || markers.isEmpty())
+			return null;
+		return new Entry(info.getType(), markers);
+	}
+
+	private void rebuild(ElementTree current) {
+		entries.clear();
+		new ElementTreeIterator(current, Path.ROOT).iterate((elementTree, requestor, elementContents) -> {
+			ResourceInfo info = (ResourceInfo) elementContents;
+			if (info != null) {
+				MarkerSet markers = info.getMarkers(false);
+				if (markers != null && !markers.isEmpty())
+					entries.put(requestor.requestPath(), new Entry(info.getType(), markers));
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Updates the entry of the given path from the given tree.
+	 */
+	private void refresh(ElementTree current, IPath path) {
+		if (!current.includes(path)) {
+			// the subtree has been removed
+			for (Iterator<IPath> it = entries.tailMap(path, true).keySet().iterator(); it.hasNext() && path.isPrefixOf(it.next());)
+				it.remove();
+			return;
+		}
+		Entry entry = read(current, path);
+		if (entry == null)
+			entries.remove(path);
+		else
+			entries.put(path, entry);
+	}
+
+	/**
+	 * Calls the consumer with the paths at or below the given path whose marker
+	 * sets or resource types differ in the given comparison.
+	 */
+	private static void visitChanges(DeltaDataTree comparison, IPath path, Consumer<IPath> consumer) {
+		NodeComparison node = (NodeComparison) comparison.getData(path);
+		if (node != null && ((node.getComparison() & (NodeComparison.K_ADDED | NodeComparison.K_REMOVED)) != 0 || node.getUserComparison() != 0))
+			consumer.accept(path);
+		for (String name : comparison.getNamesOfChildren(path))
+			visitChanges(comparison, path.append(name), consumer);
+	}
+
+	/**
+	 * Brings the index up to date with the given immutable tree.
+	 */
+	private void update(ElementTree current) {
+		ElementTree indexed = tree == null ? null : tree.get();
+		if (indexed == current)
+			return;
+		if (indexed == null) {
+			rebuild(current);
+		} else {
+			DeltaDataTree comparison = current.getDataTree().compareWith(indexed.getDataTree(), MARKER_COMPARATOR);
+			visitChanges(comparison, Path.ROOT, path -> refresh(current, path));
+			refresh(current, Path.ROOT);
+		}
+		tree = new WeakReference<>(current);
+	}
+}
@@ -112,6 +112,10 @@ public class MarkerInfo implements IMarkerSetElement, Cloneable, IStringPoolPart
 		return attributes.get(attributeName);
 	}
 
+	public int getAttribute(String attributeName, int defaultValue) {
+		return attributes.getInt(attributeName, defaultValue);
+	}
+
 	public Map<String, Object> getAttributes() {
 		if (attributes.isEmpty())
 			return null;
@@ -39,6 +39,7 @@ public class MarkerManager implements IManager {
 	private final AtomicLong changeId = new AtomicLong();
 	protected volatile Map<IPath, MarkerSet> currentDeltas = null;
 	protected final MarkerDeltaManager deltaManager = new MarkerDeltaManager();
+	private final MarkerIndex index = new MarkerIndex();
 
 	protected final Workspace workspace;
 	protected final MarkerWriter writer = new MarkerWriter(this);
@@ -56,6 +57,8 @@ public class MarkerManager implements IManager {
 	 * @see IResource#createMarker(String)
 	 */
 	public void add(IResource resource, MarkerInfo newMarker) throws CoreException {
+		// marker operations run without a scheduling rule
+		workspace.getSaveManager().restoreDeferred(resource);
 		Resource target = (Resource) resource;
 		ResourceInfo info = workspace.getResourceInfo(target.getFullPath(), false, false);
 		target.checkExists(target.getFlags(info), false);
@@ -146,12 +149,7 @@ public class MarkerManager implements IManager {
 	}
 
 	private int getSeverity(MarkerInfo marker) {
-		Object o = marker.getAttribute(IMarker.SEVERITY);
-		if (o instanceof Integer) {
-			Integer i = (Integer) o;
-			return i.intValue();
-		}
-		return -1;
+		return marker.getAttribute(IMarker.SEVERITY, -1);
 	}
 
 	/**
@@ -249,6 +247,7 @@ public class MarkerManager implements IManager {
 	 * Returns the marker with the given id or <code>null</code> if none is found.
 	 */
 	public MarkerInfo findMarkerInfo(IResource resource, long id) {
+		workspace.getSaveManager().restoreDeferred(resource);
 		ResourceInfo info = workspace.getResourceInfo(resource.getFullPath(), false, false);
 		if (info == null)
 			return null;
@@ -279,10 +278,12 @@ public class MarkerManager implements IManager {
 	 */
 	public void doFindMarkers(IResource target, ArrayList<IMarker> result, final String type,
 			final boolean includeSubtypes, int depth) {
-		// optimize the deep searches with an element tree visitor
-		if (depth == IResource.DEPTH_INFINITE && target.getType() != IResource.FILE)
-			visitorFindMarkers(target.getFullPath(), result, type, includeSubtypes);
-		else
+		workspace.getSaveManager().restoreDeferred(target);
+		// optimize the deep searches with the index, or an element tree visitor
+		if (depth == IResource.DEPTH_INFINITE && target.getType() != IResource.FILE) {
+			if (!indexFindMarkers(target.getFullPath(), result, type, includeSubtypes))
+				visitorFindMarkers(target.getFullPath(), result, type, includeSubtypes);
+		} else
 			recursiveFindMarkers(target.getFullPath(), result, type, includeSubtypes, depth);
 	}
 
@@ -291,9 +292,16 @@ public class MarkerManager implements IManager {
 	 * option to search the target's children.
 	 */
 	public int findMaxProblemSeverity(IResource target, String type, boolean includeSubtypes, int depth) {
-		// optimize the deep searches with an element tree visitor
-		if (depth == IResource.DEPTH_INFINITE && target.getType() != IResource.FILE)
-			return visitorFindMaxSeverity(target.getFullPath(), type, includeSubtypes);
+		workspace.getSaveManager().restoreDeferred(target);
+		// optimize the deep searches with the index, or an element tree visitor
+		if (depth == IResource.DEPTH_INFINITE && target.getType() != IResource.FILE) {
+			int[] max = {-1};
+			boolean indexed = index.forEach(workspace.getElementTree(), target.getFullPath(), (path, entry) -> {
+				if (max[0] < IMarker.SEVERITY_ERROR)
+					max[0] = Math.max(max[0], basicFindMaxSeverity(entry.markers, type, includeSubtypes));
+			});
+			return indexed ? max[0] : visitorFindMaxSeverity(target.getFullPath(), type, includeSubtypes);
+		}
 		return recursiveFindMaxSeverity(target.getFullPath(), type, includeSubtypes, depth);
 	}
 
@@ -506,12 +514,49 @@ public class MarkerManager implements IManager {
 	 * <code>null</code> is a wildcard.
 	 */
 	public void removeMarkers(IResource target, final String type, final boolean includeSubtypes, int depth) {
+		workspace.getSaveManager().restoreDeferred(target);
 		if (depth == IResource.DEPTH_INFINITE && target.getType() != IResource.FILE)
 			visitorRemoveMarkers(target.getFullPath(), type, includeSubtypes);
 		else
 			recursiveRemoveMarkers(target.getFullPath(), type, includeSubtypes, depth);
 	}
 
+	/**
+	 * Replaces the markers of the given type and its subtypes on the given
+	 * resource with the given markers. The removed and added markers are reported
+	 * as a single change of the resource's markers.
+	 *
+	 * @see IWorkspace#replaceMarkers(String, Map)
+	 */
+	public void replaceMarkers(IResource resource, String type, MarkerInfo[] newMarkers) throws CoreException {
+		workspace.getSaveManager().restoreDeferred(resource);
+		Resource target = (Resource) resource;
+		ResourceInfo info = workspace.getResourceInfo(target.getFullPath(), false, false);
+		target.checkExists(target.getFlags(info), false);
+		MarkerSet markers = info.getMarkers(false);
+		IMarkerSetElement[] removed = markers == null ? NO_MARKER_INFO : basicFindMatching(markers, type, true);
+		if (removed.length == 0 && newMarkers.length == 0)
+			return;
+		info = workspace.getResourceInfo(resource.getFullPath(), false, true);
+		// resource may have been deleted concurrently -- just bail out if this happens
+		if (info == null)
+			return;
+		// Concurrency: copy the marker set on modify
+		markers = info.getMarkers(true);
+		if (markers == null)
+			markers = new MarkerSet(newMarkers.length);
+		markers.removeAll(removed);
+		markers.addAll(newMarkers);
+		info.setMarkers(markers.isEmpty() ? null : markers);
+		info.set(ICoreConstants.M_MARKERS_SNAP_DIRTY);
+		IMarkerSetElement[] changes = new IMarkerSetElement[removed.length + newMarkers.length];
+		for (int i = 0; i < removed.length; i++)
+			changes[i] = new MarkerDelta(IResourceDelta.REMOVED, resource, (MarkerInfo) removed[i]);
+		for (int i = 0; i < newMarkers.length; i++)
+			changes[removed.length + i] = new MarkerDelta(IResourceDelta.ADDED, resource, newMarkers[i]);
+		changedMarkers(resource, changes);
+	}
+
 	/**
 	 * Reset the marker deltas up to but not including the given start Id.
 	 */
@@ -521,9 +566,14 @@ public class MarkerManager implements IManager {
 	}
 
 	public void restore(IResource resource, boolean generateDeltas, IProgressMonitor monitor) throws CoreException {
-		// first try and load the last saved file, then apply the snapshots
-		restoreFromSave(resource, generateDeltas);
-		restoreFromSnap(resource);
+		try {
+			// first try and load the last saved file, then apply the snapshots
+			restoreFromSave(resource, generateDeltas);
+			restoreFromSnap(resource);
+		} finally {
+			// the markers are restored in place, without creating a new tree
+			index.invalidate();
+		}
 	}
 
 	protected void restoreFromSave(IResource resource, boolean generateDeltas) throws CoreException {
@@ -580,6 +630,21 @@ public class MarkerManager implements IManager {
 		// do nothing
 	}
 
+	/**
+	 * Adds the markers for a subtree of resources to the list. Returns
+	 * <code>false</code> if the index cannot be used for the current tree.
+	 */
+	private boolean indexFindMarkers(IPath path, final ArrayList<IMarker> list, final String type, final boolean includeSubtypes) {
+		return index.forEach(workspace.getElementTree(), path, (resourcePath, entry) -> {
+			IMarkerSetElement[] matching;
+			if (type == null)
+				matching = entry.markers.elements();
+			else
+				matching = basicFindMatching(entry.markers, type, includeSubtypes);
+			buildMarkers(matching, resourcePath, entry.type, list);
+		});
+	}
+
 	/**
 	 * Adds the markers for a subtree of resources to the list.
 	 */
@@ -83,34 +83,29 @@ public class MarkerSnapshotReader_2 extends MarkerSnapshotReader {
 		info.clear(ICoreConstants.M_MARKERS_SNAP_DIRTY);
 	}
 
-	private Map<String, Object> readAttributes(DataInputStream input) throws IOException {
-		short attributesSize = input.readShort();
-		if (attributesSize == 0)
-			return null;
-		Map<String, Object> result = new HashMap<>(attributesSize);
+	private MarkerAttributeMap readAttributes(DataInputStream input) throws IOException {
+		int attributesSize = input.readShort();
+		MarkerAttributeMap.Builder result = new MarkerAttributeMap.Builder(attributesSize);
 		for (int j = 0; j < attributesSize; j++) {
 			String key = input.readUTF();
 			byte type = input.readByte();
-			Object value = null;
 			switch (type) {
 				case ATTRIBUTE_INTEGER :
-					value = Integer.valueOf(input.readInt());
+					// well known integer attributes are stored without boxing
+					result.putInt(key, input.readInt());
 					break;
 				case ATTRIBUTE_BOOLEAN :
-					value = Boolean.valueOf(input.readBoolean());
+					result.put(key, Boolean.valueOf(input.readBoolean()));
 					break;
 				case ATTRIBUTE_STRING :
-					value = input.readUTF();
+					result.put(key, input.readUTF());
 					break;
 				case ATTRIBUTE_NULL :
 					// do nothing
 					break;
 			}
-			if (value != null) {
-				result.put(key, value);
-			}
 		}
-		return result.isEmpty() ? null : result;
+		return result.build();
 	}
 
 	private MarkerInfo readMarkerInfo(DataInputStream input, List<String> readTypes) throws IOException, CoreException {
@@ -130,8 +125,8 @@ public class MarkerSnapshotReader_2 extends MarkerSnapshotReader {
 				String msg = Messages.resources_readMarkers;
 				throw new ResourceException(IResourceStatus.FAILED_READ_METADATA, null, msg, null);
 		}
-		Map<String, Object> map = readAttributes(input);
+		MarkerAttributeMap attributes = readAttributes(input);
 		long creationTime = input.readLong();
-		return new MarkerInfo(map, false, creationTime, type, id);
+		return new MarkerInfo(attributes, creationTime, type, id);
 	}
 }
@@ -170,30 +170,40 @@ public class MarkerWriter {
 	 * Write out the given marker attributes to the given output stream.
 	 */
 	private void write(MarkerAttributeMap markerAttributeMap, DataOutputStream output) throws IOException {
-		output.writeShort(markerAttributeMap.size());
-		for (Map.Entry<String, Object> e : markerAttributeMap.entrySet()) {
-			String key = e.getKey();
-			output.writeUTF(key);
-			Object value = e.getValue();
-			if (value instanceof Integer) {
+		// the copy shares the attributes, so the size matches the written attributes
+		MarkerAttributeMap attributes = new MarkerAttributeMap(markerAttributeMap);
+		output.writeShort(attributes.size());
+		attributes.accept(new MarkerAttributeMap.Visitor() {
+			@Override
+			public void visitInt(String key, int value) throws IOException {
+				output.writeUTF(key);
 				output.writeByte(ATTRIBUTE_INTEGER);
-				output.writeInt(((Integer) value).intValue());
-				continue;
+				output.writeInt(value);
 			}
-			if (value instanceof Boolean) {
-				output.writeByte(ATTRIBUTE_BOOLEAN);
-				output.writeBoolean(((Boolean) value).booleanValue());
-				continue;
-			}
-			if (value instanceof String) {
-				output.writeByte(ATTRIBUTE_STRING);
-				output.writeUTF((String) value);
-				continue;
+
+			@Override
+			public void visit(String key, Object value) throws IOException {
+				output.writeUTF(key);
+				if (value instanceof Integer) {
+					output.writeByte(ATTRIBUTE_INTEGER);
+					output.writeInt(((Integer) value).intValue());
+					return;
+				}
+				if (value instanceof Boolean) {
+					output.writeByte(ATTRIBUTE_BOOLEAN);
+					output.writeBoolean(((Boolean) value).booleanValue());
+					return;
+				}
+				if (value instanceof String) {
+					output.writeByte(ATTRIBUTE_STRING);
+					output.writeUTF((String) value);
+					return;
+				}
+				// otherwise we came across an attribute of an unknown type
+				// so just write out null since we don't know how to marshal it.
+				output.writeByte(ATTRIBUTE_NULL);
 			}
-			// otherwise we came across an attribute of an unknown type
-			// so just write out null since we don't know how to marshal it.
-			output.writeByte(ATTRIBUTE_NULL);
-		}
+		});
 	}
 
 	private void write(MarkerInfo info, DataOutputStream output, List<String> writtenTypes) throws IOException {
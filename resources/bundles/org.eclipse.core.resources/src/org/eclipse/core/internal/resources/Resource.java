@@ -37,11 +37,10 @@ import org.eclipse.core.internal.watson.*;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.resources.team.IMoveDeleteHook;
 import org.eclipse.core.runtime.*;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
-import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.core.runtime.jobs.*;
 import org.eclipse.osgi.util.NLS;
 
-public abstract class Resource extends PlatformObject implements IResource, ICoreConstants, Cloneable, IPathRequestor {
+public abstract class Resource extends PlatformObject implements IResource, IHierarchicalSchedulingRule, ICoreConstants, Cloneable, IPathRequestor {
 	final IPath path;
 	final Workspace workspace;
 
@@ -1073,6 +1072,15 @@ public abstract class Resource extends PlatformObject implements IResource, ICor
 		return path;
 	}
 
+	/**
+	 * Resource rules conflict exactly when they belong to the same workspace and
+	 * one path is a prefix of the other, see {@link #isConflicting(ISchedulingRule)}.
+	 */
+	@Override
+	public Object getHierarchy() {
+		return workspace;
+	}
+
 	public FileSystemResourceManager getLocalManager() {
 		return workspace.getFileSystemManager();
 	}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.resources;
+
+import java.util.Arrays;
+import org.eclipse.core.internal.dtree.*;
+
+/**
+ * Packs the resource infos of the immutable layers of the workspace tree into
+ * primitive arrays shared by the children of a container. An info is
+ * materialized again the first time it is requested from its tree node.
+ * <p>
+ * Only plain file and folder infos without markers, session properties or sync
+ * info are packed. Their cached file store root is dropped, it is computed again
+ * when needed. Infos that have been requested from the tree are never packed,
+ * since methods like {@link Resource#setSessionProperty} update them in place
+ * without a scheduling rule. Packing is turned on by setting the system property
+ * <code>org.eclipse.core.resources.compactTree</code> to <code>true</code>.
+ * </p>
+ */
+public class ResourceInfoPacker implements IDataPacker {
+	public static final boolean ENABLED = DataTreeNode.PACKING_ENABLED;
+
+	/**
+	 * Packing fewer siblings does not make up for the arrays.
+	 */
+	private static final int MIN_PACKED = 4;
+
+	/**
+	 * The infos of sibling resources, by name. For each resource, {@link #ints}
+	 * holds the flags, content id and marker/sync stamps, and {@link #longs}
+	 * holds the local sync info, node id and modification stamp.
+	 */
+	private static final class PackedInfos implements IPackedData {
+		final int[] ints;
+		final long[] longs;
+		final String[] names;
+
+		PackedInfos(String[] names) {
+			this.names = names;
+			this.ints = new int[names.length * 3];
+			this.longs = new long[names.length * 3];
+		}
+
+		int indexOf(String name) {
+			return Arrays.binarySearch(names, name);
+		}
+
+		void read(int index, PackedInfos source, int sourceIndex) {
+			System.arraycopy(source.ints, sourceIndex * 3, ints, index * 3, 3);
+			System.arraycopy(source.longs, sourceIndex * 3, longs, index * 3, 3);
+		}
+
+		void read(int index, ResourceInfo info) {
+			ints[index * 3] = info.flags;
+			ints[index * 3 + 1] = info.charsetAndContentId;
+			ints[index * 3 + 2] = info.markerAndSyncStamp;
+			longs[index * 3] = info.localInfo;
+			longs[index * 3 + 1] = info.nodeId;
+			longs[index * 3 + 2] = info.modStamp;
+		}
+
+		@Override
+		public Object unpack(String name) {
+			int index = indexOf(name);
+			ResourceInfo info = new ResourceInfo();
+			info.flags = ints[index * 3];
+			info.charsetAndContentId = ints[index * 3 + 1];
+			info.markerAndSyncStamp = ints[index * 3 + 2];
+			info.localInfo = longs[index * 3];
+			info.nodeId = longs[index * 3 + 1];
+			info.modStamp = longs[index * 3 + 2];
+			return info;
+		}
+	}
+
+	private int packedCount;
+
+	@Override
+	public boolean canPack(Object data) {
+		if (data instanceof PackedInfos)
+			return true;
+		// project and root infos hold more state
+		if (data == null || data.getClass() != ResourceInfo.class)
+			return false;
+		ResourceInfo info = (ResourceInfo) data;
+		return (info.markers == null || info.markers.isEmpty()) && info.sessionProperties == null && info.syncInfo == null;
+	}
+
+	/**
+	 * Returns the number of infos that have been packed by this packer.
+	 */
+	public int getPackedCount() {
+		return packedCount;
+	}
+
+	/**
+	 * Returns whether the given siblings have all been packed together already.
+	 */
+	private boolean isPacked(String[] names, Object[] data) {
+		if (!(data[0] instanceof PackedInfos) || ((PackedInfos) data[0]).names.length != names.length)
+			return false;
+		for (Object o : data)
+			if (o != data[0])
+				return false;
+		return true;
+	}
+
+	@Override
+	public IPackedData pack(String[] names, Object[] data) {
+		if (names.length < MIN_PACKED)
+			return null;
+		if (isPacked(names, data))
+			return (IPackedData) data[0];
+		PackedInfos result = new PackedInfos(names);
+		for (int i = 0; i < data.length; i++) {
+			if (data[i] instanceof PackedInfos) {
+				PackedInfos source = (PackedInfos) data[i];
+				result.read(i, source, source.indexOf(names[i]));
+			} else {
+				result.read(i, (ResourceInfo) data[i]);
+				packedCount++;
+			}
+		}
+		return result;
+	}
+}
@@ -71,6 +71,34 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 	protected static final String DELTA_EXPIRATION_PREFIX = "deltaExpiration_"; //$NON-NLS-1$
 	protected static final int DONE_SAVING = 3;
 
+	/**
+	 * Whether snapshots of the workspace tree are written by a background job,
+	 * after the workspace lock has been released. Can be enabled with
+	 * -Dorg.eclipse.core.resources.asyncSnapshot=true.
+	 */
+	private static final boolean ASYNC_SNAPSHOT = Boolean.getBoolean("org.eclipse.core.resources.asyncSnapshot"); //$NON-NLS-1$
+
+	/**
+	 * Whether the markers and sync info of projects are restored when they are
+	 * first accessed, or by a background job, instead of during workspace startup.
+	 * Can be enabled with -Dorg.eclipse.core.resources.lazyRestore=true.
+	 */
+	private static final boolean LAZY_RESTORE = Boolean.getBoolean("org.eclipse.core.resources.lazyRestore"); //$NON-NLS-1$
+
+	/**
+	 * Whether the workspace tree is saved in the format of
+	 * {@link ICoreConstants#WORKSPACE_TREE_VERSION_3}, in which the trees of
+	 * the projects are written to separate sections. Can be enabled with
+	 * -Dorg.eclipse.core.resources.treeSections=true.
+	 */
+	private static final boolean TREE_SECTIONS = Boolean.getBoolean("org.eclipse.core.resources.treeSections"); //$NON-NLS-1$
+
+	/**
+	 * Whether the sections of the workspace tree are stored without compression.
+	 * Can be set with -Dorg.eclipse.core.resources.treeSections.uncompressed=true.
+	 */
+	private static final boolean UNCOMPRESSED_TREE_SECTIONS = Boolean.getBoolean("org.eclipse.core.resources.treeSections.uncompressed"); //$NON-NLS-1$
+
 	/**
 	 * The minimum delay, in milliseconds, between workspace snapshots
 	 */
@@ -128,6 +156,41 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 
 	protected final DelayedSnapshotJob snapshotJob;
 
+	/**
+	 * The restore of the markers and sync info of a project, see
+	 * {@link #LAZY_RESTORE}. Other threads can wait until it is done.
+	 */
+	private static final class DeferredRestore {
+		final CountDownLatch done = new CountDownLatch(1);
+		/**
+		 * The thread restoring the project, or null if it has not started.
+		 * @GuardedBy("deferredRestores")
+		 */
+		Thread owner;
+	}
+
+	/**
+	 * Open projects whose markers and sync info have not been restored yet, or
+	 * are being restored, see {@link #LAZY_RESTORE}. This map is guarded by
+	 * itself. Projects are restored without holding its lock.
+	 */
+	private final Map<IProject, DeferredRestore> deferredRestores = new LinkedHashMap<>();
+
+	/**
+	 * Whether {@link #deferredRestores} is not empty, for checks without locking.
+	 */
+	private volatile boolean hasDeferredRestores;
+
+	/**
+	 * Restores the projects in {@link #deferredRestores} in the background.
+	 */
+	protected final DeferredRestoreJob deferredRestoreJob;
+
+	/**
+	 * Writes snapshots of the workspace tree if {@link #ASYNC_SNAPSHOT} is set.
+	 */
+	protected final SnapshotWriterJob snapshotWriter;
+
 	protected volatile boolean snapshotRequested;
 	private IStatus snapshotRequestor;
 	protected Workspace workspace;
@@ -143,6 +206,8 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 		this.workspace = workspace;
 		this.masterTable = new MasterTable();
 		this.snapshotJob = new DelayedSnapshotJob(this, workspace);
+		this.snapshotWriter = new SnapshotWriterJob(this, workspace);
+		this.deferredRestoreJob = new DeferredRestoreJob(this);
 		snapshotRequested = false;
 		snapshotRequestor = null;
 		saveParticipants = Collections.synchronizedMap(new HashMap<>(10));
@@ -502,6 +567,9 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 		lastSnap.immutable();
 		workspace.newWorkingTree();
 		operationCount = 0;
+		// wait for snapshots in progress before their file is deleted
+		if (ASYNC_SNAPSHOT)
+			snapshotWriter.reset(lastSnap);
 		// Delete the snapshot files, if any.
 		IPath location = workspace.getMetaArea().getSnapshotLocationFor(workspace.getRoot());
 		java.io.File target = location.toFile().getParentFile();
@@ -716,18 +784,34 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 
 				// tolerate failure for non-critical information
 				// if startup fails, the entire workspace is shot
-				try {
-					restoreMarkers(workspace.getRoot(), false, Policy.subMonitorFor(monitor, 10));
-				} catch (CoreException e) {
-					problems.merge(e.getStatus());
-				}
-				try {
-					restoreSyncInfo(workspace.getRoot(), Policy.subMonitorFor(monitor, 10));
-				} catch (CoreException e) {
-					problems.merge(e.getStatus());
+				if (LAZY_RESTORE) {
+					// only restore the root, the projects follow when they are accessed
+					try {
+						workspace.getMarkerManager().restore(workspace.getRoot(), false, Policy.subMonitorFor(monitor, 10));
+					} catch (CoreException e) {
+						problems.merge(e.getStatus());
+					}
+					try {
+						((Synchronizer) workspace.getSynchronizer()).restore(workspace.getRoot(), Policy.subMonitorFor(monitor, 10));
+					} catch (CoreException e) {
+						problems.merge(e.getStatus());
+					}
+				} else {
+					try {
+						restoreMarkers(workspace.getRoot(), false, Policy.subMonitorFor(monitor, 10));
+					} catch (CoreException e) {
+						problems.merge(e.getStatus());
+					}
+					try {
+						restoreSyncInfo(workspace.getRoot(), Policy.subMonitorFor(monitor, 10));
+					} catch (CoreException e) {
+						problems.merge(e.getStatus());
+					}
 				}
 				// restore meta info last because it might close a project if its description is not readable
 				restoreMetaInfo(problems, Policy.subMonitorFor(monitor, 10));
+				if (LAZY_RESTORE)
+					deferRestores();
 				IProject[] roots = workspace.getRoot().getProjects(IContainer.INCLUDE_HIDDEN);
 				for (IProject root : roots)
 					((Project) root).startup();
@@ -743,6 +827,133 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 			Policy.debug("Restore workspace: " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Defers restoring the markers and sync info of all open projects until they
+	 * are accessed, and schedules a job that restores them in the meantime.
+	 */
+	private void deferRestores() {
+		synchronized (deferredRestores) {
+			for (IProject project : workspace.getRoot().getProjects(IContainer.INCLUDE_HIDDEN))
+				if (project.isAccessible())
+					deferredRestores.put(project, new DeferredRestore());
+			hasDeferredRestores = !deferredRestores.isEmpty();
+		}
+		if (hasDeferredRestores)
+			deferredRestoreJob.schedule();
+	}
+
+	/**
+	 * Restores the markers and sync info of the projects that conflict with the
+	 * given rule, if their restore has been deferred at startup. This must be
+	 * called before markers or sync info are read or modified, and before they
+	 * are saved. Marker operations run without a rule, so the marker manager
+	 * calls this with the resource being changed.
+	 *
+	 * @param rule the rule of the operation, or the resource being accessed,
+	 * or <code>null</code> to restore nothing
+	 */
+	public void restoreDeferred(ISchedulingRule rule) {
+		if (!hasDeferredRestores || rule == null)
+			return;
+		Thread current = Thread.currentThread();
+		Map<IProject, DeferredRestore> claimed = null;
+		List<DeferredRestore> running = null;
+		synchronized (deferredRestores) {
+			for (Entry<IProject, DeferredRestore> entry : deferredRestores.entrySet()) {
+				if (!rule.isConflicting(entry.getKey()))
+					continue;
+				DeferredRestore restore = entry.getValue();
+				if (restore.owner == null) {
+					restore.owner = current;
+					if (claimed == null)
+						claimed = new LinkedHashMap<>();
+					claimed.put(entry.getKey(), restore);
+				} else if (restore.owner != current) {
+					if (running == null)
+						running = new ArrayList<>();
+					running.add(restore);
+				}
+			}
+		}
+		if (claimed != null)
+			for (Entry<IProject, DeferredRestore> entry : claimed.entrySet())
+				restoreDeferred(entry.getKey(), entry.getValue());
+		// projects restored by other threads must be complete before they are accessed
+		if (running != null)
+			for (DeferredRestore restore : running)
+				awaitUninterruptibly(restore.done);
+	}
+
+	/**
+	 * Restores the markers and sync info of all projects whose restore has been
+	 * deferred at startup, one project at a time. Projects that other threads
+	 * are restoring already are skipped.
+	 */
+	void restoreDeferred(IProgressMonitor monitor) {
+		while (hasDeferredRestores && !monitor.isCanceled()) {
+			IProject project = null;
+			DeferredRestore restore = null;
+			synchronized (deferredRestores) {
+				for (Entry<IProject, DeferredRestore> entry : deferredRestores.entrySet()) {
+					if (entry.getValue().owner == null) {
+						project = entry.getKey();
+						restore = entry.getValue();
+						restore.owner = Thread.currentThread();
+						break;
+					}
+				}
+			}
+			if (project == null)
+				return;
+			restoreDeferred(project, restore);
+		}
+	}
+
+	/**
+	 * Restores the markers and sync info of the given deferred project, which
+	 * the current thread has claimed. Must be called without holding the lock
+	 * of {@link #deferredRestores}, so that other projects can be accessed
+	 * while the files of this one are read.
+	 */
+	private void restoreDeferred(IProject project, DeferredRestore restore) {
+		long start = System.currentTimeMillis();
+		try {
+			if (project.isAccessible()) {
+				workspace.getMarkerManager().restore(project, false, null);
+				((Synchronizer) workspace.getSynchronizer()).restore(project, null);
+			}
+		} catch (CoreException e) {
+			Policy.log(e.getStatus());
+		} finally {
+			synchronized (deferredRestores) {
+				deferredRestores.remove(project);
+				hasDeferredRestores = !deferredRestores.isEmpty();
+			}
+			restore.done.countDown();
+		}
+		if (Policy.DEBUG_RESTORE)
+			Policy.debug("Restore deferred markers and sync info for " + project.getFullPath() + ": " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Waits until the given latch is released. The wait does not end early when
+	 * the current thread is interrupted, since the restore must be complete
+	 * before the project is accessed.
+	 */
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
 	/**
 	 * Restores the contents of this project.  Throw
 	 * an exception if the project could not be restored.
@@ -964,6 +1175,8 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 					//reader returned an immutable tree, but since we're inside
 					//an operation, we must return an open tree
 					lastSnap = complete;
+					if (ASYNC_SNAPSHOT)
+						snapshotWriter.reset(lastSnap);
 					complete = complete.newEmptyDelta();
 					workspace.tree = complete;
 				}
@@ -1230,6 +1443,8 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 							monitor.worked(1);
 							break;
 					}
+					// write the property changes that are pending in write-behind mode
+					workspace.getPropertyManager().save();
 					// save contexts
 					commit(contexts);
 					if (kind == ISaveContext.FULL_SAVE)
@@ -1391,7 +1606,7 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 			try (
 				DataOutputStream output = new DataOutputStream(new SafeFileOutputStream(treeLocation.toOSString(), tempLocation.toOSString()));
 			) {
-				output.writeInt(ICoreConstants.WORKSPACE_TREE_VERSION_2);
+				output.writeInt(TREE_SECTIONS ? ICoreConstants.WORKSPACE_TREE_VERSION_3 : ICoreConstants.WORKSPACE_TREE_VERSION_2);
 				writeTree(computeStatesToSave(contexts, workspace.getElementTree()), output, monitor);
 			}
 		} catch (Exception e) {
@@ -1416,6 +1631,13 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 	@Override
 	public void shareStrings(StringPool pool) {
 		lastSnap.shareStrings(pool);
+		if (ResourceInfoPacker.ENABLED) {
+			long start = System.currentTimeMillis();
+			ResourceInfoPacker packer = new ResourceInfoPacker();
+			workspace.getElementTree().packData(packer);
+			if (Policy.DEBUG_STRINGS)
+				Policy.debug("Packed " + packer.getPackedCount() + " resource infos in: " + (System.currentTimeMillis() - start)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 	}
 
 	@Override
@@ -1429,6 +1651,28 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 			snapshotJob.run(SubMonitor.convert(monitor));
 		// cancel the snapshot job
 		snapshotJob.cancel();
+		// projects that have not been restored yet don't need to be restored anymore,
+		// as their metadata on disk is unchanged
+		deferredRestoreJob.cancel();
+		try {
+			deferredRestoreJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (deferredRestores) {
+			deferredRestores.clear();
+			hasDeferredRestores = false;
+		}
+		// finish writing the last snapshot
+		if (ASYNC_SNAPSHOT) {
+			snapshotWriter.schedule();
+			try {
+				snapshotWriter.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			snapshotWriter.reset(null);
+		}
 	}
 
 	/**
@@ -1478,6 +1722,19 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 			if (tree == lastSnap)
 				return;
 			operationCount = 0;
+			if (ASYNC_SNAPSHOT) {
+				// only capture the state here, the delta is written without holding the workspace lock
+				ByteArrayOutputStream fields = new ByteArrayOutputStream();
+				try (DataOutputStream out = new DataOutputStream(fields)) {
+					writeWorkspaceFields(out, subMonitor);
+				} catch (IOException e) {
+					// cannot happen for in-memory streams
+					throw new ResourceException(IResourceStatus.FAILED_WRITE_METADATA, Path.ROOT, e.getMessage(), e);
+				}
+				snapshotWriter.write(tree, fields.toByteArray());
+				lastSnap = tree;
+				return;
+			}
 			IPath snapPath = workspace.getMetaArea().getSnapshotLocationFor(workspace.getRoot());
 			ElementTreeWriter writer = new ElementTreeWriter(this);
 			java.io.File localFile = snapPath.toFile();
@@ -1997,9 +2254,12 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 	 * <li> Builder info for all the builders of all the other project's buildConfigs </li>
 	 * <li> The names of the buildConfigs for each of the builders </li>
 	 * </ul>
-	 * This format is designed to work with WorkspaceTreeReader versions 2.
+	 * This format is designed to work with WorkspaceTreeReader versions 2, or with
+	 * version 3 if {@link #TREE_SECTIONS} is set, in which case the trees are
+	 * written by {@link #writeTreeSections(ElementTree[], DataOutputStream)}.
 	 *
 	 * @see WorkspaceTreeReader_2
+	 * @see WorkspaceTreeReader_3
 	 */
 	protected void writeTree(Map<String, ElementTree> statesToSave, DataOutputStream output, IProgressMonitor monitor)
 			throws IOException, CoreException {
@@ -2049,10 +2309,14 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 			trees.add(current);
 
 			/* save the forest! */
-			ElementTreeWriter writer = new ElementTreeWriter(this);
 			ElementTree[] treesToSave = trees.toArray(new ElementTree[trees.size()]);
-			writer.writeDeltaChain(treesToSave, Path.ROOT, ElementTreeWriter.D_INFINITE, output,
-					ResourceComparator.getSaveComparator());
+			if (TREE_SECTIONS) {
+				writeTreeSections(treesToSave, output);
+			} else {
+				ElementTreeWriter writer = new ElementTreeWriter(this);
+				writer.writeDeltaChain(treesToSave, Path.ROOT, ElementTreeWriter.D_INFINITE, output,
+						ResourceComparator.getSaveComparator());
+			}
 			subMonitor.worked(4);
 
 			// Since 3.7: Save the additional builders info
@@ -2070,6 +2334,78 @@ public class SaveManager implements IElementInfoFlattener, IManager, IStringPool
 		}
 	}
 
+	/**
+	 * Writes the given chain of workspace trees as independent sections: one for
+	 * the root node, followed by one for each project that exists in any of the
+	 * trees. The sections are encoded in parallel and deflated unless
+	 * {@link #UNCOMPRESSED_TREE_SECTIONS} is set. Each section is prefixed with its
+	 * length, so that they can be decoded in parallel by {@link WorkspaceTreeReader_3}.
+	 */
+	protected void writeTreeSections(ElementTree[] trees, DataOutputStream output) throws IOException {
+		Set<String> projectNames = new TreeSet<>();
+		for (ElementTree tree : trees)
+			Collections.addAll(projectNames, tree.getNamesOfChildren(Path.ROOT));
+		List<IPath> sectionPaths = new ArrayList<>(projectNames.size() + 1);
+		sectionPaths.add(Path.ROOT);
+		for (String projectName : projectNames)
+			sectionPaths.add(Path.ROOT.append(projectName));
+
+		boolean compress = !UNCOMPRESSED_TREE_SECTIONS;
+		// See visitAndSave(IResource) for why a private pool is used
+		ForkJoinPool forkJoinPool = new ForkJoinPool(ForkJoinPool.getCommonPoolParallelism(),
+				pool -> new ForkJoinWorkerThread(pool) {
+					// anonymous subclass to access protected constructor
+				}, null, false);
+		byte[][] sections;
+		try {
+			sections = forkJoinPool.submit(() -> sectionPaths.parallelStream().map(path -> {
+				try {
+					return writeTreeSection(trees, path, compress);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}).toArray(byte[][]::new)).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException)
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			throw new IOException(e.getCause());
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		output.writeBoolean(compress);
+		output.writeInt(sections.length);
+		for (byte[] section : sections) {
+			output.writeInt(section.length);
+			output.write(section);
+		}
+	}
+
+	/**
+	 * Returns the chain of the given trees, restricted to the given path, as written
+	 * by {@link ElementTreeWriter#writeDeltaChain(ElementTree[], IPath, int, DataOutput, IElementComparator)}.
+	 * Only the node itself is written for the root path.
+	 */
+	private byte[] writeTreeSection(ElementTree[] trees, IPath path, boolean compress) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+		try {
+			OutputStream target = compress ? new DeflaterOutputStream(bytes, deflater) : bytes;
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(target))) {
+				int depth = path.isRoot() ? 0 : ElementTreeWriter.D_INFINITE;
+				// the data tree writer keeps the output in a field, so every section gets its own writer
+				new ElementTreeWriter(this).writeDeltaChain(trees, path, depth, output, ResourceComparator.getSaveComparator());
+			}
+		} finally {
+			if (deflater != null)
+				deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+
 	/**
 	 * Attempts to save all the trees for the given project. This includes the current
 	 * workspace tree and a tree for each builder that has previously built state information.
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.resources;
+
+import java.io.*;
+import org.eclipse.core.internal.events.ResourceComparator;
+import org.eclipse.core.internal.localstore.SafeChunkyOutputStream;
+import org.eclipse.core.internal.utils.Messages;
+import org.eclipse.core.internal.utils.Policy;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.internal.watson.ElementTreeWriter;
+import org.eclipse.core.resources.IResourceStatus;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Writes snapshots of the workspace tree without holding the workspace lock.
+ * <p>
+ * The save manager hands over detached copies of the immutable workspace tree
+ * (see {@link ElementTree#detachedCopy()}) while it holds the lock. This job
+ * appends the delta between the last tree it has written and the newest tree it
+ * was given to the snapshot file. Trees that are handed over while a delta is
+ * being written are coalesced, and a delta that could not be written is included
+ * in the next one, so that the chain of deltas in the snapshot file always
+ * applies to the last saved tree.
+ * </p>
+ */
+public class SnapshotWriterJob extends Job {
+	private final SaveManager saveManager;
+	private final Workspace workspace;
+
+	/**
+	 * The workspace fields to write with the pending tree.
+	 * This field is guarded by <code>this</code>.
+	 */
+	private byte[] pendingFields;
+
+	/**
+	 * The newest tree that has been handed over, or <code>null</code> if all of them
+	 * have been written. This field is guarded by <code>this</code>.
+	 */
+	private ElementTree pendingTree;
+
+	/**
+	 * The last tree that is contained in the snapshot file.
+	 * This field is guarded by <code>this</code>.
+	 */
+	private ElementTree writtenTree;
+
+	public SnapshotWriterJob(SaveManager manager, Workspace workspace) {
+		super(Messages.resources_snapshot);
+		this.saveManager = manager;
+		this.workspace = workspace;
+		setSystem(true);
+	}
+
+	/**
+	 * Discards all pending trees and waits until a snapshot that is currently being
+	 * written is finished. Afterwards, snapshots are written relative to the
+	 * given tree, which must be contained in the saved workspace tree.
+	 *
+	 * @param tree an immutable tree, or <code>null</code> to stop writing snapshots
+	 */
+	void reset(ElementTree tree) {
+		synchronized (this) {
+			pendingTree = null;
+			pendingFields = null;
+			// makes a snapshot that is being written drop its results
+			writtenTree = null;
+		}
+		cancel();
+		try {
+			join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		ElementTree detached = tree == null ? null : tree.detachedCopy();
+		synchronized (this) {
+			writtenTree = detached;
+		}
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		ElementTree newer, older;
+		byte[] fields;
+		synchronized (this) {
+			newer = pendingTree;
+			older = writtenTree;
+			fields = pendingFields;
+			pendingTree = null;
+			pendingFields = null;
+		}
+		if (newer == null || older == null)
+			return Status.OK_STATUS;
+		long start = System.currentTimeMillis();
+		java.io.File localFile = workspace.getMetaArea().getSnapshotLocationFor(workspace.getRoot()).toFile();
+		try {
+			SafeChunkyOutputStream safeStream = new SafeChunkyOutputStream(localFile);
+			try (DataOutputStream out = new DataOutputStream(safeStream)) {
+				out.writeInt(ICoreConstants.WORKSPACE_TREE_VERSION_2);
+				out.write(fields);
+				new ElementTreeWriter(saveManager).writeDelta(newer, older, Path.ROOT, ElementTreeWriter.D_INFINITE, out, ResourceComparator.getSaveComparator());
+				safeStream.succeed();
+			}
+		} catch (IOException e) {
+			// the next snapshot contains these changes as well
+			synchronized (this) {
+				if (pendingTree == null && writtenTree == older) {
+					pendingTree = newer;
+					pendingFields = fields;
+				}
+			}
+			String message = NLS.bind(Messages.resources_writeWorkspaceMeta, localFile.getAbsolutePath());
+			return new ResourceStatus(IResourceStatus.FAILED_WRITE_METADATA, Path.ROOT, message, e);
+		}
+		synchronized (this) {
+			// don't overwrite a tree set by reset
+			if (writtenTree == older)
+				writtenTree = newer;
+		}
+		if (Policy.DEBUG_SAVE_TREE)
+			Policy.debug("Snapshot Workspace Tree (background): " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Hands over a tree to be written to the snapshot file. Must be called while
+	 * holding the workspace lock.
+	 *
+	 * @param tree the immutable workspace tree
+	 * @param fields the serialized workspace fields at the time of the tree
+	 */
+	void write(ElementTree tree, byte[] fields) {
+		ElementTree detached = tree.detachedCopy();
+		synchronized (this) {
+			pendingTree = detached;
+			pendingFields = fields;
+		}
+		schedule();
+	}
+}
@@ -126,6 +126,7 @@ public class Synchronizer implements ISynchronizer {
 			throw new ResourceException(new ResourceStatus(IResourceStatus.PARTNER_NOT_REGISTERED, message));
 		}
 
+		workspace.getSaveManager().restoreDeferred(resource);
 		// namespace check, if the resource doesn't exist then return null
 		ResourceInfo info = workspace.getResourceInfo(resource.getFullPath(), true, false);
 		return (info == null) ? null : info.getSyncInfo(partner, true);
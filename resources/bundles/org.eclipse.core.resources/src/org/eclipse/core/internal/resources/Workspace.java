@@ -26,6 +26,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
@@ -129,6 +130,12 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 	protected final AtomicLong nextNodeId = new AtomicLong(1L);
 
 	protected NotificationManager notificationManager;
+
+	/**
+	 * The resource deltas of builds, flushed by the build manager and the
+	 * notification manager.
+	 */
+	protected ResourceDeltaCache deltaCache;
 	protected boolean openFlag = false;
 	protected ElementTree operationTree; // tree at the start of the current operation
 	protected PathVariableManager pathVariableManager;
@@ -189,6 +196,13 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 	 */
 	protected volatile Thread treeLocked = null;
 
+	/**
+	 * The threads that notify concurrent resource change listeners on behalf of
+	 * the thread that has locked the tree. Like that thread, they must not
+	 * modify the workspace.
+	 */
+	private final Set<Thread> treeLockedNotifiers = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * The currently installed file modification validator.
 	 */
@@ -1555,6 +1569,10 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 		return buildManager;
 	}
 
+	public ResourceDeltaCache getDeltaCache() {
+		return deltaCache;
+	}
+
 	/**
 	 * Returns the order in which open projects in this workspace will be built.
 	 * The result returned is a list of project buildConfigs, that need to be built
@@ -1979,7 +1997,8 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 
 	@Override
 	public boolean isTreeLocked() {
-		return treeLocked == Thread.currentThread();
+		Thread current = Thread.currentThread();
+		return treeLocked == current || treeLockedNotifiers.contains(current);
 	}
 
 	/**
@@ -2333,6 +2352,9 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 			String message = Messages.resources_workspaceClosed;
 			throw new ResourceException(IResourceStatus.OPERATION_FAILED, null, message, null);
 		}
+		// markers and sync info may be modified or saved by the operation, accessing
+		// them without a rule restores the project of the resource that is accessed
+		saveManager.restoreDeferred(rule);
 	}
 
 	protected boolean refreshRequested() {
@@ -2361,6 +2383,49 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 		saveManager.removeParticipant(pluginId);
 	}
 
+	@Override
+	public void replaceMarkers(String type, Map<? extends IResource, ? extends Collection<? extends Map<String, ? extends Object>>> markers) throws CoreException {
+		Assert.isNotNull(type);
+		Assert.isNotNull(markers);
+		if (markers.isEmpty())
+			return;
+		// copy to avoid outside changes
+		IResource[] resources = markers.keySet().toArray(new IResource[markers.size()]);
+		ISchedulingRule[] rules = new ISchedulingRule[resources.length];
+		for (int i = 0; i < resources.length; i++)
+			rules[i] = getRuleFactory().markerRule(resources[i]);
+		final ISchedulingRule rule = MultiRule.combine(rules);
+		try {
+			prepareOperation(rule, null);
+			for (IResource resource : resources) {
+				Resource target = (Resource) resource;
+				target.checkAccessible(target.getFlags(target.getResourceInfo(false, false)));
+			}
+			beginOperation(true);
+			boolean validate = markerManager.isPersistentType(type);
+			long creationTime = System.currentTimeMillis();
+			// create all markers first, so that invalid attributes do not leave the markers half replaced
+			MarkerInfo[][] newMarkers = new MarkerInfo[resources.length][];
+			// markers with equal attributes share the storage of their attributes
+			Map<Map<String, ? extends Object>, MarkerAttributeMap> attributeMaps = new HashMap<>();
+			for (int i = 0; i < resources.length; i++) {
+				Collection<? extends Map<String, ? extends Object>> attributes = markers.get(resources[i]);
+				List<MarkerInfo> infos = new ArrayList<>(attributes == null ? 0 : attributes.size());
+				if (attributes != null) {
+					for (Map<String, ? extends Object> map : attributes) {
+						MarkerAttributeMap shared = attributeMaps.computeIfAbsent(map == null ? Collections.emptyMap() : map, m -> new MarkerAttributeMap(m, validate));
+						infos.add(new MarkerInfo(new MarkerAttributeMap(shared), creationTime, type, nextMarkerId()));
+					}
+				}
+				newMarkers[i] = infos.toArray(new MarkerInfo[infos.size()]);
+			}
+			for (int i = 0; i < resources.length; i++)
+				markerManager.replaceMarkers(resources[i], type, newMarkers[i]);
+		} finally {
+			endOperation(rule, false);
+		}
+	}
+
 	@Override
 	public void run(ICoreRunnable action, IProgressMonitor monitor) throws CoreException {
 		run(action, defaultRoot, IWorkspace.AVOID_UPDATE, monitor);
@@ -2469,6 +2534,18 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 		treeLocked = locked ? Thread.currentThread() : null;
 	}
 
+	/**
+	 * Marks the current thread as notifying resource change listeners on behalf
+	 * of another thread. While it is marked, the tree is locked for the current
+	 * thread regardless of {@link #setTreeLocked(boolean)}.
+	 */
+	public void setTreeLockedNotifier(boolean notifying) {
+		if (notifying)
+			treeLockedNotifiers.add(Thread.currentThread());
+		else
+			treeLockedNotifiers.remove(Thread.currentThread());
+	}
+
 	/**
 	 * Shuts down the workspace managers.
 	 */
@@ -2497,6 +2574,9 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 			}
 			buildManager = null;
 			notificationManager = null;
+			if (deltaCache != null)
+				deltaCache.flush();
+			deltaCache = null;
 			propertyManager = null;
 			pathVariableManager = null;
 			fileSystemManager = null;
@@ -2536,6 +2616,7 @@ public class Workspace extends PlatformObject implements IWorkspace, ICoreConsta
 			natureManager.startup(null);
 			filterManager = new FilterTypeManager();
 			filterManager.startup(null);
+			deltaCache = new ResourceDeltaCache();
 			buildManager = new BuildManager(this, getWorkManager().getLock());
 			buildManager.startup(null);
 			notificationManager = new NotificationManager(this);
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.resources;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.zip.InflaterInputStream;
+import org.eclipse.core.internal.utils.Messages;
+import org.eclipse.core.internal.utils.Policy;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.internal.watson.ElementTreeReader;
+import org.eclipse.core.internal.watson.ElementTreeReader.UnlinkedChain;
+import org.eclipse.core.runtime.*;
+
+/**
+ * Reads version 3 of the workspace tree file format.
+ *
+ * This version differs from version 2 only in the way the chain of workspace
+ * trees is stored. Instead of a single chain for the whole workspace, there is
+ * one section containing the chain for the root node, and one section for each
+ * project, written by {@link SaveManager#writeTreeSections(ElementTree[], DataOutputStream)}.
+ * The sections are optionally deflated and can be decoded in parallel.
+ * <p>
+ * Trees of single projects and snapshots are still written in version 2.
+ * </p>
+ */
+public class WorkspaceTreeReader_3 extends WorkspaceTreeReader_2 {
+
+	public WorkspaceTreeReader_3(Workspace workspace) {
+		super(workspace);
+	}
+
+	@Override
+	protected int getVersion() {
+		return ICoreConstants.WORKSPACE_TREE_VERSION_3;
+	}
+
+	/**
+	 * Reads the sections of the workspace tree and combines them.
+	 * Overrides {@link WorkspaceTreeReader_1#readTrees(IPath, DataInputStream, IProgressMonitor)}
+	 */
+	@Override
+	protected ElementTree[] readTrees(IPath root, DataInputStream input, IProgressMonitor monitor) throws IOException {
+		if (!root.isRoot())
+			return super.readTrees(root, input, monitor);
+		monitor = Policy.monitorFor(monitor);
+		try {
+			String message = Messages.resources_reading;
+			monitor.beginTask(message, 4);
+			boolean compressed = input.readBoolean();
+			int sectionCount = input.readInt();
+			if (sectionCount < 1)
+				throw new IOException(Messages.resources_readProjectTree);
+			byte[][] sections = new byte[sectionCount][];
+			for (int i = 0; i < sectionCount; i++) {
+				sections[i] = new byte[input.readInt()];
+				input.readFully(sections[i]);
+			}
+			monitor.worked(1);
+
+			ElementTreeReader treeReader = new ElementTreeReader(workspace.getSaveManager());
+			UnlinkedChain[] chains = readSections(treeReader, sections, compressed);
+			ElementTree[] trees = treeReader.linkDeltaChains(chains[0], Arrays.copyOfRange(chains, 1, chains.length));
+			monitor.worked(2);
+
+			//Don't need to link because we're reading the whole workspace.
+			//The last tree in the chain is the complete tree.
+			ElementTree newTree = trees[trees.length - 1];
+			newTree.setTreeData(workspace.tree.getTreeData());
+			workspace.tree = newTree;
+			monitor.worked(1);
+			return trees;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Decodes the given sections in parallel.
+	 */
+	private UnlinkedChain[] readSections(ElementTreeReader treeReader, byte[][] sections, boolean compressed) throws IOException {
+		// See SaveManager#visitAndSave(IResource) for why a private pool is used
+		ForkJoinPool forkJoinPool = new ForkJoinPool(ForkJoinPool.getCommonPoolParallelism(),
+				pool -> new ForkJoinWorkerThread(pool) {
+					// anonymous subclass to access protected constructor
+				}, null, false);
+		try {
+			return forkJoinPool.submit(() -> Arrays.stream(sections).parallel().map(section -> {
+				InputStream in = new ByteArrayInputStream(section);
+				if (compressed)
+					in = new InflaterInputStream(in);
+				try (DataInputStream sectionInput = new DataInputStream(new BufferedInputStream(in))) {
+					return treeReader.readUnlinkedDeltaChain(sectionInput);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}).toArray(UnlinkedChain[]::new)).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException)
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			throw new IOException(e.getCause());
+		} finally {
+			forkJoinPool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.resources.refresh.nio;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.utils.Messages;
+import org.eclipse.core.internal.utils.Policy;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.resources.refresh.IRefreshMonitor;
+import org.eclipse.core.resources.refresh.IRefreshResult;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+import org.osgi.framework.Bundle;
+
+/**
+ * A monitor that registers every directory below the monitored roots with a
+ * <code>java.nio.file.WatchService</code>. Events that arrive while the job
+ * is running are coalesced into one refresh request per changed resource.
+ * <p>
+ * When a directory cannot be registered (typically because the inotify watch
+ * limit of the user has been reached), monitoring of the affected root is
+ * abandoned and reported as failed, so that the refresh manager falls back
+ * to polling for that root only.
+ */
+class NioMonitor extends Job implements IRefreshMonitor {
+	/**
+	 * The delay between invocations of the refresh job.
+	 */
+	private static final long RESCHEDULE_DELAY = 500;
+	/**
+	 * The time to wait for the first watch key in each run of the job.
+	 */
+	private static final long POLL_TIMEOUT = 1000;
+	private static final String DEBUG_PREFIX = "NioRefreshMonitor: "; //$NON-NLS-1$
+
+	/**
+	 * A directory registered with the watch service, together with the
+	 * monitored root it belongs to.
+	 */
+	private static class WatchedDirectory {
+		final Path directory;
+		final IResource root;
+		final Path rootDirectory;
+
+		WatchedDirectory(IResource root, Path rootDirectory, Path directory) {
+			this.root = root;
+			this.rootDirectory = rootDirectory;
+			this.directory = directory;
+		}
+
+		/**
+		 * Returns the container corresponding to this directory.
+		 */
+		IContainer getContainer() {
+			if (directory.equals(rootDirectory))
+				return (IContainer) root;
+			return ((IContainer) root).getFolder(new org.eclipse.core.runtime.Path(rootDirectory.relativize(directory).toString()));
+		}
+
+		/**
+		 * Returns the resource corresponding to the given child of this directory,
+		 * or <code>null</code> if it exists neither in the workspace nor on disk.
+		 */
+		IResource getChild(Path child) {
+			IContainer parent = getContainer();
+			String name = child.getFileName().toString();
+			IResource member = parent.findMember(name);
+			if (member != null)
+				return member;
+			if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS))
+				return parent.getFolder(new org.eclipse.core.runtime.Path(name));
+			if (Files.exists(child, LinkOption.NOFOLLOW_LINKS))
+				return parent.getFile(new org.eclipse.core.runtime.Path(name));
+			return null;
+		}
+	}
+
+	/**
+	 * Mapping of watch keys to the directories they were registered for.
+	 * This field is guarded by <code>this</code>.
+	 */
+	private final Map<WatchKey, WatchedDirectory> keys = new HashMap<>();
+	/**
+	 * Mapping of monitored roots to their location on disk.
+	 * This field is guarded by <code>this</code>.
+	 */
+	private final Map<IResource, Path> roots = new HashMap<>();
+	protected final IRefreshResult refreshResult;
+	/**
+	 * The watch service, created when the first root is monitored.
+	 * This field is guarded by <code>this</code>.
+	 */
+	private WatchService watchService;
+
+	/*
+	 * Creates a new monitor. @param result A result that will receive refresh
+	 * callbacks and error notifications
+	 */
+	public NioMonitor(IRefreshResult result) {
+		super(Messages.NM_jobName);
+		this.refreshResult = result;
+		setPriority(Job.DECORATE);
+		setSystem(true);
+	}
+
+	/**
+	 * Cancels all watch keys that belong to the given root. Must be
+	 * called while holding the monitor lock.
+	 */
+	private void cancelKeys(IResource root) {
+		for (Iterator<Map.Entry<WatchKey, WatchedDirectory>> it = keys.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<WatchKey, WatchedDirectory> entry = it.next();
+			if (entry.getValue().root.equals(root)) {
+				entry.getKey().cancel();
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Stops monitoring the given root and tells the refresh manager to
+	 * take over with polling.
+	 */
+	private void failed(IResource root, IOException e) {
+		unmonitor(root);
+		Policy.log(IStatus.WARNING, NLS.bind(Messages.NM_errRegister, root.getFullPath()), e);
+		refreshResult.monitorFailed(this, root);
+	}
+
+	/**
+	 * Adds a resource to be monitored by this monitor. Returns <code>false</code>
+	 * if the resource cannot be monitored, in which case no watch remains
+	 * registered for it.
+	 */
+	public boolean monitor(IResource resource, IProgressMonitor progressMonitor) {
+		IPath location = resource.getLocation();
+		if (location == null) {
+			// cannot monitor remotely managed containers
+			return false;
+		}
+		Path rootDirectory = location.toFile().toPath();
+		if (!Files.isDirectory(rootDirectory))
+			return false;
+		// synchronized: registration of a root must be atomic
+		synchronized (this) {
+			if (roots.containsKey(resource))
+				return true;
+			try {
+				if (watchService == null)
+					watchService = rootDirectory.getFileSystem().newWatchService();
+				registerTree(resource, rootDirectory, rootDirectory);
+			} catch (IOException e) {
+				//leave the resource to the polling monitor
+				cancelKeys(resource);
+				if (Policy.DEBUG_AUTO_REFRESH)
+					Policy.debug(DEBUG_PREFIX + " failed to monitor: " + resource + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+				return false;
+			}
+			roots.put(resource, rootDirectory);
+		}
+		//make sure the job is running
+		schedule(RESCHEDULE_DELAY);
+		if (Policy.DEBUG_AUTO_REFRESH)
+			Policy.debug(DEBUG_PREFIX + " added monitor for: " + resource); //$NON-NLS-1$
+		return true;
+	}
+
+	/**
+	 * Requests a refresh of the given resource unless it is already in sync.
+	 */
+	private void postRefreshRequest(IResource resource) {
+		//the watch service also reports changes that were made through the workspace
+		if (!resource.isSynchronized(IResource.DEPTH_INFINITE))
+			refreshResult.refresh(resource);
+	}
+
+	/**
+	 * Handles all events of the given key, adding the resources that need
+	 * refreshing to the given set.
+	 */
+	private void processEvents(WatchKey key, Set<IResource> toRefresh) {
+		WatchedDirectory watched;
+		synchronized (this) {
+			watched = keys.get(key);
+		}
+		if (watched == null) {
+			key.cancel();
+			return;
+		}
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				//events were lost, refresh the whole root
+				toRefresh.add(watched.root);
+				continue;
+			}
+			Path child = watched.directory.resolve((Path) event.context());
+			if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+				try {
+					synchronized (this) {
+						if (!roots.containsKey(watched.root))
+							return;
+						registerTree(watched.root, watched.rootDirectory, child);
+					}
+				} catch (IOException e) {
+					failed(watched.root, e);
+					return;
+				}
+			}
+			IResource resource = watched.getChild(child);
+			if (resource != null)
+				toRefresh.add(resource);
+		}
+		if (!key.reset()) {
+			//the directory is no longer accessible
+			synchronized (this) {
+				keys.remove(key);
+			}
+			toRefresh.add(watched.getContainer());
+		}
+	}
+
+	/**
+	 * Registers the given directory and all directories below it. Must be
+	 * called while holding the monitor lock.
+	 */
+	private void registerTree(IResource root, Path rootDirectory, Path start) throws IOException {
+		Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+				keys.put(key, new WatchedDirectory(root, rootDirectory, dir));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException exc) {
+				//unreadable directories cannot be watched, and their contents are not visible to refresh either
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		long start = -System.currentTimeMillis();
+		if (Policy.DEBUG_AUTO_REFRESH)
+			Policy.debug(DEBUG_PREFIX + "job started."); //$NON-NLS-1$
+		WatchService service;
+		synchronized (this) {
+			service = watchService;
+		}
+		if (service == null)
+			return Status.OK_STATUS;
+		Set<IResource> toRefresh = new LinkedHashSet<>();
+		try {
+			WatchKey key = service.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+			// drain everything that is pending so that bursts end up in one batch
+			while (key != null && !monitor.isCanceled()) {
+				processEvents(key, toRefresh);
+				key = service.poll();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			//all roots have been unmonitored, but changes seen before that still count
+			for (IResource resource : toRefresh)
+				postRefreshRequest(resource);
+			return Status.OK_STATUS;
+		}
+		for (IResource resource : toRefresh)
+			postRefreshRequest(resource);
+		start += System.currentTimeMillis();
+		if (Policy.DEBUG_AUTO_REFRESH)
+			Policy.debug(DEBUG_PREFIX + "job finished in: " + start + "ms, " + toRefresh.size() + " refresh requests"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final Bundle bundle = Platform.getBundle(ResourcesPlugin.PI_RESOURCES);
+		//if the bundle is null then the framework has shutdown - just bail out completely (bug 98219)
+		if (bundle == null)
+			return Status.OK_STATUS;
+		//don't reschedule the job if the resources plugin has been shut down
+		if (bundle.getState() == Bundle.ACTIVE && !monitor.isCanceled())
+			schedule(RESCHEDULE_DELAY);
+		return Status.OK_STATUS;
+	}
+
+	@Override
+	public synchronized boolean shouldRun() {
+		return !roots.isEmpty();
+	}
+
+	@Override
+	public void unmonitor(IResource resource) {
+		synchronized (this) {
+			if (resource == null) {
+				// resource == null means stop monitoring all resources
+				for (WatchKey key : keys.keySet())
+					key.cancel();
+				keys.clear();
+				roots.clear();
+			} else {
+				cancelKeys(resource);
+				roots.remove(resource);
+			}
+			if (roots.isEmpty() && watchService != null) {
+				try {
+					watchService.close();
+				} catch (IOException e) {
+					Policy.log(IStatus.WARNING, Messages.NM_errClose, e);
+				}
+				watchService = null;
+			}
+		}
+		//stop the job if there are no more roots
+		if (!shouldRun())
+			cancel();
+	}
+}
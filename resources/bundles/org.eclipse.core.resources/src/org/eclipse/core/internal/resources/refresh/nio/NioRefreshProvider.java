@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.resources.refresh.nio;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.refresh.*;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * The <code>NioRefreshProvider</code> creates monitors based on
+ * <code>java.nio.file.WatchService</code>. It is only used on Linux,
+ * where the JDK backs the watch service with inotify. On other platforms
+ * the JDK either falls back to polling itself or a dedicated native provider
+ * exists, so <code>null</code> is returned and other providers (or the
+ * polling monitor) take over.
+ * <p>
+ * The provider can be turned off by setting the system property
+ * <code>org.eclipse.core.resources.refresh.nio.disable</code> to <code>true</code>.
+ *
+ * @see RefreshProvider
+ */
+public class NioRefreshProvider extends RefreshProvider {
+	private static final boolean ENABLED = Platform.OS_LINUX.equals(Platform.getOS()) && !Boolean.getBoolean("org.eclipse.core.resources.refresh.nio.disable"); //$NON-NLS-1$
+
+	private NioMonitor monitor;
+
+	/**
+	 * Creates a watch service based monitor if the given resource is
+	 * a container in the local file system.
+	 *
+	 * @see RefreshProvider#installMonitor(IResource,IRefreshResult, IProgressMonitor)
+	 */
+	@Override
+	public IRefreshMonitor installMonitor(IResource resource, IRefreshResult result, IProgressMonitor progressMonitor) {
+		if (!ENABLED)
+			return null;
+		if (resource.getLocation() == null || !resource.exists() || resource.getType() == IResource.FILE)
+			return null;
+		if (!EFS.SCHEME_FILE.equals(resource.getLocationURI().getScheme()))
+			return null;
+		synchronized (this) {
+			if (monitor == null)
+				monitor = new NioMonitor(result);
+		}
+		if (monitor.monitor(resource, progressMonitor))
+			return monitor;
+		return null;
+	}
+}
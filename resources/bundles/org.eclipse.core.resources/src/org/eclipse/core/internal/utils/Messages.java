@@ -37,6 +37,7 @@ public class Messages extends NLS {
 	public static String events_builderError;
 	public static String events_building_0;
 	public static String events_building_1;
+	public static String events_concurrentListenerBlocked;
 	public static String events_errors;
 	public static String events_instantiate_1;
 	public static String events_invoking_1;
@@ -149,6 +150,7 @@ public class Messages extends NLS {
 	public static String properties_couldNotClose;
 	public static String properties_qualifierIsNull;
 	public static String properties_readProperties;
+	public static String properties_saving;
 	public static String properties_valueTooLong;
 
 	// auto-refresh
@@ -273,6 +275,7 @@ public class Messages extends NLS {
 	public static String resources_resetMarkers;
 	public static String resources_resetSync;
 	public static String resources_resourcePath;
+	public static String resources_restoringProjects;
 	public static String resources_saveOp;
 	public static String resources_saveProblem;
 	public static String resources_saveWarnings;
@@ -333,6 +336,11 @@ public class Messages extends NLS {
 	public static String WM_nativeErr;
 	public static String WM_mutexAbandoned;
 
+	// auto-refresh watch service
+	public static String NM_errClose;
+	public static String NM_errRegister;
+	public static String NM_jobName;
+
 	public static String updateUnknownNatureMarkers;
 
 	static {
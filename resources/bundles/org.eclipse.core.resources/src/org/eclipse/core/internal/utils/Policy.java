@@ -32,6 +32,8 @@ public class Policy {
 
 			DEBUG_AUTO_REFRESH = DEBUG && options.getBooleanOption(ResourcesPlugin.PI_RESOURCES + "/refresh", false); //$NON-NLS-1$
 
+			DEBUG_BUCKETS = DEBUG && options.getBooleanOption(ResourcesPlugin.PI_RESOURCES + "/buckets", false); //$NON-NLS-1$
+
 			DEBUG_BUILD_DELTA = DEBUG && options.getBooleanOption(ResourcesPlugin.PI_RESOURCES + "/build/delta", false); //$NON-NLS-1$
 			DEBUG_BUILD_CYCLE = DEBUG && options.getBooleanOption(ResourcesPlugin.PI_RESOURCES + "/build/cycle", false); //$NON-NLS-1$
 			DEBUG_BUILD_FAILURE = DEBUG && options.getBooleanOption(ResourcesPlugin.PI_RESOURCES + "/build/failure", false); //$NON-NLS-1$
@@ -74,6 +76,8 @@ public class Policy {
 
 	public static boolean DEBUG_AUTO_REFRESH = false;
 
+	public static boolean DEBUG_BUCKETS = false;
+
 	//debug constants
 	public static boolean DEBUG_BUILD_DELTA = false;
 	public static boolean DEBUG_BUILD_CYCLE = false;
@@ -278,6 +278,21 @@ public class ElementTree {
 		return new IllegalArgumentException(NLS.bind(Messages.watson_elementNotFound, key));
 	}
 
+	/**
+	 * Returns an immutable tree with the same contents as this tree that
+	 * has no parent and shares all nodes with this tree. Unlike this tree,
+	 * the copy is not restructured when the delta chain is rerooted, so it
+	 * can be read by other threads while this chain is being modified.
+	 * This tree must be immutable.
+	 */
+	public synchronized ElementTree detachedCopy() {
+		Assert.isTrue(tree.isImmutable());
+		// cheap if this is the complete tree at the root of its chain
+		ElementTree result = new ElementTree(new DeltaDataTree(tree.copyCompleteSubtree(Path.ROOT)));
+		result.immutable();
+		return result;
+	}
+
 	/**
 	 * Given an array of element trees, returns the index of the
 	 * oldest tree.  The oldest tree is the tree such that no
@@ -675,6 +690,20 @@ public class ElementTree {
 		return null;
 	}
 
+	/**
+	 * Packs the data of the immutable layers of this tree with the given packer.
+	 * If this tree is mutable, only its parents are packed.
+	 *
+	 * @see DeltaDataTree#packData(IDataPacker)
+	 */
+	public synchronized void packData(IDataPacker packer) {
+		// cached lookups may refer to data objects that are about to be packed
+		lookupCache = lookupCacheIgnoreCase = null;
+		DeltaDataTree immutableTree = tree.isImmutable() ? tree : tree.getParent();
+		if (immutableTree != null)
+			immutableTree.packData(packer);
+	}
+
 	/**
 	 * Sets the element for the given element identifier.
 	 * The given element must be present in this tree.
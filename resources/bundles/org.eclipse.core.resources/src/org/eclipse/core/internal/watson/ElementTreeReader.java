@@ -15,8 +15,8 @@
 package org.eclipse.core.internal.watson;
 
 import java.io.*;
-import org.eclipse.core.internal.dtree.DataTreeReader;
-import org.eclipse.core.internal.dtree.IDataFlattener;
+import java.util.Arrays;
+import org.eclipse.core.internal.dtree.*;
 import org.eclipse.core.internal.utils.Messages;
 import org.eclipse.core.runtime.*;
 
@@ -45,6 +45,26 @@ public class ElementTreeReader {
 	 */
 	protected DataTreeReader dataTreeReader;
 
+	/**
+	 * The data flattener of {@link #dataTreeReader}
+	 */
+	private final IDataFlattener dataFlattener;
+
+	/**
+	 * A chain of trees that has been read for a subtree by
+	 * {@link ElementTreeReader#readUnlinkedDeltaChain(DataInput)}, but not yet
+	 * linked to each other.
+	 */
+	public static final class UnlinkedChain {
+		final int[] order;
+		final DeltaDataTree[] trees;
+
+		UnlinkedChain(int[] order, DeltaDataTree[] trees) {
+			this.order = order;
+			this.trees = trees;
+		}
+	}
+
 	/**
 	 * Constructs a new element tree reader that works for
 	 * the given element info flattener.
@@ -69,6 +89,7 @@ public class ElementTreeReader {
 				return null;
 			}
 		};
+		dataFlattener = f;
 		dataTreeReader = new DataTreeReader(f);
 	}
 
@@ -115,6 +136,76 @@ public class ElementTreeReader {
 		return realReader.readDeltaChain(input, newProjectName);
 	}
 
+	/**
+	 * Reads a chain of trees written by
+	 * {@link ElementTreeWriter#writeDeltaChain(ElementTree[], IPath, int, DataOutput, IElementComparator)}
+	 * without linking them to each other. The chains of several disjoint subtrees
+	 * of the same trees can then be combined with {@link #linkDeltaChains(UnlinkedChain, UnlinkedChain[])}.
+	 * Unlike the other methods of this class, this method may be called
+	 * concurrently by several threads.
+	 */
+	public UnlinkedChain readUnlinkedDeltaChain(DataInput input) throws IOException {
+		if (readNumber(input) != ElementTreeWriter.CURRENT_FORMAT)
+			throw new IOException(Messages.watson_unknown);
+		int treeCount = readNumber(input);
+		int[] order = new int[treeCount];
+		for (int i = 0; i < treeCount; i++) {
+			order[i] = readNumber(input);
+		}
+		// the data tree reader keeps the input in a field, so use a private one
+		DataTreeReader reader = new DataTreeReader(dataFlattener);
+		DeltaDataTree[] trees = new DeltaDataTree[treeCount];
+		for (int i = 0; i < treeCount; i++) {
+			if (readNumber(input) != ElementTreeWriter.CURRENT_FORMAT)
+				throw new IOException(Messages.watson_unknown);
+			trees[i] = reader.readTree(null, input, ""); //$NON-NLS-1$
+		}
+		return new UnlinkedChain(order, trees);
+	}
+
+	/**
+	 * Combines chains of trees that have been read separately for the root node
+	 * and for the children of the root node into a single chain, like the one
+	 * returned by {@link #readDeltaChain(DataInput)}.
+	 *
+	 * @param root the chain of trees that contain just the root node
+	 * @param subtrees the chains of trees for distinct children of the root node,
+	 *     written for the same trees as the root chain
+	 * @return the trees in their original order
+	 */
+	public ElementTree[] linkDeltaChains(UnlinkedChain root, UnlinkedChain[] subtrees) throws IOException {
+		int treeCount = root.trees.length;
+		for (UnlinkedChain subtree : subtrees) {
+			if (!Arrays.equals(root.order, subtree.order))
+				throw new IOException(Messages.watson_unknown);
+		}
+		ElementTree[] results = new ElementTree[treeCount];
+		ElementTree parentTree = null;
+		DeltaDataTree[] layer = new DeltaDataTree[subtrees.length];
+		for (int i = 0; i < treeCount; i++) {
+			for (int j = 0; j < subtrees.length; j++) {
+				layer[j] = subtrees[j].trees[i];
+			}
+			if (parentTree == null) {
+				parentTree = new ElementTree(root.trees[i].combineWith(layer, null));
+			} else {
+				DeltaDataTree delta = root.trees[i].combineWith(layer, parentTree.getDataTree());
+				//if the delta is empty, just reuse the parent, see ElementTreeReaderImpl_1#readDelta
+				if (!delta.isEmptyDelta()) {
+					ElementTree tree = new ElementTree(delta);
+					IElementTreeData data = parentTree.getTreeData();
+					if (data != null) {
+						tree.setTreeData((IElementTreeData) data.clone());
+					}
+					delta.immutable();
+					parentTree = tree;
+				}
+			}
+			results[root.order[i]] = parentTree;
+		}
+		return results;
+	}
+
 	/**
 	 * Reads an integer stored in compact format.  Numbers between
 	 * 0 and 254 inclusive occupy 1 byte; other numbers occupy 5 bytes,
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.resources;
+
+/**
+ * A resource change listener that only reads the events it receives, and that
+ * may therefore be notified concurrently with other listeners.
+ * <p>
+ * Listeners implementing this interface are registered like any other resource
+ * change listener. For events that are broadcast while the workspace tree is
+ * locked, such as <code>PRE_CLOSE</code>, <code>PRE_DELETE</code>,
+ * <code>PRE_REFRESH</code> and <code>POST_CHANGE</code>, the workspace may
+ * notify them in a thread other than the one that triggered the notification,
+ * at the same time as other listeners. The notification still ends only after
+ * all listeners have returned. Such listeners must be thread-safe, must not
+ * depend on the order in which listeners are notified, and must not modify the
+ * workspace: {@link IWorkspace#isTreeLocked()} returns <code>true</code> while
+ * they are notified concurrently.
+ * </p>
+ * <p>
+ * Build events, <code>PRE_BUILD</code> and <code>POST_BUILD</code>, are sent
+ * while other listeners may modify the workspace. Concurrent listeners receive
+ * them in order, in the thread that triggered the notification, like any other
+ * listener.
+ * </p>
+ * <p>
+ * The thread that triggered the notification waits, without a timeout, until
+ * all listeners have returned. A concurrent listener must therefore never wait
+ * for that thread. In particular, it must not call <code>Display.syncExec</code>:
+ * when changes are broadcast in the UI thread, this deadlocks. Use
+ * <code>Display.asyncExec</code> instead.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @see IWorkspace#addResourceChangeListener(IResourceChangeListener, int)
+ * @since 3.19
+ */
+public interface IConcurrentResourceChangeListener extends IResourceChangeListener {
+	// marker interface
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.resources;
+
+/**
+ * A resource change listener that is only interested in some of the resource
+ * changes in the workspace.
+ * <p>
+ * For events that carry a resource delta, the listener is notified only if the
+ * delta contains changes that match its filter, and it receives a delta that
+ * contains only these changes and their ancestors. Other events are not
+ * filtered. The marker deltas returned by
+ * {@link IResourceChangeEvent#findMarkerDeltas(String, boolean)} are not
+ * filtered either.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @see IWorkspace#addResourceChangeListener(IResourceChangeListener, int)
+ * @since 3.19
+ */
+public interface IFilteredResourceChangeListener extends IResourceChangeListener {
+	/**
+	 * Returns the filter for the resource changes this listener is interested in.
+	 * This method is called once when the listener is added to the workspace;
+	 * the listener must be added again for a new filter to take effect.
+	 *
+	 * @return the filter of this listener
+	 */
+	ResourceChangeFilter getFilter();
+}
@@ -17,6 +17,7 @@ package org.eclipse.core.resources;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Collection;
 import java.util.Map;
 import org.eclipse.core.resources.team.FileModificationValidationContext;
 import org.eclipse.core.runtime.*;
@@ -1094,6 +1095,43 @@ public interface IWorkspace extends IAdaptable {
 	 */
 	void removeSaveParticipant(String pluginId);
 
+	/**
+	 * Replaces the markers of the given type and its subtypes on the given
+	 * resources. For each resource in the map, its existing markers of the given
+	 * type and its subtypes are removed, and a new marker of the given type is
+	 * created for each attribute map of the resource. Markers on other resources
+	 * and markers on descendants of the given resources are not affected.
+	 * <p>
+	 * This method is intended for builders and other clients that report many
+	 * markers at once. It is equivalent to calling
+	 * {@link IResource#deleteMarkers(String, boolean, int)} with
+	 * <code>DEPTH_ZERO</code> and {@link IResource#createMarker(String, Map)}
+	 * for each resource, but runs as a single operation, shares the storage of
+	 * equal attribute maps, and reports a single marker change per resource.
+	 * </p>
+	 * <p>
+	 * This method changes resources; these changes will be reported in a
+	 * subsequent resource change event.
+	 * </p>
+	 *
+	 * @param type the type of the markers to replace
+	 * @param markers a map from resources to the attributes of their new markers;
+	 * an empty collection removes the markers of the given type from the resource
+	 * @exception CoreException if this method fails. Reasons include:
+	 * <ul>
+	 * <li>One of the resources does not exist.</li>
+	 * <li>One of the resources is a project that is not open.</li>
+	 * <li>Resource changes are disallowed during certain types of resource
+	 * change event notification. See <code>IResourceChangeEvent</code> for
+	 * more details.</li>
+	 * </ul>
+	 * @exception IllegalArgumentException if an attribute value is of an
+	 * unsupported type
+	 * @see IResourceRuleFactory#markerRule(IResource)
+	 * @since 3.19
+	 */
+	void replaceMarkers(String type, Map<? extends IResource, ? extends Collection<? extends Map<String, ? extends Object>>> markers) throws CoreException;
+
 	/**
 	 * Runs the given action as an atomic workspace operation.
 	 * <p>
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.resources;
+
+import java.util.*;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Describes the resource changes a {@link IFilteredResourceChangeListener} is
+ * interested in. A resource delta matches the filter if the resource itself has
+ * changed and it satisfies all criteria of the filter:
+ * <ul>
+ * <li>the resource is in one of the projects of the filter, if projects are given;</li>
+ * <li>the full path of the resource starts with one of the paths of the filter,
+ * if paths are given;</li>
+ * <li>the resource is a file with one of the file extensions of the filter, if
+ * file extensions are given;</li>
+ * <li>the kind of the delta is one of the kinds of the filter;</li>
+ * <li>the delta has one of the flags of the filter, if flags are given.</li>
+ * </ul>
+ * <p>
+ * Filters are immutable; the <code>with</code> methods return new filters.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed by clients.
+ * </p>
+ *
+ * @see IFilteredResourceChangeListener
+ * @since 3.19
+ */
+public final class ResourceChangeFilter {
+	private static final ResourceChangeFilter ALL = new ResourceChangeFilter(null, null, null, IResourceDelta.ALL_WITH_PHANTOMS, 0);
+
+	private final Set<String> projects;
+	private final Set<IPath> paths;
+	private final Set<String> fileExtensions;
+	private final int kindMask;
+	private final int flagMask;
+
+	private ResourceChangeFilter(Set<String> projects, Set<IPath> paths, Set<String> fileExtensions, int kindMask, int flagMask) {
+		this.projects = projects;
+		this.paths = paths;
+		this.fileExtensions = fileExtensions;
+		this.kindMask = kindMask;
+		this.flagMask = flagMask;
+	}
+
+	private static <T> Set<T> setOf(T[] elements) {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(elements)));
+	}
+
+	/**
+	 * Returns a filter that matches all resource changes.
+	 *
+	 * @return a filter that matches all resource changes
+	 */
+	public static ResourceChangeFilter all() {
+		return ALL;
+	}
+
+	/**
+	 * Returns a filter that additionally restricts the changes to the projects
+	 * with the given names.
+	 *
+	 * @param names the names of the projects
+	 * @return the new filter
+	 */
+	public ResourceChangeFilter withProjects(String... names) {
+		return new ResourceChangeFilter(setOf(names), paths, fileExtensions, kindMask, flagMask);
+	}
+
+	/**
+	 * Returns a filter that additionally restricts the changes to the resources
+	 * whose full path starts with one of the given paths.
+	 *
+	 * @param prefixes absolute workspace paths
+	 * @return the new filter
+	 */
+	public ResourceChangeFilter withPaths(IPath... prefixes) {
+		Set<IPath> result = new LinkedHashSet<>();
+		for (IPath prefix : prefixes)
+			result.add(prefix.makeAbsolute().removeTrailingSeparator());
+		return new ResourceChangeFilter(projects, Collections.unmodifiableSet(result), fileExtensions, kindMask, flagMask);
+	}
+
+	/**
+	 * Returns a filter that additionally restricts the changes to files with one
+	 * of the given file extensions. Extensions are compared case-sensitively and
+	 * without the leading dot.
+	 *
+	 * @param extensions the file extensions
+	 * @return the new filter
+	 * @see IResource#getFileExtension()
+	 */
+	public ResourceChangeFilter withFileExtensions(String... extensions) {
+		return new ResourceChangeFilter(projects, paths, setOf(extensions), kindMask, flagMask);
+	}
+
+	/**
+	 * Returns a filter that restricts the changes to the given delta kinds.
+	 *
+	 * @param mask a mask formed by the bitwise or of <code>IResourceDelta</code>
+	 * delta kind constants
+	 * @return the new filter
+	 * @see IResourceDelta#getKind()
+	 */
+	public ResourceChangeFilter withKinds(int mask) {
+		return new ResourceChangeFilter(projects, paths, fileExtensions, mask, flagMask);
+	}
+
+	/**
+	 * Returns a filter that restricts the changes to deltas with one of the given
+	 * flags.
+	 *
+	 * @param mask a mask formed by the bitwise or of <code>IResourceDelta</code>
+	 * change flag constants
+	 * @return the new filter
+	 * @see IResourceDelta#getFlags()
+	 */
+	public ResourceChangeFilter withFlags(int mask) {
+		return new ResourceChangeFilter(projects, paths, fileExtensions, kindMask, mask);
+	}
+
+	/**
+	 * Returns the names of the projects of this filter, or <code>null</code> if
+	 * changes in all projects match.
+	 *
+	 * @return an unmodifiable set of project names, or <code>null</code>
+	 */
+	public Set<String> getProjects() {
+		return projects;
+	}
+
+	/**
+	 * Returns the path prefixes of this filter, or <code>null</code> if changes
+	 * of resources at all paths match.
+	 *
+	 * @return an unmodifiable set of absolute paths, or <code>null</code>
+	 */
+	public Set<IPath> getPaths() {
+		return paths;
+	}
+
+	/**
+	 * Returns the file extensions of this filter, or <code>null</code> if changes
+	 * of all resources match.
+	 *
+	 * @return an unmodifiable set of file extensions, or <code>null</code>
+	 */
+	public Set<String> getFileExtensions() {
+		return fileExtensions;
+	}
+
+	/**
+	 * Returns the delta kinds of this filter.
+	 *
+	 * @return a mask of <code>IResourceDelta</code> delta kind constants
+	 */
+	public int getKindMask() {
+		return kindMask;
+	}
+
+	/**
+	 * Returns the change flags of this filter, or 0 if deltas with any flags match.
+	 *
+	 * @return a mask of <code>IResourceDelta</code> change flag constants
+	 */
+	public int getFlagMask() {
+		return flagMask;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof ResourceChangeFilter))
+			return false;
+		ResourceChangeFilter other = (ResourceChangeFilter) obj;
+		return kindMask == other.kindMask && flagMask == other.flagMask && Objects.equals(projects, other.projects) && Objects.equals(paths, other.paths) && Objects.equals(fileExtensions, other.fileExtensions);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(projects, paths, fileExtensions, kindMask, flagMask);
+	}
+
+	@Override
+	public String toString() {
+		return "ResourceChangeFilter [projects=" + projects + ", paths=" + paths + ", fileExtensions=" + fileExtensions + ", kindMask=" + kindMask + ", flagMask=" + flagMask + ']'; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.Map;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmarks of this bundle headlessly. The application arguments are
+ * passed to JMH unchanged, so the usual JMH command line options (benchmark
+ * regular expressions, <code>-p</code>, <code>-wi</code>, <code>-rf json</code>
+ * and so on) can be used, for example:
+ * <pre>
+ * eclipse -application org.eclipse.core.tests.resources.jmh.benchmarks -data /tmp/bench-ws Marker -p projects=50
+ * </pre>
+ * <p>
+ * JMH is on the class path of this bundle, so that it can load the generated
+ * benchmark classes. Benchmarks always run inside this OSGi framework: forked
+ * JVMs would not have a running workspace, so the number of forks is forced
+ * to zero. Use a fresh
+ * <code>-data</code> directory to avoid measuring leftovers of earlier runs.
+ */
+public class BenchmarkApplication implements IApplication {
+	private static final Integer EXIT_ERROR = Integer.valueOf(1);
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		Map<?, ?> arguments = context.getArguments();
+		String[] args = (String[]) arguments.get(IApplicationContext.APPLICATION_ARGS);
+		CommandLineOptions commandLine;
+		try {
+			commandLine = new CommandLineOptions(args == null ? new String[0] : args);
+		} catch (CommandLineOptionException e) {
+			System.err.println("Error parsing command line: " + e.getMessage()); //$NON-NLS-1$
+			return EXIT_ERROR;
+		}
+		Options options = new OptionsBuilder().parent(commandLine).forks(0).build();
+		Runner runner = new Runner(options);
+		if (commandLine.shouldList()) {
+			runner.list();
+			return EXIT_OK;
+		}
+		try {
+			runner.run();
+		} finally {
+			ResourcesPlugin.getWorkspace().save(true, null);
+		}
+		return EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		//nothing to do
+	}
+}
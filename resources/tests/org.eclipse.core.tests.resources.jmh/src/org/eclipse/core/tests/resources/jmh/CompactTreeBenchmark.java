@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.resources.ResourceInfo;
+import org.eclipse.core.internal.resources.ResourceInfoPacker;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the heap that {@link ResourceInfoPacker} saves on an element tree
+ * whose resource infos have not been requested yet, like a tree that has just
+ * been restored from a snapshot. The heap retained by the tree before and
+ * after packing, and the number of packed infos, are reported as secondary
+ * results. The time includes the garbage collections of the measurement.
+ * <p>
+ * Packing is disabled by default, so this benchmark must be run with
+ * <code>-Dorg.eclipse.core.resources.compactTree=true</code>.
+ * </p>
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class CompactTreeBenchmark {
+	@Param({"100"})
+	public int folders;
+
+	@Param({"1000"})
+	public int filesPerFolder;
+
+	/**
+	 * The heap retained by the tree before it is packed, in bytes.
+	 */
+	public long unpackedBytes;
+
+	/**
+	 * The heap retained by the tree after it is packed, in bytes.
+	 */
+	public long packedBytes;
+
+	/**
+	 * The number of resource infos that have been packed.
+	 */
+	public long packedInfos;
+
+	private long emptyBytes;
+	private ElementTree tree;
+
+	/**
+	 * Creates a tree with the given number of folders and files below a single
+	 * project, with resource infos like the ones read from a snapshot.
+	 */
+	static ElementTree createTree(int folders, int filesPerFolder) {
+		ElementTree tree = new ElementTree();
+		long nodeId = 0;
+		IPath project = Path.ROOT.append("project"); //$NON-NLS-1$
+		tree.createElement(project, newInfo(IResource.FOLDER, nodeId++));
+		for (int i = 0; i < folders; i++) {
+			IPath folder = project.append("folder" + i); //$NON-NLS-1$
+			tree.createElement(folder, newInfo(IResource.FOLDER, nodeId++));
+			for (int j = 0; j < filesPerFolder; j++)
+				tree.createElement(folder.append("file" + j + ".txt"), newInfo(IResource.FILE, nodeId++)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		tree.immutable();
+		return tree;
+	}
+
+	private static ResourceInfo newInfo(int type, long nodeId) {
+		ResourceInfo info = new ResourceInfo();
+		info.setType(type);
+		info.setNodeId(nodeId);
+		info.setLocalSyncInfo(System.currentTimeMillis());
+		return info;
+	}
+
+	/**
+	 * Returns the heap in use after collecting garbage.
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		if (!ResourceInfoPacker.ENABLED)
+			throw new IllegalStateException("Run with -Dorg.eclipse.core.resources.compactTree=true"); //$NON-NLS-1$
+		tree = null;
+		emptyBytes = usedHeap();
+		tree = createTree(folders, filesPerFolder);
+		unpackedBytes = usedHeap() - emptyBytes;
+		packedBytes = 0;
+		packedInfos = 0;
+	}
+
+	@Benchmark
+	public ElementTree pack() {
+		ResourceInfoPacker packer = new ResourceInfoPacker();
+		tree.packData(packer);
+		packedInfos = packer.getPackedCount();
+		packedBytes = usedHeap() - emptyBytes;
+		return tree;
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.dtree.DeltaDataTree;
+import org.eclipse.core.internal.watson.DefaultElementComparator;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.runtime.IPath;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks {@link DeltaDataTree#assembleWithForwardDelta(DeltaDataTree)} and
+ * the creation of the forward delta it consumes, which is what happens for every
+ * tree that is written and read by the save manager.
+ * The trees are synthetic and do not need a workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeltaDataTreeBenchmark {
+	@Param({"100"})
+	public int folders;
+
+	@Param({"100"})
+	public int filesPerFolder;
+
+	/**
+	 * The percentage of files that differ between the two trees.
+	 */
+	@Param({"1", "50"})
+	public int changedPercent;
+
+	private DeltaDataTree complete;
+	private DeltaDataTree changed;
+	private DeltaDataTree forwardDelta;
+
+	@Setup
+	public void setUp() {
+		List<IPath> files = new ArrayList<>();
+		ElementTree tree = ElementTreeBenchmark.createTree(folders, filesPerFolder, files);
+		ElementTree delta = tree.newEmptyDelta();
+		int step = Math.max(1, 100 / changedPercent);
+		for (int i = 0; i < files.size(); i += step)
+			delta.setElementData(files.get(i), "changed"); //$NON-NLS-1$
+		delta.immutable();
+		complete = tree.getDataTree();
+		changed = delta.getDataTree();
+		forwardDelta = complete.forwardDeltaWith(changed, DefaultElementComparator.getComparator());
+	}
+
+	@Benchmark
+	public DeltaDataTree assembleWithForwardDelta() {
+		return complete.assembleWithForwardDelta(forwardDelta);
+	}
+
+	@Benchmark
+	public DeltaDataTree forwardDeltaWith() {
+		return complete.forwardDeltaWith(changed, DefaultElementComparator.getComparator());
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.watson.DefaultElementComparator;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks lookups in, and deltas between, layers of an {@link ElementTree}.
+ * The tree is synthetic and does not need a workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ElementTreeBenchmark {
+	/**
+	 * The number of delta layers between the complete tree and the tree that is looked up.
+	 */
+	@Param({"1", "10"})
+	public int layers;
+
+	@Param({"100"})
+	public int folders;
+
+	@Param({"100"})
+	public int filesPerFolder;
+
+	private ElementTree base;
+	private ElementTree current;
+	private IPath[] files;
+
+	/**
+	 * Creates a tree with the given number of folders and files below a single project.
+	 * Returns the paths of all files in the given list.
+	 */
+	static ElementTree createTree(int folders, int filesPerFolder, List<IPath> files) {
+		ElementTree tree = new ElementTree();
+		IPath project = Path.ROOT.append("project"); //$NON-NLS-1$
+		tree.createElement(project, "project"); //$NON-NLS-1$
+		for (int i = 0; i < folders; i++) {
+			IPath folder = project.append("folder" + i); //$NON-NLS-1$
+			tree.createElement(folder, folder.lastSegment());
+			for (int j = 0; j < filesPerFolder; j++) {
+				IPath file = folder.append("file" + j + ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+				tree.createElement(file, file.lastSegment());
+				files.add(file);
+			}
+		}
+		tree.immutable();
+		return tree;
+	}
+
+	@Setup
+	public void setUp() {
+		List<IPath> paths = new ArrayList<>();
+		base = createTree(folders, filesPerFolder, paths);
+		files = paths.toArray(new IPath[paths.size()]);
+		//each layer changes a different slice of the files
+		current = base;
+		for (int layer = 0; layer < layers; layer++) {
+			current = current.newEmptyDelta();
+			for (int i = layer; i < files.length; i += 100)
+				current.setElementData(files[i], "changed" + layer); //$NON-NLS-1$
+			current.immutable();
+		}
+	}
+
+	@Benchmark
+	public void getElementData(Blackhole blackhole) {
+		for (IPath file : files)
+			blackhole.consume(current.getElementData(file));
+	}
+
+	@Benchmark
+	public void includes(Blackhole blackhole) {
+		for (IPath file : files)
+			blackhole.consume(current.includes(file));
+	}
+
+	@Benchmark
+	public Object compareWith() {
+		return current.getDataTree().compareWith(base.getDataTree(), DefaultElementComparator.getComparator());
+	}
+}
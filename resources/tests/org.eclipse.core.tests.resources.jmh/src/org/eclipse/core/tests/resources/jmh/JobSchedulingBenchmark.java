@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks scheduling and dispatching jobs with resource scheduling rules
+ * while many other jobs hold rules on unrelated resources, which is the case
+ * the job manager has to check for conflicts before it can start a job.
+ * The rules are resource handles, no resources are created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JobSchedulingBenchmark {
+	/**
+	 * The number of jobs that keep running during the benchmark.
+	 */
+	@Param({"10", "200"})
+	public int runningJobs;
+
+	/**
+	 * The number of jobs scheduled per benchmark invocation.
+	 */
+	@Param({"100"})
+	public int batch;
+
+	private final List<Job> blockers = new ArrayList<>();
+	private CountDownLatch release;
+	private ISchedulingRule[] rules;
+	private ISchedulingRule[] multiRules;
+
+	@Setup
+	public void setUp() throws InterruptedException {
+		IWorkspaceRoot root = WorkspaceGenerator.getWorkspace().getRoot();
+		IProject held = root.getProject("held"); //$NON-NLS-1$
+		IProject scheduled = root.getProject("scheduled"); //$NON-NLS-1$
+		release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(runningJobs);
+		for (int i = 0; i < runningJobs; i++) {
+			Job job = Job.create("Holding rule " + i, monitor -> { //$NON-NLS-1$
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return Status.OK_STATUS;
+			});
+			job.setSystem(true);
+			job.setRule(held.getFolder("folder" + i)); //$NON-NLS-1$
+			job.schedule();
+			blockers.add(job);
+		}
+		started.await();
+		rules = new ISchedulingRule[batch];
+		multiRules = new ISchedulingRule[batch];
+		for (int i = 0; i < batch; i++) {
+			IFolder folder = scheduled.getFolder("folder" + i); //$NON-NLS-1$
+			rules[i] = folder.getFile("file.txt"); //$NON-NLS-1$
+			multiRules[i] = MultiRule.combine(folder.getFile("a.txt"), folder.getFile("b.txt")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		release.countDown();
+		for (Job job : blockers)
+			job.join();
+		blockers.clear();
+	}
+
+	@Benchmark
+	public void scheduleWithResourceRules() throws InterruptedException {
+		scheduleAndWait(rules);
+	}
+
+	@Benchmark
+	public void scheduleWithMultiRules() throws InterruptedException {
+		scheduleAndWait(multiRules);
+	}
+
+	private void scheduleAndWait(ISchedulingRule[] jobRules) throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(jobRules.length);
+		for (ISchedulingRule rule : jobRules) {
+			Job job = Job.create("Scheduled", monitor -> { //$NON-NLS-1$
+				done.countDown();
+				return Status.OK_STATUS;
+			});
+			job.setSystem(true);
+			job.setRule(rule);
+			job.schedule();
+		}
+		done.await();
+	}
+}
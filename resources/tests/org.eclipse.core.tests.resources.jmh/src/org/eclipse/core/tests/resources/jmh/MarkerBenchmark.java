@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.resources.MarkerManager;
+import org.eclipse.core.internal.resources.Workspace;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks {@link MarkerManager#findMarkers(IResource, String, boolean, int)}
+ * and {@link MarkerManager#findMaxProblemSeverity(IResource, String, boolean, int)}
+ * on a generated workspace in which every tenth file has problem markers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MarkerBenchmark {
+	@Param({"10"})
+	public int projects;
+
+	@Param({"20"})
+	public int folders;
+
+	@Param({"50"})
+	public int filesPerFolder;
+
+	private WorkspaceGenerator generator;
+	private MarkerManager markerManager;
+	private IWorkspaceRoot root;
+	private IProject project;
+
+	@Setup
+	public void setUp() throws CoreException {
+		generator = new WorkspaceGenerator(folders, filesPerFolder).generate(projects);
+		markerManager = ((Workspace) WorkspaceGenerator.getWorkspace()).getMarkerManager();
+		root = WorkspaceGenerator.getWorkspace().getRoot();
+		project = generator.getProjects().get(0);
+		List<IFile> files = generator.getFiles();
+		WorkspaceGenerator.getWorkspace().run(monitor -> {
+			for (int i = 0; i < files.size(); i += 10) {
+				IFile file = files.get(i);
+				file.createMarker(IMarker.PROBLEM).setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+				file.createMarker(IMarker.TASK);
+			}
+		}, null);
+	}
+
+	@TearDown
+	public void tearDown() throws CoreException {
+		generator.dispose();
+	}
+
+	@Benchmark
+	public IMarker[] findAllMarkersInWorkspace() {
+		return markerManager.findMarkers(root, null, false, IResource.DEPTH_INFINITE);
+	}
+
+	@Benchmark
+	public IMarker[] findProblemsInProject() {
+		return markerManager.findMarkers(project, IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+	}
+
+	@Benchmark
+	public int findMaxProblemSeverity() {
+		return markerManager.findMaxProblemSeverity(root, IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+	}
+}
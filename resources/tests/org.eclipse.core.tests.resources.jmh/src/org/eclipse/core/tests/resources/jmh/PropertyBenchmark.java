@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.properties.IPropertyManager;
+import org.eclipse.core.internal.resources.Workspace;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks reading and writing persistent properties through the property
+ * manager of a generated workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PropertyBenchmark {
+	private static final QualifiedName NAME = new QualifiedName("org.eclipse.core.tests.resources.jmh", "property"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	@Param({"5"})
+	public int projects;
+
+	@Param({"10"})
+	public int folders;
+
+	@Param({"20"})
+	public int filesPerFolder;
+
+	private WorkspaceGenerator generator;
+	private IPropertyManager propertyManager;
+	private List<IFile> files;
+	private int next;
+
+	@Setup
+	public void setUp() throws CoreException {
+		generator = new WorkspaceGenerator(folders, filesPerFolder).generate(projects);
+		propertyManager = ((Workspace) WorkspaceGenerator.getWorkspace()).getPropertyManager();
+		files = generator.getFiles();
+		for (IFile file : files)
+			propertyManager.setProperty(file, NAME, file.getName());
+	}
+
+	@TearDown
+	public void tearDown() throws CoreException {
+		generator.dispose();
+	}
+
+	/**
+	 * Returns the next file, so that consecutive invocations hit different buckets.
+	 */
+	private IFile nextFile() {
+		IFile file = files.get(next);
+		next = (next + 1) % files.size();
+		return file;
+	}
+
+	@Benchmark
+	public String getProperty() throws CoreException {
+		return propertyManager.getProperty(nextFile(), NAME);
+	}
+
+	@Benchmark
+	public void setProperty() throws CoreException {
+		propertyManager.setProperty(nextFile(), NAME, Integer.toString(next));
+	}
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks refreshing a generated project, which walks the project with a
+ * <code>UnifiedTree</code> and compares it with the file system. Before each
+ * invocation the given number of files is modified behind the back of the workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RefreshBenchmark {
+	@Param({"50"})
+	public int folders;
+
+	@Param({"100"})
+	public int filesPerFolder;
+
+	/**
+	 * The number of files that are out of sync when the refresh starts.
+	 */
+	@Param({"0", "100"})
+	public int changedFiles;
+
+	private WorkspaceGenerator generator;
+	private IProject project;
+	private List<IFile> files;
+	private long timestamp;
+
+	@Setup
+	public void setUp() throws CoreException {
+		generator = new WorkspaceGenerator(folders, filesPerFolder).generate(1);
+		project = generator.getProjects().get(0);
+		files = generator.getFiles();
+		timestamp = System.currentTimeMillis();
+	}
+
+	@Setup(Level.Invocation)
+	public void modifyFiles() {
+		timestamp += 1000;
+		for (int i = 0; i < changedFiles; i++) {
+			File file = files.get(i * files.size() / changedFiles).getLocation().toFile();
+			file.setLastModified(timestamp);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws CoreException {
+		generator.dispose();
+	}
+
+	@Benchmark
+	public void refreshLocal() throws CoreException {
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+	}
+}
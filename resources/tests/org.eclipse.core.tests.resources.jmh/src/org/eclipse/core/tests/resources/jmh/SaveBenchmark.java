@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.resources.SaveManager;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks full and snapshot saves of a generated workspace through
+ * {@link SaveManager}. A file is touched before each invocation so that
+ * every save has a tree delta to write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SaveBenchmark {
+	@Param({"10"})
+	public int projects;
+
+	@Param({"20"})
+	public int folders;
+
+	@Param({"50"})
+	public int filesPerFolder;
+
+	private WorkspaceGenerator generator;
+	private List<IFile> files;
+	private int next;
+
+	@Setup
+	public void setUp() throws CoreException {
+		generator = new WorkspaceGenerator(folders, filesPerFolder).generate(projects);
+		files = generator.getFiles();
+		WorkspaceGenerator.getWorkspace().save(true, null);
+	}
+
+	@Setup(Level.Invocation)
+	public void touchFile() throws CoreException {
+		files.get(next).touch(null);
+		next = (next + 1) % files.size();
+	}
+
+	@TearDown
+	public void tearDown() throws CoreException {
+		generator.dispose();
+	}
+
+	@Benchmark
+	public IStatus fullSave() throws CoreException {
+		return WorkspaceGenerator.getWorkspace().save(true, null);
+	}
+
+	@Benchmark
+	public IStatus snapshot() throws CoreException {
+		return WorkspaceGenerator.getWorkspace().save(false, null);
+	}
+}
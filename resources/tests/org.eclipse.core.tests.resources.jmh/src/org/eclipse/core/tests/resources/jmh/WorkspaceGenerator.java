@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Creates synthetic projects in the running workspace. Every project contains
+ * a number of folders, each of which contains a number of small files, so that
+ * the size of the workspace can be controlled with benchmark parameters.
+ */
+final class WorkspaceGenerator {
+	private static int counter;
+
+	private final int folders;
+	private final int filesPerFolder;
+	private final List<IProject> projects = new ArrayList<>();
+	private final List<IFile> files = new ArrayList<>();
+
+	WorkspaceGenerator(int folders, int filesPerFolder) {
+		this.folders = folders;
+		this.filesPerFolder = filesPerFolder;
+	}
+
+	static IWorkspace getWorkspace() {
+		return ResourcesPlugin.getWorkspace();
+	}
+
+	/**
+	 * Creates the given number of projects in a single workspace operation.
+	 */
+	WorkspaceGenerator generate(int projectCount) throws CoreException {
+		getWorkspace().run(monitor -> {
+			for (int i = 0; i < projectCount; i++)
+				createProject();
+		}, null);
+		return this;
+	}
+
+	private void createProject() throws CoreException {
+		IProject project = getWorkspace().getRoot().getProject("bench" + nextId()); //$NON-NLS-1$
+		project.create(null);
+		project.open(null);
+		projects.add(project);
+		for (int i = 0; i < folders; i++) {
+			IFolder folder = project.getFolder("folder" + i); //$NON-NLS-1$
+			folder.create(true, true, null);
+			for (int j = 0; j < filesPerFolder; j++) {
+				IFile file = folder.getFile("file" + j + ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+				file.create(new ByteArrayInputStream(file.getName().getBytes(StandardCharsets.UTF_8)), true, null);
+				files.add(file);
+			}
+		}
+	}
+
+	/**
+	 * Deletes all generated projects, including their contents on disk.
+	 */
+	void dispose() throws CoreException {
+		getWorkspace().run(monitor -> {
+			for (IProject project : projects)
+				project.delete(true, true, null);
+		}, null);
+		projects.clear();
+		files.clear();
+	}
+
+	List<IFile> getFiles() {
+		return files;
+	}
+
+	List<IProject> getProjects() {
+		return projects;
+	}
+
+	private static synchronized int nextId() {
+		return counter++;
+	}
+}
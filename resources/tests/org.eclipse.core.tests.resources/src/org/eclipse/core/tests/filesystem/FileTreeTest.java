@@ -0,0 +1,144 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.filesystem;
+
+import java.util.Arrays;
+import org.eclipse.core.filesystem.*;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Tests the {@link IFileTree} provided by the local file system.
+ */
+public class FileTreeTest extends FileSystemTest {
+
+	private void assertSameInfos(String message, IFileInfo[] expected, IFileInfo[] actual) {
+		Arrays.sort(expected);
+		Arrays.sort(actual);
+		assertEquals(message + ".length", expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(message + ".name", expected[i].getName(), actual[i].getName());
+			assertEquals(message + ".exists", expected[i].exists(), actual[i].exists());
+			assertEquals(message + ".directory", expected[i].isDirectory(), actual[i].isDirectory());
+			assertEquals(message + ".length", expected[i].getLength(), actual[i].getLength());
+			assertEquals(message + ".lastModified", expected[i].getLastModified(), actual[i].getLastModified());
+		}
+	}
+
+	private IFileTree fetchTree() throws CoreException {
+		IFileTree tree = EFS.getLocalFileSystem().fetchFileTree(baseStore, getMonitor());
+		assertNotNull("fetchTree", tree);
+		assertEquals("fetchTree", baseStore, tree.getTreeRoot());
+		return tree;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		baseStore = EFS.getLocalFileSystem().getStore(ResourcesPlugin.getWorkspace().getRoot().getLocation().append("temp"));
+		baseStore.mkdir(EFS.NONE, null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		baseStore.delete(EFS.NONE, null);
+	}
+
+	public void testChildInfos() throws CoreException {
+		IFileStore folder = baseStore.getChild("folder");
+		IFileStore nested = folder.getChild("nested");
+		ensureExists(folder, true);
+		ensureExists(nested, true);
+		ensureExists(baseStore.getChild("file.txt"), false);
+		ensureExists(folder.getChild("a.txt"), false);
+		ensureExists(nested.getChild("b.txt"), false);
+
+		IFileTree tree = fetchTree();
+		assertSameInfos("1.0", baseStore.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(baseStore));
+		assertSameInfos("2.0", folder.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(folder));
+		assertSameInfos("3.0", nested.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(nested));
+		assertEquals("4.0", 2, tree.getChildStores(baseStore).length);
+	}
+
+	/**
+	 * Sibling subtrees may be fetched concurrently, all of them must end up in the tree.
+	 */
+	public void testWideTree() throws CoreException {
+		for (int i = 0; i < 10; i++) {
+			IFileStore folder = baseStore.getChild("folder" + i);
+			ensureExists(folder, true);
+			for (int j = 0; j < 10; j++) {
+				IFileStore child = folder.getChild("child" + j);
+				ensureExists(child, true);
+				ensureExists(child.getChild("file.txt"), false);
+			}
+		}
+		IFileTree tree = fetchTree();
+		assertEquals("1.0", 10, tree.getChildInfos(baseStore).length);
+		for (IFileStore folder : baseStore.childStores(EFS.NONE, getMonitor())) {
+			assertSameInfos("2.0", folder.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(folder));
+			for (IFileStore child : folder.childStores(EFS.NONE, getMonitor())) {
+				assertSameInfos("3.0", child.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(child));
+			}
+		}
+	}
+
+	/**
+	 * Folders are only descended into when the client asks for their parent,
+	 * so that folders the client skips are not walked.
+	 */
+	public void testOnlyVisitedFoldersAreFetched() throws CoreException {
+		IFileStore folder = baseStore.getChild("folder");
+		IFileStore nested = folder.getChild("nested");
+		ensureExists(folder, true);
+		ensureExists(nested, true);
+
+		IFileTree tree = fetchTree();
+		assertEquals("1.0", 1, tree.getChildInfos(baseStore).length);
+		//nested is only listed once the children of folder have been requested
+		ensureExists(nested.getChild("late.txt"), false);
+		assertEquals("2.0", 1, tree.getChildInfos(folder).length);
+		assertSameInfos("3.0", nested.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(nested));
+	}
+
+	public void testFileInfo() throws CoreException {
+		IFileStore folder = baseStore.getChild("folder");
+		IFileStore file = folder.getChild("a.txt");
+		ensureExists(folder, true);
+		ensureExists(file, false);
+
+		IFileTree tree = fetchTree();
+		assertTrue("1.0", tree.getFileInfo(baseStore).isDirectory());
+		assertSameInfos("2.0", new IFileInfo[] {file.fetchInfo()}, new IFileInfo[] {tree.getFileInfo(file)});
+
+		IFileInfo missing = tree.getFileInfo(folder.getChild("missing.txt"));
+		assertFalse("3.0", missing.exists());
+		assertEquals("3.1", "missing.txt", missing.getName());
+	}
+
+	public void testSymlinkedFolder() throws CoreException {
+		if (!canCreateSymLinks()) {
+			return;
+		}
+		IFileStore folder = baseStore.getChild("folder");
+		ensureExists(folder, true);
+		ensureExists(folder.getChild("a.txt"), false);
+		createSymLink(baseStore.toLocalFile(EFS.NONE, getMonitor()), "link", "folder", true);
+
+		//links are not traversed while fetching, but their children are still available
+		IFileTree tree = fetchTree();
+		IFileStore link = baseStore.getChild("link");
+		assertTrue("1.0", tree.getFileInfo(link).getAttribute(EFS.ATTRIBUTE_SYMLINK));
+		assertSameInfos("2.0", link.childInfos(EFS.NONE, getMonitor()), tree.getChildInfos(link));
+	}
+}
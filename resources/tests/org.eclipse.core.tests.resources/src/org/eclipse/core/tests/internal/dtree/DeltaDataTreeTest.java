@@ -17,9 +17,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import org.eclipse.core.internal.dtree.*;
 import org.eclipse.core.internal.watson.DefaultElementComparator;
 import org.eclipse.core.runtime.IPath;
@@ -934,6 +936,74 @@ public class DeltaDataTreeTest {
 		assertTree(delta);
 	}
 
+	/**
+	 * Tests that packed data is unpacked transparently, that reading the whole
+	 * tree keeps it packed, and that data handed out is never packed again.
+	 * Packing only happens with -Dorg.eclipse.core.resources.compactTree=true.
+	 */
+	@Test
+	public void testPackData() {
+		int[] unpackedCount = new int[1];
+		IDataPacker packer = new IDataPacker() {
+			@Override
+			public boolean canPack(Object data) {
+				return data instanceof String || data instanceof IPackedData;
+			}
+
+			@Override
+			public IPackedData pack(String[] names, Object[] data) {
+				String[] values = new String[data.length];
+				for (int i = 0; i < data.length; i++) {
+					if (data[i] instanceof String) {
+						values[i] = (String) data[i];
+						unpackedCount[0]++;
+					} else {
+						values[i] = (String) ((IPackedData) data[i]).unpack(names[i]);
+					}
+				}
+				return name -> new String(values[Arrays.asList(names).indexOf(name)]);
+			}
+		};
+		IPath folderKey = leftKey.append("folder");
+		tree.createChild(leftKey, "folder", "folder");
+		for (int i = 0; i < 5; i++)
+			tree.createChild(folderKey, "file" + i, "data" + i);
+		tree.immutable();
+		DeltaDataTree delta = tree.newEmptyDeltaTree();
+		delta.setData(folderKey.append("file0"), "changed");
+		tree.packData(packer);
+		if (!DataTreeNode.PACKING_ENABLED) {
+			// unless packing is enabled, nodes don't track handed out data, so nothing is packed
+			assertEquals("0.0", 0, unpackedCount[0]);
+			assertEquals("0.1", "data1", tree.getData(folderKey.append("file1")));
+			return;
+		}
+		int packedCount = unpackedCount[0];
+		assertTrue("1.0", packedCount >= 5);
+
+		// comparing reads all data, but does not unpack it for good
+		DeltaDataTree comparison = tree.compareWith(delta, DefaultElementComparator.getComparator());
+		assertEquals("2.0", 1, comparison.getChildCount(folderKey));
+		tree.packData(packer);
+		assertEquals("2.1", packedCount, unpackedCount[0]);
+
+		for (int i = 0; i < 5; i++) {
+			Object data = tree.getData(folderKey.append("file" + i));
+			assertEquals("3." + i, "data" + i, data);
+			assertSame("4." + i, data, tree.getData(folderKey.append("file" + i)));
+		}
+		// handed out data may be updated in place, so it must not be packed again
+		tree.packData(packer);
+		for (int i = 0; i < 5; i++) {
+			Object data = tree.getData(folderKey.append("file" + i));
+			tree.packData(packer);
+			assertSame("5." + i, data, tree.getData(folderKey.append("file" + i)));
+		}
+		assertEquals("6.0", "changed", delta.getData(folderKey.append("file0")));
+		assertEquals("6.1", "data1", delta.getData(folderKey.append("file1")));
+		assertTree(tree);
+	}
+
 	/**
 	 * Test for problem deleting and re-adding in same delta layer.
 	 */
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.internal.events;
+
+import java.util.function.Supplier;
+import org.eclipse.core.internal.events.*;
+import org.eclipse.core.internal.resources.Workspace;
+import org.eclipse.core.internal.watson.ElementTree;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.tests.resources.ResourceTest;
+
+/**
+ * Tests the hits, evictions and flushing of the build delta cache.
+ */
+public class ResourceDeltaCacheTest extends ResourceTest {
+	private IProject[] projects;
+	private ElementTree oldTree;
+	private ElementTree newTree;
+	private int computed;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		IWorkspaceRoot root = getWorkspace().getRoot();
+		projects = new IProject[] {root.getProject("P1"), root.getProject("P2"), root.getProject("P3")};
+		ensureExistsInWorkspace(projects, true);
+		oldTree = ((Workspace) getWorkspace()).getElementTree();
+		for (IProject project : projects)
+			ensureExistsInWorkspace(project.getFile("file.txt"), true);
+		newTree = ((Workspace) getWorkspace()).getElementTree();
+		assertNotSame(oldTree, newTree);
+	}
+
+	private ResourceDelta computeDelta(ResourceDeltaCache cache, IPath root) {
+		Supplier<ResourceDelta> calculator = () -> {
+			computed++;
+			return ResourceDeltaFactory.computeDelta((Workspace) getWorkspace(), oldTree, newTree, root, -1);
+		};
+		return cache.computeBuildDelta(root, oldTree, newTree, calculator);
+	}
+
+	public void testHits() {
+		ResourceDeltaCache cache = new ResourceDeltaCache(4);
+		ResourceDelta delta = computeDelta(cache, projects[0].getFullPath());
+		assertNotNull("1.0", delta);
+		assertNotNull("1.1", delta.findMember(projects[0].getFile("file.txt").getProjectRelativePath()));
+		assertSame("1.2", delta, computeDelta(cache, projects[0].getFullPath()));
+		assertEquals("1.3", 1, computed);
+		assertEquals("1.4", 1, cache.getHitCount());
+		assertEquals("1.5", 1, cache.size());
+	}
+
+	public void testEviction() {
+		ResourceDeltaCache cache = new ResourceDeltaCache(2);
+		for (IProject project : projects)
+			computeDelta(cache, project.getFullPath());
+		assertEquals("1.0", 3, computed);
+		assertEquals("1.1", 2, cache.size());
+		assertEquals("1.2", 1, cache.getEvictionCount());
+		// the least recently used delta is gone
+		computeDelta(cache, projects[2].getFullPath());
+		assertEquals("2.0", 3, computed);
+		computeDelta(cache, projects[0].getFullPath());
+		assertEquals("2.1", 4, computed);
+	}
+
+	public void testFlush() {
+		ResourceDeltaCache cache = new ResourceDeltaCache(4);
+		computeDelta(cache, projects[0].getFullPath());
+		cache.flush();
+		assertEquals("1.0", 0, cache.size());
+		assertEquals("1.1", 0, cache.getHitCount());
+		computeDelta(cache, projects[0].getFullPath());
+		assertEquals("1.2", 2, computed);
+	}
+
+	public void testFlushAfterNotification() throws CoreException {
+		IWorkspaceDescription description = getWorkspace().getDescription();
+		boolean autoBuilding = description.isAutoBuilding();
+		description.setAutoBuilding(false);
+		getWorkspace().setDescription(description);
+		try {
+			waitForBuild();
+			ResourceDeltaCache cache = ((Workspace) getWorkspace()).getDeltaCache();
+			computeDelta(cache, projects[0].getFullPath());
+			assertEquals("1.0", 1, cache.size());
+			projects[0].getFile("file.txt").setContents(getRandomContents(), true, false, getMonitor());
+			assertEquals("2.0", 0, cache.size());
+		} finally {
+			description.setAutoBuilding(autoBuilding);
+			getWorkspace().setDescription(description);
+		}
+	}
+}
@@ -23,6 +23,31 @@ import org.eclipse.core.runtime.Path;
 //
 public class BlobStoreTest extends LocalStoreTest {
 
+	public void testAddContentBlob() throws CoreException {
+		IFileStore root = createStore();
+		BlobStore store = new BlobStore(root, 64);
+		String content = "the same contents";
+
+		/* identical contents share a blob */
+		IFileStore target = root.getChild("target");
+		createFile(target, content);
+		UniversalUniqueIdentifier uuid = store.addContentBlob(target, false);
+		assertTrue("1.0", target.fetchInfo().exists());
+		IFileStore other = root.getChild("other");
+		createFile(other, content);
+		assertEquals("1.1", uuid, store.addContentBlob(other, true));
+		assertTrue("1.2", !other.fetchInfo().exists());
+		assertTrue("1.3", compareContent(getContents(content), store.getBlob(uuid)));
+		assertEquals("1.4", 1, store.folderFor(uuid).childNames(EFS.NONE, null).length);
+
+		/* different contents get a blob of their own */
+		createFile(target, "other contents");
+		UniversalUniqueIdentifier otherUuid = store.addContentBlob(target, true);
+		assertTrue("2.0", !uuid.equals(otherUuid));
+		assertTrue("2.1", compareContent(getContents("other contents"), store.getBlob(otherUuid)));
+		assertTrue("2.2", compareContent(getContents(content), store.getBlob(uuid)));
+	}
+
 	public void testConstructor() {
 		/* build scenario */
 		IFileStore root = createStore();
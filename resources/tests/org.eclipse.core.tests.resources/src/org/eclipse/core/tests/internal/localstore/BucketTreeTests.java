@@ -72,10 +72,15 @@ public class BucketTreeTests extends ResourceTest {
 		}
 
 		@Override
-		protected byte getVersion() {
+		protected int getLegacyVersion() {
 			return 0;
 		}
 
+		@Override
+		protected byte getVersion() {
+			return 1;
+		}
+
 		@Override
 		protected Object readEntryValue(DataInputStream source) throws IOException {
 			int length = source.readUnsignedShort();
@@ -122,6 +127,125 @@ public class BucketTreeTests extends ResourceTest {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private String get(SimpleBucket bucket, String path, String key) {
+		Map<String, String> value = (Map<String, String>) bucket.getEntryValue(path);
+		return value == null ? null : value.get(key);
+	}
+
+	/**
+	 * Index files in the legacy format must be readable, and are replaced by
+	 * files in the current format when saved.
+	 */
+	public void testLegacyFormat() throws Exception {
+		File baseLocation = getRandomLocation().toFile();
+		try {
+			baseLocation.mkdirs();
+			File indexFile = new File(baseLocation, "simple_bucket.index");
+			try (DataOutputStream output = new DataOutputStream(new FileOutputStream(indexFile))) {
+				output.writeByte(0);
+				output.writeInt(2);
+				for (String name : new String[] {"/b.txt", "/a.txt"}) {
+					output.writeUTF(name);
+					output.writeShort(1);
+					output.writeUTF("name");
+					output.writeUTF(name);
+				}
+			}
+			SimpleBucket bucket = new SimpleBucket();
+			bucket.load("proj1", baseLocation, true);
+			assertEquals("1.0", 2, bucket.getEntryCount());
+			assertEquals("1.1", "/a.txt", get(bucket, "/proj1/a.txt", "name"));
+			assertEquals("1.2", "/b.txt", get(bucket, "/proj1/b.txt", "name"));
+
+			bucket.set(new Path("/proj1/c.txt"), "name", "/c.txt");
+			bucket.save();
+			try (DataInputStream input = new DataInputStream(new FileInputStream(indexFile))) {
+				assertEquals("2.0", 1, input.readByte());
+				assertEquals("2.1", 3, input.readInt());
+			}
+
+			bucket = new SimpleBucket();
+			bucket.load("proj1", baseLocation, true);
+			assertEquals("3.0", "/c.txt", get(bucket, "/proj1/c.txt", "name"));
+			assertEquals("3.1", "/a.txt", get(bucket, "/proj1/a.txt", "name"));
+			assertEquals("3.2", 3, bucket.getEntryCount());
+		} finally {
+			ensureDoesNotExistInFileSystem(baseLocation);
+		}
+	}
+
+	/**
+	 * Entries are looked up in the index file, changes are kept until the bucket is saved.
+	 */
+	public void testIndexedLookup() throws Exception {
+		File baseLocation = getRandomLocation().toFile();
+		try {
+			SimpleBucket bucket = new SimpleBucket();
+			bucket.load("proj1", baseLocation, true);
+			for (int i = 0; i < 100; i++)
+				bucket.set(new Path("/proj1/file" + i + ".txt"), "name", "file" + i);
+			bucket.save();
+
+			bucket = new SimpleBucket();
+			bucket.load("proj1", baseLocation, true);
+			for (int i = 0; i < 100; i++)
+				assertEquals("1." + i, "file" + i, get(bucket, "/proj1/file" + i + ".txt", "name"));
+			assertNull("2.0", bucket.getEntryValue("/proj1/missing.txt"));
+			assertNull("2.1", bucket.getEntryValue("/proj2/file0.txt"));
+
+			bucket = new SimpleBucket();
+			bucket.load("proj1", baseLocation, true);
+			bucket.set(new Path("/proj1/file0.txt"), "name", null);
+			bucket.set(new Path("/proj1/file1.txt"), "name", "changed");
+			assertNull("3.0", bucket.getEntryValue("/proj1/file0.txt"));
+			assertEquals("3.1", "changed", get(bucket, "/proj1/file1.txt", "name"));
+			bucket.save();
+
+			bucket = new SimpleBucket();
+			bucket.load("proj1", baseLocation, true);
+			assertNull("4.0", bucket.getEntryValue("/proj1/file0.txt"));
+			assertEquals("4.1", "changed", get(bucket, "/proj1/file1.txt", "name"));
+			assertEquals("4.2", 99, bucket.getEntryCount());
+		} finally {
+			ensureDoesNotExistInFileSystem(baseLocation);
+		}
+	}
+
+	/**
+	 * Switching between buckets must not lose changes, and cached buckets are
+	 * written back when the tree is closed.
+	 */
+	public void testCachedBuckets() throws CoreException {
+		SimpleBucket bucket = new SimpleBucket();
+		BucketTree tree = new BucketTree((Workspace) getWorkspace(), bucket);
+		IProject project = getWorkspace().getRoot().getProject("proj1");
+		IFile file1 = project.getFolder("folder1").getFile("file1.txt");
+		IFile file2 = project.getFolder("folder2").getFile("file2.txt");
+		ensureExistsInWorkspace(new IResource[] {file1, file2}, true);
+		try {
+			for (int i = 0; i < 10; i++) {
+				tree.loadBucketFor(file1.getFullPath());
+				bucket.set(file1.getFullPath(), "count", Integer.toString(i));
+				tree.loadBucketFor(file2.getFullPath());
+				bucket.set(file2.getFullPath(), "count", Integer.toString(i));
+			}
+			assertEquals("1.0", 2, tree.getCacheMisses());
+			assertEquals("1.1", 18, tree.getCacheHits());
+			tree.close();
+
+			SimpleBucket other = new SimpleBucket();
+			BucketTree otherTree = new BucketTree((Workspace) getWorkspace(), other);
+			otherTree.loadBucketFor(file1.getFullPath());
+			assertEquals("2.0", "9", get(other, file1.getFullPath().toString(), "count"));
+			otherTree.loadBucketFor(file2.getFullPath());
+			assertEquals("2.1", "9", get(other, file2.getFullPath().toString(), "count"));
+		} finally {
+			tree.flush();
+			ensureDoesNotExistInWorkspace(project);
+		}
+	}
+
 	public void testVisitor() {
 		IPath baseLocation = getRandomLocation();
 		try {
@@ -593,6 +593,56 @@ public class HistoryStoreTest extends ResourceTest {
 		}
 	}
 
+	/**
+	 * States added concurrently to files in different folders must all be
+	 * found afterwards, by single file lookups as well as by subtree operations.
+	 */
+	public void testConcurrentAddState() throws Throwable {
+		final int THREADS = 4;
+		final int FILES = 10;
+		final int STATES = 5;
+		IProject project = getWorkspace().getRoot().getProject("Project");
+		IFile[][] files = new IFile[THREADS][FILES];
+		for (int i = 0; i < THREADS; i++)
+			for (int j = 0; j < FILES; j++)
+				files[i][j] = project.getFolder("folder" + i).getFile("file" + j + ".txt");
+		for (IFile[] folderFiles : files)
+			ensureExistsInWorkspace(folderFiles, true);
+
+		IHistoryStore store = ((Workspace) getWorkspace()).getFileSystemManager().getHistoryStore();
+		Throwable[] failures = new Throwable[THREADS];
+		Thread[] threads = new Thread[THREADS];
+		for (int i = 0; i < THREADS; i++) {
+			IFile[] folderFiles = files[i];
+			int index = i;
+			threads[i] = new Thread(() -> {
+				try {
+					for (int state = 0; state < STATES; state++) {
+						for (IFile file : folderFiles) {
+							FileInfo fileInfo = new FileInfo(file.getName());
+							fileInfo.setLastModified(state + 1);
+							store.addState(file.getFullPath(), ((Resource) file).getStore(), fileInfo, false);
+							store.getStates(file.getFullPath(), null);
+						}
+					}
+				} catch (Throwable t) {
+					failures[index] = t;
+				}
+			}, "HistoryStoreTest" + i);
+			threads[i].start();
+		}
+		for (int i = 0; i < THREADS; i++) {
+			threads[i].join();
+			if (failures[i] != null)
+				throw failures[i];
+		}
+
+		for (IFile[] folderFiles : files)
+			for (IFile file : folderFiles)
+				assertEquals("1.0 " + file, STATES, store.getStates(file.getFullPath(), getMonitor()).length);
+		assertEquals("2.0", THREADS * FILES, store.allFiles(project.getFullPath(), IResource.DEPTH_INFINITE, getMonitor()).size());
+	}
+
 	/**
 	 * Copy case for History Store of folder when the local history is being
 	 * copied.
@@ -1757,6 +1807,37 @@ public class HistoryStoreTest extends ResourceTest {
 		}
 	}
 
+	/**
+	 * States with the same contents share a blob, which must survive until
+	 * the last state referring to it is removed.
+	 */
+	public void testSharedContents() throws CoreException {
+		IProject project = getWorkspace().getRoot().getProject("Project");
+		IFile file1 = project.getFile("file1.txt");
+		IFile file2 = project.getFolder("folder").getFile("file2.txt");
+		String contents = "the same contents";
+		ensureExistsInWorkspace(file1, contents);
+		ensureExistsInWorkspace(file2, contents);
+
+		IHistoryStore store = ((Workspace) getWorkspace()).getFileSystemManager().getHistoryStore();
+		FileInfo fileInfo = new FileInfo(file1.getName());
+		fileInfo.setLastModified(1);
+		FileState state1 = (FileState) store.addState(file1.getFullPath(), ((Resource) file1).getStore(), fileInfo, false);
+		fileInfo.setLastModified(2);
+		FileState state2 = (FileState) store.addState(file2.getFullPath(), ((Resource) file2).getStore(), fileInfo, false);
+		assertEquals("1.0", state1.getUUID(), state2.getUUID());
+
+		store.remove(file1.getFullPath(), getMonitor());
+		store.clean(getMonitor());
+		assertEquals("2.0", 0, store.getStates(file1.getFullPath(), getMonitor()).length);
+		assertTrue("2.1", store.exists(state2));
+		assertTrue("2.2", compareContent(getContents(contents), store.getContents(state2)));
+
+		store.remove(file2.getFullPath(), getMonitor());
+		store.removeGarbage();
+		assertTrue("3.0", !store.exists(state2));
+	}
+
 	/**
 	 * Simple copy case for History Store when the local history is being
 	 * copied.
@@ -218,6 +218,40 @@ public class PropertyManagerTest extends LocalStoreTest {
 		assertSame(hint + "1.6", propValue, manager.getProperty(sourceFile, propName));
 	}
 
+	public void testWriteBehind() throws Throwable {
+		// a delay that does not expire during the test
+		PropertyManager2 manager = new PropertyManager2((Workspace) ResourcesPlugin.getWorkspace(), 3600000, 3);
+		IProject source = projects[0];
+		IFolder sourceFolder = source.getFolder("myfolder");
+		IFile sourceFile = sourceFolder.getFile("myfile.txt");
+		QualifiedName propName = new QualifiedName("test", "prop");
+		String propValue = "this is the property value";
+
+		ensureExistsInWorkspace(new IResource[] {source, sourceFolder, sourceFile}, true);
+
+		// pending changes are visible to readers, but not written yet
+		manager.setProperty(sourceFolder, propName, propValue);
+		manager.setProperty(sourceFile, propName, propValue);
+		assertEquals("1.0", propValue, manager.getProperty(sourceFolder, propName));
+		assertEquals("1.1", propValue, manager.getProperty(sourceFile, propName));
+		assertNull("1.2", new PropertyManager2((Workspace) ResourcesPlugin.getWorkspace()).getProperty(sourceFile, propName));
+
+		// saving writes the pending changes
+		manager.save();
+		assertEquals("2.0", propValue, new PropertyManager2((Workspace) ResourcesPlugin.getWorkspace()).getProperty(sourceFile, propName));
+
+		// reaching the maximum number of pending changes writes them
+		manager.setProperty(source, propName, propValue);
+		manager.setProperty(sourceFolder, propName, null);
+		assertNotNull("3.0", new PropertyManager2((Workspace) ResourcesPlugin.getWorkspace()).getProperty(sourceFolder, propName));
+		manager.setProperty(sourceFile, propName, null);
+		IPropertyManager reader = new PropertyManager2((Workspace) ResourcesPlugin.getWorkspace());
+		assertEquals("3.1", propValue, reader.getProperty(source, propName));
+		assertNull("3.2", reader.getProperty(sourceFolder, propName));
+		assertNull("3.3", reader.getProperty(sourceFile, propName));
+		manager.shutdown(null);
+	}
+
 	public void testOOME() throws Throwable {
 		IPropertyManager manager = new PropertyManager2((Workspace) ResourcesPlugin.getWorkspace());
 		IProject source = projects[0];
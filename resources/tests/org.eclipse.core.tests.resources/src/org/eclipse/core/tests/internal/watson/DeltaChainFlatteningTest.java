@@ -14,8 +14,11 @@
 package org.eclipse.core.tests.internal.watson;
 
 import java.io.*;
+import java.util.Arrays;
 import org.eclipse.core.internal.watson.*;
+import org.eclipse.core.internal.watson.ElementTreeReader.UnlinkedChain;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -74,4 +77,40 @@ public class DeltaChainFlatteningTest extends ElementTreeSerializationTest {
 	public void test0() {
 		doExhaustiveTests();
 	}
+
+	/**
+	 * Tests reading a delta chain that has been written in separate sections for
+	 * the root node and for each of its children.
+	 */
+	@Test
+	public void testSections() throws IOException {
+		IPath other = Path.ROOT.append("other");
+		IPath added = Path.ROOT.append("added");
+		ElementTree tree = TestUtil.createTestElementTree();
+		tree.createElement(other, "other");
+		ElementTree[] chain = TestUtil.doRoutineOperations(tree, project1);
+		ElementTree newest = chain[chain.length - 1].newEmptyDelta();
+		newest.createElement(added, "added");
+		newest.deleteElement(other);
+		newest.immutable();
+		ElementTree[] trees = Arrays.copyOf(chain, chain.length + 1);
+		trees[chain.length] = newest;
+		TestUtil.scramble(trees);
+
+		// sections for all children of the root node of any tree
+		IPath[] paths = {Path.ROOT, added, other, solution};
+		IElementInfoFlattener flattener = getFlattener();
+		ElementTreeReader reader = new ElementTreeReader(flattener);
+		UnlinkedChain[] chains = new UnlinkedChain[paths.length];
+		for (int i = 0; i < paths.length; i++) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			int depth = paths[i].isRoot() ? 0 : ElementTreeWriter.D_INFINITE;
+			new ElementTreeWriter(flattener).writeDeltaChain(trees, paths[i], depth, new DataOutputStream(bytes), DefaultElementComparator.getComparator());
+			chains[i] = reader.readUnlinkedDeltaChain(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		}
+		ElementTree[] refried = reader.linkDeltaChains(chains[0], Arrays.copyOfRange(chains, 1, chains.length));
+		for (int j = 0; j < trees.length; j++) {
+			TestUtil.assertEqualTrees("Same after reading sections", trees[j], refried[j]);
+		}
+	}
 }
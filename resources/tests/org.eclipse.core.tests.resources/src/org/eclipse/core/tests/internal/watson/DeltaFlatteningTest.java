@@ -97,4 +97,26 @@ public class DeltaFlatteningTest extends ElementTreeSerializationTest {
 	public void test0() {
 		doExhaustiveTests();
 	}
+
+	/**
+	 * Tests the reading and writing of deltas between detached copies of trees,
+	 * after the delta chain they were copied from has been changed
+	 */
+	@Test
+	public void testDetachedCopies() {
+		ElementTree base = fTree.detachedCopy();
+		ElementTree changed = fNewTree.detachedCopy();
+		ElementTree newest = fNewTree.newEmptyDelta();
+		newest.deleteElement(project1);
+		newest.immutable();
+
+		fTree = changed;
+		fNewTree = base;
+		fSubtreePath = solution;
+		fDepth = ElementTreeWriter.D_INFINITE;
+		ElementTree newTree = (ElementTree) doPipeTest();
+		TestUtil.assertEqualTrees("1.0", changed, newTree, fSubtreePath, fDepth);
+		TestUtil.assertHasPaths(changed, new IPath[] {project1, project3, file4});
+		TestUtil.assertNoPaths(base, new IPath[] {project3, file4});
+	}
 }
@@ -16,8 +16,8 @@ package org.eclipse.core.tests.resources;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Dictionary;
-import java.util.Hashtable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
 import org.eclipse.core.internal.resources.Workspace;
 import org.eclipse.core.resources.*;
@@ -679,6 +679,68 @@ public class IResourceChangeListenerTest extends ResourceTest {
 		}
 	}
 
+	/**
+	 * Tests that listeners implementing IConcurrentResourceChangeListener receive
+	 * the same events as other listeners in other threads, and cannot modify the
+	 * workspace.
+	 */
+	public void testConcurrentListeners() {
+		class ConcurrentListener implements IConcurrentResourceChangeListener {
+			final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+			volatile IResourceDelta fileDelta;
+			volatile boolean treeLocked = true;
+			volatile boolean modified;
+
+			@Override
+			public void resourceChanged(IResourceChangeEvent event) {
+				threads.add(Thread.currentThread());
+				treeLocked &= getWorkspace().isTreeLocked();
+				if (event.getType() != IResourceChangeEvent.POST_CHANGE)
+					return;
+				fileDelta = event.getDelta().findMember(file1.getFullPath());
+				try {
+					file2.touch(null);
+					modified = true;
+				} catch (CoreException e) {
+					// expected
+				}
+			}
+		}
+		ConcurrentListener listener1 = new ConcurrentListener();
+		ConcurrentListener listener2 = new ConcurrentListener();
+		// listeners that are not concurrent are notified by the broadcasting thread
+		Set<Thread> broadcasters = ConcurrentHashMap.newKeySet();
+		IResourceChangeListener listener3 = event -> broadcasters.add(Thread.currentThread());
+		getWorkspace().addResourceChangeListener(listener1, IResourceChangeEvent.POST_CHANGE);
+		getWorkspace().addResourceChangeListener(listener2, IResourceChangeEvent.POST_BUILD);
+		getWorkspace().addResourceChangeListener(listener3, IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.POST_BUILD);
+		try {
+			try {
+				file1.setContents(getRandomContents(), true, false, getMonitor());
+				// the tree is not locked for POST_BUILD listeners, so they are notified in order
+				getWorkspace().build(IncrementalProjectBuilder.INCREMENTAL_BUILD, getMonitor());
+			} catch (CoreException e) {
+				fail("1.0", e);
+			}
+			assertNotNull("2.0", listener1.fileDelta);
+			assertEquals("2.1", IResourceDelta.CONTENT, listener1.fileDelta.getFlags() & IResourceDelta.CONTENT);
+			assertTrue("2.2", broadcasters.contains(Thread.currentThread()));
+			assertFalse("3.0", listener1.threads.isEmpty());
+			assertTrue("3.1", listener1.treeLocked);
+			assertFalse("3.2", listener1.modified);
+			for (Thread thread : listener1.threads)
+				assertFalse("3.3", broadcasters.contains(thread));
+			assertTrue("3.4", listener2.threads.contains(Thread.currentThread()));
+			assertTrue("3.5", broadcasters.containsAll(listener2.threads));
+			assertFalse("3.6", listener2.treeLocked);
+			assertFalse("4.0", getWorkspace().isTreeLocked());
+		} finally {
+			getWorkspace().removeResourceChangeListener(listener1);
+			getWorkspace().removeResourceChangeListener(listener2);
+			getWorkspace().removeResourceChangeListener(listener3);
+		}
+	}
+
 	public void testDeleteInPostBuildListener() {
 		// create the resource change listener
 		IResourceChangeListener listener = event -> {
@@ -973,6 +1035,64 @@ public class IResourceChangeListenerTest extends ResourceTest {
 		}
 	}
 
+	/**
+	 * Tests that listeners implementing IFilteredResourceChangeListener are only
+	 * notified about the changes that match their filter.
+	 */
+	public void testFilteredListener() {
+		class FilteredListener implements IFilteredResourceChangeListener {
+			final ResourceChangeFilter filter;
+			final List<IResourceDelta> deltas = new ArrayList<>();
+
+			FilteredListener(ResourceChangeFilter filter) {
+				this.filter = filter;
+			}
+
+			@Override
+			public ResourceChangeFilter getFilter() {
+				return filter;
+			}
+
+			@Override
+			public void resourceChanged(IResourceChangeEvent event) {
+				deltas.add(event.getDelta());
+			}
+		}
+		FilteredListener folderListener = new FilteredListener(ResourceChangeFilter.all().withPaths(folder2.getFullPath()));
+		FilteredListener extensionListener = new FilteredListener(ResourceChangeFilter.all().withProjects(project1.getName()).withFileExtensions("txt"));
+		FilteredListener addedListener = new FilteredListener(ResourceChangeFilter.all().withKinds(IResourceDelta.ADDED));
+		getWorkspace().addResourceChangeListener(folderListener, IResourceChangeEvent.POST_CHANGE);
+		getWorkspace().addResourceChangeListener(extensionListener, IResourceChangeEvent.POST_CHANGE);
+		getWorkspace().addResourceChangeListener(addedListener, IResourceChangeEvent.POST_CHANGE);
+		try {
+			getWorkspace().run((IWorkspaceRunnable) monitor -> {
+				file1.setContents(getRandomContents(), true, false, getMonitor());
+				file3.setContents(getRandomContents(), true, false, getMonitor());
+			}, getMonitor());
+			assertEquals("1.0", 1, folderListener.deltas.size());
+			IResourceDelta delta = folderListener.deltas.get(0);
+			assertNotNull("1.1", delta.findMember(file3.getFullPath()));
+			assertNull("1.2", delta.findMember(file1.getFullPath()));
+			assertEquals("1.3", 1, delta.getAffectedChildren().length);
+
+			file1.setContents(getRandomContents(), true, false, getMonitor());
+			assertEquals("2.0", 1, folderListener.deltas.size());
+
+			IFile added = folder1.getFile("added.txt");
+			added.create(getRandomContents(), true, getMonitor());
+			assertEquals("3.0", 1, extensionListener.deltas.size());
+			assertNotNull("3.1", extensionListener.deltas.get(0).findMember(added.getFullPath()));
+			assertEquals("3.2", 1, addedListener.deltas.size());
+			assertEquals("3.3", IResourceDelta.ADDED, addedListener.deltas.get(0).findMember(added.getFullPath()).getKind());
+		} catch (CoreException e) {
+			fail("4.0", e);
+		} finally {
+			getWorkspace().removeResourceChangeListener(folderListener);
+			getWorkspace().removeResourceChangeListener(extensionListener);
+			getWorkspace().removeResourceChangeListener(addedListener);
+		}
+	}
+
 	/**
 	 * Tests that phantom members don't show up in resource deltas when standard
 	 * traversal and visitor are used.
@@ -14,8 +14,7 @@
  *******************************************************************************/
 package org.eclipse.core.tests.resources;
 
-import java.util.Arrays;
-import java.util.Map;
+import java.util.*;
 import org.eclipse.core.internal.resources.*;
 import org.eclipse.core.resources.IMarker;
 
@@ -151,4 +150,38 @@ public class MarkerSetTest extends ResourceTest {
 		map2.put(null, 1); // allowed for clients using IMarker.getAttributes()
 		map2.put("0", null);// allowed for clients
 	}
+
+	public void testMarkerAttributeMapIntAttributes() {
+		MarkerAttributeMap map = new MarkerAttributeMap();
+		map.put(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		map.put(IMarker.CHAR_START, 100000);
+		map.put(IMarker.LINE_NUMBER, "not an integer");
+		map.put("custom", 5);
+		assertEquals("1.0", 4, map.size());
+		assertEquals("1.1", IMarker.SEVERITY_ERROR, map.getInt(IMarker.SEVERITY, -1));
+		assertEquals("1.2", 100000, map.get(IMarker.CHAR_START));
+		assertEquals("1.3", "not an integer", map.get(IMarker.LINE_NUMBER));
+		assertEquals("1.4", -1, map.getInt(IMarker.LINE_NUMBER, -1));
+		assertEquals("1.5", 5, map.getInt("custom", -1));
+		assertEquals("1.6", -1, map.getInt(IMarker.CHAR_END, -1));
+
+		// replacing a value changes its representation
+		map.put(IMarker.LINE_NUMBER, 12);
+		map.put(IMarker.SEVERITY, "high");
+		assertEquals("2.0", 4, map.size());
+		assertEquals("2.1", 12, map.getInt(IMarker.LINE_NUMBER, -1));
+		assertEquals("2.2", "high", map.get(IMarker.SEVERITY));
+
+		// copies are independent
+		MarkerAttributeMap copy = new MarkerAttributeMap(map);
+		assertEquals("3.0", 100000, copy.remove(IMarker.CHAR_START));
+		assertNull("3.1", copy.get(IMarker.CHAR_START));
+		assertEquals("3.2", 100000, map.get(IMarker.CHAR_START));
+		Map<String, Object> expected = new HashMap<>();
+		expected.put(IMarker.SEVERITY, "high");
+		expected.put(IMarker.CHAR_START, 100000);
+		expected.put(IMarker.LINE_NUMBER, 12);
+		expected.put("custom", 5);
+		assertEquals("3.3", expected, map.toMap());
+	}
 }
@@ -914,6 +914,132 @@ public class MarkerTest extends ResourceTest {
 
 	}
 
+	/**
+	 * Tests that deep marker queries see the markers of resources that have
+	 * been changed, moved or deleted, both between and during operations.
+	 */
+	public void testFindMarkersAfterChanges() throws CoreException {
+		final IWorkspaceRoot root = getWorkspace().getRoot();
+		IProject project = root.getProject("testFindMarkersAfterChanges");
+		final IFolder folder = project.getFolder("top");
+		final IFolder sub = folder.getFolder("sub");
+		IFile topFile = folder.getFile("a.txt");
+		final IFile subFile = sub.getFile("b.txt");
+		ensureExistsInWorkspace(new IResource[] {project, folder, sub, topFile, subFile}, true);
+
+		final int initialCount = root.findMarkers(null, false, IResource.DEPTH_INFINITE).length;
+		createProblem(topFile, IMarker.SEVERITY_INFO);
+		createProblem(subFile, IMarker.SEVERITY_WARNING);
+		final IMarker rootMarker = root.createMarker(IMarker.BOOKMARK);
+		assertEquals("1.0", 2, project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE).length);
+		assertEquals("1.1", initialCount + 3, root.findMarkers(null, false, IResource.DEPTH_INFINITE).length);
+		assertEquals("1.2", IMarker.SEVERITY_WARNING, project.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE));
+
+		// attribute changes are seen without structural changes
+		IMarker subProblem = subFile.findMarkers(IMarker.PROBLEM, false, IResource.DEPTH_ZERO)[0];
+		subProblem.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		assertEquals("2.0", IMarker.SEVERITY_ERROR, folder.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE));
+
+		// moving a file moves its markers
+		IFile movedFile = project.getFile("c.txt");
+		subFile.move(movedFile.getFullPath(), true, getMonitor());
+		assertEquals("3.0", 1, folder.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE).length);
+		assertEquals("3.1", IMarker.SEVERITY_INFO, folder.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE));
+		assertEquals("3.2", 2, project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE).length);
+
+		// deleting a folder deletes the markers of its subtree
+		folder.delete(true, getMonitor());
+		IMarker[] found = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+		assertEquals("4.0", 1, found.length);
+		assertEquals("4.1", movedFile, found[0].getResource());
+
+		// queries during an operation see the changes of the operation
+		getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			ensureExistsInWorkspace(new IResource[] {folder, sub, subFile}, true);
+			createProblem(subFile, IMarker.SEVERITY_WARNING);
+			rootMarker.delete();
+			assertEquals("5.0", 1, folder.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE).length);
+			assertEquals("5.1", initialCount + 2, root.findMarkers(null, false, IResource.DEPTH_INFINITE).length);
+		}, getMonitor());
+		assertEquals("5.2", 1, folder.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE).length);
+		assertEquals("5.3", initialCount + 2, root.findMarkers(null, false, IResource.DEPTH_INFINITE).length);
+		assertEquals("5.4", IMarker.SEVERITY_ERROR, project.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE));
+	}
+
+	/**
+	 * Tests IWorkspace#replaceMarkers.
+	 */
+	public void testReplaceMarkers() throws CoreException {
+		IProject project = getWorkspace().getRoot().getProject("testReplaceMarkers");
+		IFile file1 = project.getFile("a.txt");
+		IFile file2 = project.getFile("b.txt");
+		IFile file3 = project.getFile("c.txt");
+		ensureExistsInWorkspace(new IResource[] {project, file1, file2, file3}, true);
+
+		IMarker[] oldProblems = new IMarker[] {file1.createMarker(IMarker.PROBLEM), file1.createMarker(IMarker.PROBLEM)};
+		IMarker task = file1.createMarker(IMarker.TASK);
+		IMarker bookmark = file1.createMarker(IMarker.BOOKMARK);
+		IMarker oldProblem2 = file2.createMarker(IMarker.PROBLEM);
+		IMarker oldProblem3 = file3.createMarker(IMarker.PROBLEM);
+
+		Map<String, Object> error = new HashMap<>();
+		error.put(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		error.put(IMarker.MESSAGE, "error");
+		Map<String, Object> warning = new HashMap<>();
+		warning.put(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+		warning.put(IMarker.LINE_NUMBER, 5);
+		Map<IResource, List<Map<String, Object>>> newMarkers = new HashMap<>();
+		newMarkers.put(file1, Arrays.asList(error, error, warning));
+		newMarkers.put(file2, Collections.emptyList());
+
+		MarkersChangeListener listener = new MarkersChangeListener();
+		addResourceChangeListener(listener);
+		try {
+			getWorkspace().replaceMarkers(IMarker.PROBLEM, newMarkers);
+
+			IMarker[] problems = file1.findMarkers(IMarker.PROBLEM, false, IResource.DEPTH_ZERO);
+			assertEquals("1.0", 3, problems.length);
+			assertDoesNotExist("1.1", oldProblems);
+			assertExists("1.2", new IMarker[] {task, bookmark});
+			int errors = 0;
+			for (IMarker problem : problems) {
+				if (problem.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR) {
+					assertEquals("1.3", "error", problem.getAttribute(IMarker.MESSAGE));
+					errors++;
+				} else {
+					assertEquals("1.4", 5, problem.getAttribute(IMarker.LINE_NUMBER, -1));
+				}
+			}
+			assertEquals("1.5", 2, errors);
+
+			assertDoesNotExist("2.0", oldProblem2);
+			assertEquals("2.1", 0, file2.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO).length);
+			assertExists("2.2", oldProblem3);
+
+			assertEquals("3.0", 2, listener.numAffectedResources());
+			assertTrue("3.1", listener.checkChanges(file2, null, new IMarker[] {oldProblem2}, null));
+			assertTrue("3.2", listener.checkChanges(file1, problems, oldProblems, null));
+
+			// markers with equal attributes are independent
+			problems[0].setAttribute(IMarker.MESSAGE, "changed");
+			problems[1].setAttribute(IMarker.MESSAGE, null);
+			for (IMarker problem : problems)
+				assertFalse("4.0", problem != problems[0] && "changed".equals(problem.getAttribute(IMarker.MESSAGE)));
+		} finally {
+			removeResourceChangeListener(listener);
+		}
+
+		// resources that do not exist are rejected
+		newMarkers.clear();
+		newMarkers.put(project.getFile("missing.txt"), Arrays.asList(error));
+		try {
+			getWorkspace().replaceMarkers(IMarker.PROBLEM, newMarkers);
+			fail("5.0");
+		} catch (CoreException e) {
+			// expected
+		}
+	}
+
 	/**
 	 * Tests public API method IMarker#isSubTypeOf
 	 */
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.perf;
+
+import org.eclipse.core.internal.resources.Workspace;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.core.tests.harness.PerformanceTestRunner;
+import org.eclipse.core.tests.resources.ResourceTest;
+
+/**
+ * Benchmarks opening a saved workspace with many projects that have markers
+ * and sync info. Run with -Dorg.eclipse.core.resources.lazyRestore=true to
+ * measure the startup with deferred restore of the projects.
+ * <p>
+ * This test closes and reopens the workspace, which discards all resource
+ * change listeners, so it is not part of {@link AllResourcePerfTests}.
+ * </p>
+ */
+public class WorkspaceStartupPerformanceTest extends ResourceTest {
+	private static final int NUM_PROJECTS = 200;
+	private static final int FILES_PER_PROJECT = 50;
+	private static final int MARKERS_PER_FILE = 5;
+	private static final QualifiedName PARTNER = new QualifiedName("org.eclipse.core.tests.resources", "startup");
+
+	private void createProjects() {
+		IWorkspaceRunnable runnable = monitor -> {
+			for (int i = 0; i < NUM_PROJECTS; i++) {
+				IProject project = getWorkspace().getRoot().getProject("Project" + i);
+				project.create(null);
+				project.open(null);
+				for (int j = 0; j < FILES_PER_PROJECT; j++) {
+					IFile file = project.getFile("file" + j);
+					file.create(getRandomContents(), true, null);
+					for (int k = 0; k < MARKERS_PER_FILE; k++) {
+						IMarker marker = file.createMarker(IMarker.PROBLEM);
+						marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+						marker.setAttribute(IMarker.MESSAGE, "Problem " + k);
+					}
+					getWorkspace().getSynchronizer().setSyncInfo(PARTNER, file, new byte[] {(byte) j});
+				}
+			}
+		};
+		try {
+			getWorkspace().run(runnable, null);
+		} catch (CoreException e) {
+			fail("1.0", e);
+		}
+	}
+
+	public void testOpenWorkspace() {
+		getWorkspace().getSynchronizer().add(PARTNER);
+		createProjects();
+		final Workspace workspace = (Workspace) getWorkspace();
+		new PerformanceTestRunner() {
+			@Override
+			protected void setUp() throws CoreException {
+				workspace.save(true, null);
+				workspace.close(null);
+			}
+
+			@Override
+			protected void test() {
+				try {
+					workspace.open(null);
+				} catch (CoreException e) {
+					fail("2.0", e);
+				}
+			}
+		}.run(this, 10, 1);
+
+		// all projects are restored, during startup or when accessed
+		IProject project = getWorkspace().getRoot().getProject("Project" + (NUM_PROJECTS - 1));
+		try {
+			IMarker[] markers = project.findMarkers(IMarker.PROBLEM, false, IResource.DEPTH_INFINITE);
+			assertEquals("3.0", FILES_PER_PROJECT * MARKERS_PER_FILE, markers.length);
+			assertNotNull("3.1", getWorkspace().getSynchronizer().getSyncInfo(PARTNER, project.getFile("file0")));
+		} catch (CoreException e) {
+			fail("3.2", e);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		getWorkspace().getSynchronizer().remove(PARTNER);
+		super.tearDown();
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.resources.refresh;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.internal.resources.refresh.nio.NioMonitor;
+import org.eclipse.core.internal.resources.refresh.nio.NioRefreshProvider;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.resources.refresh.IRefreshMonitor;
+import org.eclipse.core.resources.refresh.IRefreshResult;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.core.tests.resources.ResourceTest;
+
+/**
+ * Tests the watch service based refresh provider.
+ */
+public class NioRefreshProviderTest extends ResourceTest {
+	private static final long TIMEOUT = 20000;
+
+	private boolean originalRefreshSetting;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		//turn on autorefresh
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(ResourcesPlugin.PI_RESOURCES);
+		originalRefreshSetting = prefs.getBoolean(ResourcesPlugin.PREF_AUTO_REFRESH, false);
+		prefs.putBoolean(ResourcesPlugin.PREF_AUTO_REFRESH, true);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		//turn off autorefresh
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(ResourcesPlugin.PI_RESOURCES);
+		prefs.putBoolean(ResourcesPlugin.PREF_AUTO_REFRESH, originalRefreshSetting);
+	}
+
+	private boolean isSupported() {
+		return Platform.OS_LINUX.equals(Platform.getOS());
+	}
+
+	private void waitUntilExists(IResource resource) {
+		long start = System.currentTimeMillis();
+		while (!resource.exists() && System.currentTimeMillis() - start < TIMEOUT) {
+			waitForRefresh();
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				//ignore
+			}
+		}
+	}
+
+	/**
+	 * Files created outside of the workspace, also in newly created folders,
+	 * must be picked up without waiting for the polling monitor.
+	 */
+	public void testExternalCreation() throws Exception {
+		if (!isSupported())
+			return;
+		IProject project = getWorkspace().getRoot().getProject(getUniqueString());
+		ensureExistsInWorkspace(project, true);
+		waitForRefresh();
+
+		IFile file = project.getFile("file.txt");
+		createFileInFileSystem(file.getLocation());
+		waitUntilExists(file);
+		assertTrue("1.0", file.exists());
+
+		IFolder folder = project.getFolder("folder");
+		IFile nested = folder.getFile("nested.txt");
+		folder.getLocation().toFile().mkdir();
+		waitUntilExists(folder);
+		assertTrue("2.0", folder.exists());
+		createFileInFileSystem(nested.getLocation());
+		waitUntilExists(nested);
+		assertTrue("2.1", nested.exists());
+	}
+
+	/**
+	 * The provider installs a watch service based monitor for projects, and that
+	 * monitor reports external changes itself, independently of the polling
+	 * monitor of the workspace.
+	 */
+	public void testMonitorReportsChanges() throws Exception {
+		if (!isSupported())
+			return;
+		IProject project = getWorkspace().getRoot().getProject(getUniqueString());
+		ensureExistsInWorkspace(project, true);
+		Set<IResource> refreshed = ConcurrentHashMap.newKeySet();
+		IRefreshResult result = new IRefreshResult() {
+			@Override
+			public void monitorFailed(IRefreshMonitor monitor, IResource resource) {
+				fail("1.0 " + resource);
+			}
+
+			@Override
+			public void refresh(IResource resource) {
+				refreshed.add(resource);
+			}
+		};
+		IRefreshMonitor monitor = new NioRefreshProvider().installMonitor(project, result, getMonitor());
+		assertTrue("2.0", monitor instanceof NioMonitor);
+		try {
+			IFile file = project.getFile("file.txt");
+			createFileInFileSystem(file.getLocation());
+			long start = System.currentTimeMillis();
+			while (refreshed.isEmpty() && System.currentTimeMillis() - start < TIMEOUT)
+				Thread.sleep(100);
+			assertFalse("3.0", refreshed.isEmpty());
+			for (IResource resource : refreshed)
+				assertTrue("3.1 " + resource, resource.getFullPath().isPrefixOf(file.getFullPath()));
+		} finally {
+			monitor.unmonitor(null);
+		}
+	}
+
+	/**
+	 * Files are never monitored directly.
+	 */
+	public void testFilesNotMonitored() {
+		IProject project = getWorkspace().getRoot().getProject(getUniqueString());
+		IFile file = project.getFile("file.txt");
+		ensureExistsInWorkspace(file, true);
+		assertNull("1.0", new NioRefreshProvider().installMonitor(file, null, getMonitor()));
+	}
+}
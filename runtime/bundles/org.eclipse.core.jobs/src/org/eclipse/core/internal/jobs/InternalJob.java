@@ -138,6 +138,28 @@ public abstract class InternalJob extends PlatformObject implements Comparable<I
 	 */
 	private long waitQueueStamp = T_NONE;
 
+	/**
+	 * Stamp added when a job becomes known to the job manager, i.e. when it
+	 * enters a queue or the running set. Used as the key of the job in the
+	 * manager's table of live jobs.
+	 * @GuardedBy("manager.lock")
+	 */
+	private long liveStamp = T_NONE;
+
+	/**
+	 * The families this job has declared up front, or <code>null</code> if the
+	 * job only answers family membership through {@link #belongsTo(Object)}.
+	 * Can only change while the job is not scheduled.
+	 */
+	private volatile Object[] families;
+
+	/**
+	 * The timestamps used to record scheduling metrics, or <code>null</code>
+	 * if metrics are not recorded for this job.
+	 * @GuardedBy("manager.lock")
+	 */
+	private JobMetrics.Timing timing;
+
 	/*
 	 * The thread that is currently running this job
 	 */
@@ -192,7 +214,7 @@ public abstract class InternalJob extends PlatformObject implements Comparable<I
 	}
 
 	protected boolean belongsTo(Object family) {
-		return false;
+		return isDeclaredFamily(family);
 	}
 
 	protected boolean cancel() {
@@ -511,6 +533,17 @@ public abstract class InternalJob extends PlatformObject implements Comparable<I
 		startTime = time;
 	}
 
+	protected void setFamilies(Object... families) {
+		Assert.isLegal(families != null, "families should not be null"); //$NON-NLS-1$
+		for (Object family : families)
+			Assert.isLegal(family != null, "family should not be null"); //$NON-NLS-1$
+		synchronized (jobStateLock) {
+			if (getState() != Job.NONE)
+				throw new IllegalStateException();
+			this.families = families.clone();
+		}
+	}
+
 	protected void setSystem(boolean value) {
 		synchronized (jobStateLock) {
 			if (getState() != Job.NONE)
@@ -574,4 +607,68 @@ public abstract class InternalJob extends PlatformObject implements Comparable<I
 		return waitQueueStamp;
 	}
 
+	/**
+	 * @param liveStamp The liveStamp to set.
+	 * @GuardedBy("manager.lock")
+	 */
+	void setLiveStamp(long liveStamp) {
+		this.liveStamp = liveStamp;
+	}
+
+	/**
+	 * @return Returns the liveStamp.
+	 * @GuardedBy("manager.lock")
+	 */
+	long getLiveStamp() {
+		return liveStamp;
+	}
+
+	/**
+	 * Returns the families declared with {@link #setFamilies(Object...)}, or
+	 * <code>null</code> if this job has not declared its families.
+	 */
+	final Object[] getDeclaredFamilies() {
+		return families;
+	}
+
+	/**
+	 * Returns whether the given family is one of the declared families of this job.
+	 */
+	final boolean isDeclaredFamily(Object family) {
+		Object[] declared = families;
+		if (declared == null)
+			return false;
+		for (Object element : declared) {
+			if (element.equals(family))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether this job belongs to the given family. Jobs that declared
+	 * their families are matched against them without calling client code.
+	 */
+	final boolean isMemberOf(Object family) {
+		if (families != null)
+			return isDeclaredFamily(family);
+		return belongsTo(family);
+	}
+
+	/**
+	 * @return Returns the metrics timing.
+	 * @GuardedBy("manager.lock")
+	 */
+	JobMetrics.Timing getTiming() {
+		return timing;
+	}
+
+	/**
+	 * @param timing The metrics timing to set.
+	 * @GuardedBy("manager.lock")
+	 */
+	void setTiming(JobMetrics.Timing timing) {
+		this.timing = timing;
+	}
+
 }
@@ -25,6 +25,8 @@
 package org.eclipse.core.internal.jobs;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import org.eclipse.core.internal.runtime.RuntimeLog;
@@ -154,6 +156,11 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 */
 	private WorkerPool pool;
 
+	/**
+	 * The scheduling metrics of this manager.
+	 */
+	private final JobMetrics metrics;
+
 	/**
 	 * @GuardedBy("lock")
 	 */
@@ -164,6 +171,13 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 */
 	private final HashSet<InternalJob> running;
 
+	/**
+	 * Index of the scheduling rules of running and blocked jobs. Should only be
+	 * modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private final RuleIndex ruleIndex = new RuleIndex();
+
 	/**
 	 * Jobs that are currently yielding. Should only be modified from changeState
 	 * @GuardedBy("lock")
@@ -181,10 +195,10 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 * True if this manager has been suspended, and false otherwise.  A job manager
 	 * starts out not suspended, and becomes suspended when <code>suspend</code>
 	 * is invoked. Once suspended, no jobs will start running until <code>resume</code>
-	 * is called.
+	 * is called. Only written while holding the lock, but read without it.
 	 * @GuardedBy("lock")
 	 */
-	private boolean suspended = false;
+	private volatile boolean suspended = false;
 
 	/**
 	 * jobs that are waiting to be run. Should only be modified from changeState
@@ -204,6 +218,43 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 */
 	private final AtomicLong waitQueueCounter = new AtomicLong();
 
+	/**
+	 * Jobs that are waiting, sleeping, blocked, yielding or running, keyed by the
+	 * order in which they became known to the manager. Family queries iterate this
+	 * table without holding the lock. Should only be modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private final ConcurrentSkipListMap<Long, InternalJob> liveJobs = new ConcurrentSkipListMap<>();
+
+	/**
+	 * The live jobs that have not declared their families, keyed like
+	 * {@link #liveJobs}. Family queries have to ask each of them whether it
+	 * belongs to the family. Should only be modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private final ConcurrentSkipListMap<Long, InternalJob> undeclaredJobs = new ConcurrentSkipListMap<>();
+
+	/**
+	 * The live jobs that have declared their families, by family, keyed like
+	 * {@link #liveJobs}. Should only be modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private final ConcurrentHashMap<Object, ConcurrentSkipListMap<Long, InternalJob>> familyIndex = new ConcurrentHashMap<>();
+
+	/**
+	 * Counter to record the order in which jobs become live.
+	 * @GuardedBy("lock")
+	 */
+	private long liveJobCounter;
+
+	/**
+	 * The number of jobs that are running or waiting to run. Only written while
+	 * holding the lock, but read without it by {@link #isIdle()}. Should only be
+	 * modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private volatile int busyJobCount;
+
 	/**
 	 * A set of progress monitors we must track cancellation requests for.
 	 * @GuardedBy("itself")
@@ -298,7 +349,10 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			yielding = new HashSet<>(10);
 			pool = new WorkerPool(this);
 		}
+		metrics = new JobMetrics(pool);
+		metrics.setEnabled(JobOSGiUtils.getDefault().recordMetrics());
 		pool.setDaemon(JobOSGiUtils.getDefault().useDaemonThreads());
+		pool.setVirtual(JobOSGiUtils.getDefault().useVirtualThreads());
 		internalWorker = new InternalWorker(this);
 		internalWorker.setDaemon(JobOSGiUtils.getDefault().useDaemonThreads());
 		internalWorker.start();
@@ -407,6 +461,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			case InternalJob.BLOCKED:
 				// remove this job from the linked list of blocked jobs
 				job.remove();
+				ruleIndex.remove(job);
 				break;
 			case Job.WAITING:
 				try {
@@ -425,6 +480,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			case Job.RUNNING:
 			case InternalJob.ABOUT_TO_RUN:
 				running.remove(job);
+				ruleIndex.remove(job);
 				// add any blocked jobs back to the wait queue
 				InternalJob blocked = job.previous();
 				job.remove();
@@ -444,7 +500,9 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 				job.setStartTime(InternalJob.T_NONE);
 				job.setWaitQueueStamp(InternalJob.T_NONE);
 				job.setRunCanceled(false);
+				break;
 			case InternalJob.BLOCKED:
+				ruleIndex.add(job);
 				break;
 			case Job.WAITING:
 				waiting.enqueue(job);
@@ -462,6 +520,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 				job.setStartTime(InternalJob.T_NONE);
 				job.setWaitQueueStamp(InternalJob.T_NONE);
 				running.add(job);
+				ruleIndex.add(job);
 				break;
 			case InternalJob.YIELDING:
 				yielding.add(job);
@@ -470,6 +529,8 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			default:
 				Assert.isLegal(false, "Invalid job state: " + job + ", state: " + newState); //$NON-NLS-1$ //$NON-NLS-2$
 			}
+			updateLiveJobs(job, oldState, newState);
+			metrics.stateChanged(job, oldState, newState);
 		}
 
 		InternalJobGroup jobGroup = job.getJobGroup();
@@ -482,6 +543,64 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			pool.jobQueued();
 	}
 
+	/**
+	 * Updates the table of live jobs and the busy job count for a job that
+	 * moved from the given old state to the given new state.
+	 */
+	private void updateLiveJobs(InternalJob job, int oldState, int newState) {
+		boolean wasLive = isLive(oldState);
+		boolean live = isLive(newState);
+		if (wasLive && !live) {
+			Long stamp = job.getLiveStamp();
+			liveJobs.remove(stamp, job);
+			Object[] families = job.getDeclaredFamilies();
+			if (families == null) {
+				undeclaredJobs.remove(stamp, job);
+			} else {
+				for (Object family : families) {
+					ConcurrentSkipListMap<Long, InternalJob> members = familyIndex.get(family);
+					if (members != null) {
+						members.remove(stamp, job);
+						if (members.isEmpty())
+							familyIndex.remove(family, members);
+					}
+				}
+			}
+			job.setLiveStamp(InternalJob.T_NONE);
+		} else if (live && !wasLive) {
+			Long stamp = liveJobCounter++;
+			job.setLiveStamp(stamp);
+			liveJobs.put(stamp, job);
+			Object[] families = job.getDeclaredFamilies();
+			if (families == null) {
+				undeclaredJobs.put(stamp, job);
+			} else {
+				for (Object family : families) {
+					familyIndex.computeIfAbsent(family, f -> new ConcurrentSkipListMap<>()).put(stamp, job);
+				}
+			}
+		}
+		int delta = (isBusy(newState) ? 1 : 0) - (isBusy(oldState) ? 1 : 0);
+		if (delta != 0)
+			busyJobCount += delta;
+	}
+
+	/**
+	 * Returns whether a job in the given internal state is in one of the queues
+	 * or sets of the job manager.
+	 */
+	private static boolean isLive(int state) {
+		return state != Job.NONE && state != InternalJob.ABOUT_TO_SCHEDULE;
+	}
+
+	/**
+	 * Returns whether a job in the given internal state is running or in the wait
+	 * queue.
+	 */
+	private static boolean isBusy(int state) {
+		return state == Job.WAITING || state == Job.RUNNING || state == InternalJob.ABOUT_TO_RUN;
+	}
+
 	/**
 	 * Returns a new progress monitor for this job, belonging to the given
 	 * progress group.  Returns null if it is not a valid time to set the job's group.
@@ -551,6 +670,9 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		Thread current = Thread.currentThread();
 		if (current instanceof Worker)
 			return ((Worker) current).currentJob();
+		JobRunner runner = JobRunner.current();
+		if (runner != null)
+			return runner.currentJob();
 		synchronized (lock) {
 			for (InternalJob internalJob : running) {
 				Job job = (Job) internalJob;
@@ -654,6 +776,12 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			//discard any jobs that have not yet started running
 			sleeping.clear();
 			waiting.clear();
+			for (InternalJob job : liveJobs.values()) {
+				int state = job.internalGetState();
+				if (state == Job.WAITING || state == Job.SLEEPING)
+					updateLiveJobs(job, state, Job.NONE);
+			}
+			busyJobCount = running.size();
 		}
 
 		// Give running jobs a chance to finish. Wait 0.1 seconds for up to 3 times.
@@ -709,6 +837,11 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		synchronized (lock) {
 			//discard reference to any jobs still running at this point
 			running.clear();
+			ruleIndex.clear();
+			liveJobs.clear();
+			undeclaredJobs.clear();
+			familyIndex.clear();
+			busyJobCount = 0;
 		}
 
 		pool.shutdown();
@@ -744,6 +877,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 				jobListeners.queueDone((Job) job, result, reschedule);
 			}
 			if (reschedule) {
+				metrics.rescheduled(job);
 				// adds to #sleeping or #waiting
 				return scheduleInternal(job, rescheduleDelay, reschedule);
 			}
@@ -777,6 +911,11 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		return members.toArray(new Job[members.size()]);
 	}
 
+	@Override
+	public IJobMetrics getMetrics() {
+		return metrics;
+	}
+
 	List<Job> find(InternalJobGroup jobGroup) {
 		Assert.isLegal(jobGroup != null, "jobGroup should not be null"); //$NON-NLS-1$
 		synchronized (lock) {
@@ -791,11 +930,16 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 * jobs whose scheduling rule conflicts with its rule.
 	 */
 	protected InternalJob findBlockingJob(InternalJob waitingJob) {
-		if (waitingJob.getRule() == null)
+		ISchedulingRule rule = waitingJob.getRule();
+		if (rule == null)
 			return null;
 		synchronized (lock) {
 			if (running.isEmpty())
 				return null;
+			//rules made of hierarchical rules only can be looked up in the index
+			IHierarchicalSchedulingRule[] components = RuleIndex.components(rule);
+			if (components != null)
+				return ruleIndex.findBlockingJob(waitingJob, components);
 			//check the running jobs
 			boolean hasBlockedJobs = false;
 			for (InternalJob job : running) {
@@ -849,6 +993,15 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		}
 	}
 
+	/**
+	 * Sets whether new worker threads are virtual threads. The job manager
+	 * reads this from {@link IJobManager#PROP_USE_VIRTUAL_THREADS} when it is
+	 * created; this method is only intended for tests.
+	 */
+	public void setVirtualThreads(boolean value) {
+		pool.setVirtual(value);
+	}
+
 	public LockManager getLockManager() {
 		return lockManager;
 	}
@@ -904,16 +1057,12 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 
 	@Override
 	public boolean isIdle() {
-		synchronized (lock) {
-			return running.isEmpty() && waiting.isEmpty();
-		}
+		return busyJobCount == 0;
 	}
 
 	@Override
 	public boolean isSuspended() {
-		synchronized (lock) {
-			return suspended;
-		}
+		return suspended;
 	}
 
 	protected boolean join(InternalJob job, long timeout, IProgressMonitor monitor) throws InterruptedException {
@@ -1001,7 +1150,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 					@Override
 					public void done(IJobChangeEvent event) {
 						Job job = event.getJob();
-						if (family == null || job.belongsTo(family)) {
+						if (family == null || ((InternalJob) job).isMemberOf(family)) {
 							// don't remove from list if job is being rescheduled
 							if (((JobChangeEvent) event).reschedule) {
 								return;
@@ -1019,7 +1168,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 					@Override
 					public void running(IJobChangeEvent event) {
 						Job job = event.getJob();
-						if (family == null || job.belongsTo(family)) {
+						if (family == null || ((InternalJob) job).isMemberOf(family)) {
 							// Rarely really adds, as it was in most cases already was added by scheduled().
 							// But may happen - for example in
 							// IJobManagerTest.testJobFamilyJoinLockListener():
@@ -1031,7 +1180,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 					@Override
 					public void scheduled(IJobChangeEvent event) {
 						Job job = event.getJob();
-						if (family == null || job.belongsTo(family)) {
+						if (family == null || ((InternalJob) job).isMemberOf(family)) {
 							// don't add to list if job is being rescheduled
 							if (((JobChangeEvent) event).reschedule)
 								return;
@@ -1405,21 +1554,6 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		return true;
 	}
 
-	/**
-	 * Adds all family members in the list of jobs to the collection
-	 */
-	private void select(List<InternalJob> members, Object family, InternalJob firstJob, int stateMask) {
-		if (firstJob == null)
-			return;
-		InternalJob job = firstJob;
-		do {
-			//note that job state cannot be NONE at this point
-			if ((family == null || job.belongsTo(family)) && ((job.getState() & stateMask) != 0))
-				members.add(job);
-			job = job.previous();
-		} while (job != null && job != firstJob);
-	}
-
 	/**
 	 * Returns a list of all jobs known to the job manager that belong to the given family.
 	 */
@@ -1429,24 +1563,39 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 
 	/**
 	 * Returns a list of all jobs known to the job manager that belong to the given
-	 * family and are in one of the provided states.
+	 * family and are in one of the provided states, in the order in which they
+	 * became known to the manager. Does not need to hold the lock: the tables of
+	 * live jobs can be iterated concurrently with state changes, and callers
+	 * that need a result consistent with later state changes hold the lock.
 	 */
 	private List<InternalJob> select(Object family, int stateMask) {
 		List<InternalJob> members = new ArrayList<>();
-		synchronized (lock) {
-			if ((stateMask & Job.RUNNING) != 0) {
-				for (InternalJob internalJob : running) {
-					select(members, family, internalJob, stateMask);
-				}
+		if (family == null) {
+			for (InternalJob job : liveJobs.values()) {
+				if ((job.getState() & stateMask) != 0)
+					members.add(job);
 			}
-			if ((stateMask & Job.WAITING) != 0) {
-				select(members, family, waiting.peek(), stateMask);
-				for (InternalJob internalJob : yielding) {
-					select(members, family, internalJob, stateMask);
-				}
+			return members;
+		}
+		//jobs that declared the family come from the index, the others have to be asked
+		ConcurrentSkipListMap<Long, InternalJob> declared = familyIndex.get(family);
+		if (declared == null || declared.isEmpty()) {
+			for (InternalJob job : undeclaredJobs.values()) {
+				if ((job.getState() & stateMask) != 0 && job.belongsTo(family))
+					members.add(job);
 			}
-			if ((stateMask & Job.SLEEPING) != 0)
-				select(members, family, sleeping.peek(), stateMask);
+			return members;
+		}
+		TreeMap<Long, InternalJob> matches = new TreeMap<>(declared);
+		for (Map.Entry<Long, InternalJob> entry : undeclaredJobs.entrySet()) {
+			//belongsTo is client code, only ask jobs in the requested states
+			InternalJob job = entry.getValue();
+			if ((job.getState() & stateMask) != 0 && job.belongsTo(family))
+				matches.put(entry.getKey(), job);
+		}
+		for (InternalJob job : matches.values()) {
+			if ((job.getState() & stateMask) != 0)
+				members.add(job);
 		}
 		return members;
 	}
@@ -1737,7 +1886,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 * Returns the next job to be run, or null if no jobs are waiting to run.
 	 * The worker must call endJob when the job is finished running.
 	 */
-	protected Job startJob(Worker worker) {
+	protected Job startJob(Thread worker) {
 		Job job = null;
 		while (true) {
 			job = nextJob();
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.jobs;
+
+import java.util.*;
+import org.eclipse.core.runtime.jobs.*;
+
+/**
+ * Records the scheduling metrics of the job manager. The job manager reports
+ * state changes of jobs from changeState, so the timestamps of a job are
+ * guarded by the job manager lock. The statistics themselves are lock-free
+ * and can be read at any time.
+ * <p>
+ * The statistics are keyed weakly by job class and family, so recording
+ * metrics does not keep classes of unloaded bundles or family objects alive.
+ * </p>
+ */
+class JobMetrics implements IJobMetrics {
+	/**
+	 * The timestamps of a job that is waiting, blocked or running.
+	 * @GuardedBy("manager.lock")
+	 */
+	static final class Timing {
+		/**
+		 * Time the job entered the wait queue, or 0 if it is not waiting.
+		 */
+		long queued;
+		/**
+		 * Time the job was blocked, or 0 if it is not blocked.
+		 */
+		long blockedSince;
+		/**
+		 * Time spent blocked since the job entered the wait queue.
+		 */
+		long blocked;
+		/**
+		 * Time the job started running, or 0 if it is not running.
+		 */
+		long started;
+	}
+
+	private final WorkerPool pool;
+
+	private volatile boolean enabled;
+
+	private final Map<Class<?>, JobStatistics> jobClasses = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final Map<Object, JobStatistics> families = Collections.synchronizedMap(new WeakHashMap<>());
+
+	JobMetrics(WorkerPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public void reset() {
+		jobClasses.clear();
+		families.clear();
+	}
+
+	/**
+	 * Notification that the given job moved from the given old state to the
+	 * given new state. Must be called from JobManager#changeState.
+	 */
+	void stateChanged(InternalJob job, int oldState, int newState) {
+		Timing timing = job.getTiming();
+		if (timing == null) {
+			if (!enabled || newState == Job.NONE)
+				return;
+			timing = new Timing();
+			job.setTiming(timing);
+		}
+		long now = System.nanoTime();
+		if (oldState == InternalJob.BLOCKED && timing.blockedSince != 0) {
+			timing.blocked += now - timing.blockedSince;
+			timing.blockedSince = 0;
+		}
+		switch (newState) {
+			case Job.WAITING :
+				if (timing.queued == 0)
+					timing.queued = now;
+				break;
+			case InternalJob.BLOCKED :
+				timing.blockedSince = now;
+				break;
+			case Job.SLEEPING :
+				timing.queued = 0;
+				timing.blocked = 0;
+				break;
+			case InternalJob.ABOUT_TO_RUN :
+			case Job.RUNNING :
+				if (timing.queued != 0) {
+					long waited = now - timing.queued;
+					long blocked = timing.blocked;
+					if (enabled) {
+						for (JobStatistics statistics : statisticsFor(job)) {
+							if (statistics == null)
+								continue;
+							statistics.waitTime.record(waited - blocked);
+							statistics.blockedTime.record(blocked);
+						}
+					}
+					timing.queued = 0;
+					timing.blocked = 0;
+				}
+				//resuming after yield continues the same run
+				if (timing.started == 0)
+					timing.started = now;
+				break;
+			case Job.NONE :
+				if (enabled && timing.started != 0 && oldState == Job.RUNNING) {
+					long ran = now - timing.started;
+					for (JobStatistics statistics : statisticsFor(job)) {
+						if (statistics != null)
+							statistics.runTime.record(ran);
+					}
+				}
+				job.setTiming(null);
+				break;
+			default :
+				break;
+		}
+	}
+
+	/**
+	 * Notification that the given job is rescheduled when it is done.
+	 */
+	void rescheduled(InternalJob job) {
+		if (!enabled)
+			return;
+		for (JobStatistics statistics : statisticsFor(job)) {
+			if (statistics != null)
+				statistics.reschedules.increment();
+		}
+	}
+
+	/**
+	 * Returns the statistics of the class and of the declared families of the
+	 * given job. The returned array may contain null elements.
+	 */
+	private JobStatistics[] statisticsFor(InternalJob job) {
+		Object[] declared = job.getDeclaredFamilies();
+		JobStatistics[] result = new JobStatistics[1 + (declared == null ? 0 : declared.length)];
+		result[0] = jobClasses.computeIfAbsent(job.getClass(), c -> new JobStatistics(c.getName()));
+		if (declared != null) {
+			for (int i = 0; i < declared.length; i++)
+				result[i + 1] = families.computeIfAbsent(declared[i], f -> new JobStatistics(String.valueOf(f)));
+		}
+		return result;
+	}
+
+	@Override
+	public IJobStatistics[] getJobClassStatistics() {
+		return jobClasses.values().toArray(new IJobStatistics[0]);
+	}
+
+	@Override
+	public IJobStatistics getJobClassStatistics(Class<?> jobClass) {
+		return jobClasses.get(jobClass);
+	}
+
+	@Override
+	public IJobStatistics[] getFamilyStatistics() {
+		return families.values().toArray(new IJobStatistics[0]);
+	}
+
+	@Override
+	public IJobStatistics getFamilyStatistics(Object family) {
+		return families.get(family);
+	}
+
+	@Override
+	public int getWorkerCount() {
+		return pool.getThreadCount();
+	}
+
+	@Override
+	public int getBusyWorkerCount() {
+		return pool.getBusyThreadCount();
+	}
+
+	@Override
+	public int getPeakWorkerCount() {
+		return pool.getPeakThreadCount();
+	}
+
+	@Override
+	public String toJSON() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\"enabled\":").append(enabled); //$NON-NLS-1$
+		json.append(",\"workers\":{\"count\":").append(getWorkerCount()); //$NON-NLS-1$
+		json.append(",\"busy\":").append(getBusyWorkerCount()); //$NON-NLS-1$
+		json.append(",\"peak\":").append(getPeakWorkerCount()).append('}');
+		json.append(",\"jobClasses\":"); //$NON-NLS-1$
+		appendStatistics(json, getJobClassStatistics());
+		json.append(",\"families\":"); //$NON-NLS-1$
+		appendStatistics(json, getFamilyStatistics());
+		return json.append('}').toString();
+	}
+
+	private static void appendStatistics(StringBuilder json, IJobStatistics[] statistics) {
+		json.append('[');
+		for (int i = 0; i < statistics.length; i++) {
+			if (i > 0)
+				json.append(',');
+			json.append("{\"name\":"); //$NON-NLS-1$
+			appendString(json, statistics[i].getName());
+			json.append(",\"reschedules\":").append(statistics[i].getRescheduleCount()); //$NON-NLS-1$
+			json.append(",\"waitTime\":"); //$NON-NLS-1$
+			appendHistogram(json, statistics[i].getWaitTime());
+			json.append(",\"blockedTime\":"); //$NON-NLS-1$
+			appendHistogram(json, statistics[i].getBlockedTime());
+			json.append(",\"runTime\":"); //$NON-NLS-1$
+			appendHistogram(json, statistics[i].getRunTime());
+			json.append('}');
+		}
+		json.append(']');
+	}
+
+	private static void appendHistogram(StringBuilder json, IDurationHistogram histogram) {
+		json.append("{\"count\":").append(histogram.getCount()); //$NON-NLS-1$
+		json.append(",\"totalNanos\":").append(histogram.getTotal()); //$NON-NLS-1$
+		json.append(",\"maxNanos\":").append(histogram.getMax()); //$NON-NLS-1$
+		json.append(",\"p50Nanos\":").append(histogram.getPercentile(50)); //$NON-NLS-1$
+		json.append(",\"p90Nanos\":").append(histogram.getPercentile(90)); //$NON-NLS-1$
+		json.append(",\"p99Nanos\":").append(histogram.getPercentile(99)); //$NON-NLS-1$
+		json.append('}');
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' :
+				case '\\' :
+					json.append('\\').append(c);
+					break;
+				case '\n' :
+					json.append("\\n"); //$NON-NLS-1$
+					break;
+				case '\r' :
+					json.append("\\r"); //$NON-NLS-1$
+					break;
+				case '\t' :
+					json.append("\\t"); //$NON-NLS-1$
+					break;
+				default :
+					if (c < 0x20)
+						json.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					else
+						json.append(c);
+			}
+		}
+		json.append('"');
+	}
+}
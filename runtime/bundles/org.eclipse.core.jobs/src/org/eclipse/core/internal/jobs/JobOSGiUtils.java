@@ -108,4 +108,28 @@ class JobOSGiUtils {
 			return false;
 		return "true".equalsIgnoreCase(value); //$NON-NLS-1$
 	}
+
+	/**
+	 * Calculates whether the job plugin should run jobs on virtual threads.
+	 * Virtual threads are only used if explicitly requested.
+	 * @return <code>true</code> if worker threads should be virtual threads,
+	 * and <code>false</code> otherwise.
+	 */
+	boolean useVirtualThreads() {
+		BundleContext context = JobActivator.getContext();
+		String value = context == null ? System.getProperty(IJobManager.PROP_USE_VIRTUAL_THREADS) : context.getProperty(IJobManager.PROP_USE_VIRTUAL_THREADS);
+		return "true".equalsIgnoreCase(value); //$NON-NLS-1$
+	}
+
+	/**
+	 * Calculates whether the job manager should record scheduling metrics from
+	 * startup. Metrics are only recorded if explicitly requested.
+	 * @return <code>true</code> if metrics should be recorded, and <code>false</code>
+	 * otherwise.
+	 */
+	boolean recordMetrics() {
+		BundleContext context = JobActivator.getContext();
+		String value = context == null ? System.getProperty(IJobManager.PROP_RECORD_METRICS) : context.getProperty(IJobManager.PROP_RECORD_METRICS);
+		return "true".equalsIgnoreCase(value); //$NON-NLS-1$
+	}
 }
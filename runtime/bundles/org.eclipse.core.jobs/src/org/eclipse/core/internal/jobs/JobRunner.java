@@ -0,0 +1,142 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.jobs;
+
+import org.eclipse.core.internal.runtime.RuntimeLog;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Processes jobs supplied by the worker pool on a worker thread. When the
+ * worker pool gives it a null job, the runner ends and its thread dies.
+ * <p>
+ * The thread is either a {@link Worker}, or a virtual thread when the pool
+ * is configured to use virtual threads.
+ */
+final class JobRunner implements Runnable {
+	/**
+	 * The runner of the current thread, if it is a worker thread.
+	 */
+	private static final ThreadLocal<JobRunner> CURRENT = new ThreadLocal<>();
+	// worker number used for debugging purposes only
+	private static int nextWorkerNumber = 0;
+	private volatile InternalJob currentJob;
+	private final WorkerPool pool;
+	private final String generalName;
+	private Thread thread;
+
+	JobRunner(WorkerPool pool) {
+		this.generalName = "Worker-" + nextWorkerNumber++; //$NON-NLS-1$
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the runner of the current thread, or null if the current thread
+	 * is not a worker thread.
+	 */
+	static JobRunner current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Returns the currently running job, or null if none.
+	 */
+	Job currentJob() {
+		return (Job) currentJob;
+	}
+
+	String getGeneralName() {
+		return generalName;
+	}
+
+	Thread getThread() {
+		return thread;
+	}
+
+	void setThread(Thread thread) {
+		this.thread = thread;
+	}
+
+	private IStatus handleException(InternalJob job, Throwable t) {
+		String message = NLS.bind(JobMessages.jobs_internalError, job.getName());
+		return new Status(IStatus.ERROR, JobManager.PI_JOBS, JobManager.PLUGIN_ERROR, message, t);
+	}
+
+	@Override
+	public void run() {
+		CURRENT.set(this);
+		setNormPriority();
+		try {
+			while ((currentJob = pool.startJob(this)) != null) {
+				IStatus result = Status.OK_STATUS;
+				IProgressMonitor monitor = currentJob.getProgressMonitor();
+				try {
+					thread.setName(getJobName());
+					result = currentJob.run(monitor);
+				} catch (OperationCanceledException e) {
+					result = Status.CANCEL_STATUS;
+				} catch (ThreadDeath e) {
+					// must not consume thread death
+					result = handleException(currentJob, e);
+					throw e;
+				} catch (Exception | Error e) {
+					result = handleException(currentJob, e);
+				} finally {
+					if (result != Job.ASYNC_FINISH && monitor != null) {
+						monitor.done();
+					}
+					// clear interrupted state for this thread
+					Thread.interrupted();
+					// result must not be null
+					if (result == null) {
+						String message = NLS.bind(JobMessages.jobs_returnNoStatus, currentJob.getClass().getName());
+						result = handleException(currentJob, new NullPointerException(message));
+					}
+					pool.endJob(currentJob, result);
+					currentJob = null;
+					thread.setName(generalName);
+					// reset thread priority in case job changed it
+					setNormPriority();
+				}
+			}
+		} catch (Throwable t) {
+			RuntimeLog.log(new Status(IStatus.ERROR, JobManager.PI_JOBS, JobManager.PLUGIN_ERROR, "Unhandled error", t)); //$NON-NLS-1$
+		} finally {
+			currentJob = null;
+			CURRENT.remove();
+			pool.endWorker(this);
+		}
+	}
+
+	private void setNormPriority() {
+		if (thread.getPriority() != Thread.NORM_PRIORITY) {
+			// Setting priority on some platforms may cause high overhead
+			thread.setPriority(Thread.NORM_PRIORITY);
+		}
+	}
+
+	private String getJobName() {
+		String name = currentJob.getName();
+		if (name == null || name.trim().isEmpty()) {
+			name = "<unnamed job: " + currentJob.getClass().getName() + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return generalName + ": " + name; //$NON-NLS-1$
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(thread);
+	}
+}
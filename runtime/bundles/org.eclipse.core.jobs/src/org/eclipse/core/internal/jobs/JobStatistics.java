@@ -0,0 +1,63 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.jobs;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.core.runtime.jobs.IDurationHistogram;
+import org.eclipse.core.runtime.jobs.IJobStatistics;
+
+/**
+ * The scheduling statistics of one job class or job family.
+ */
+class JobStatistics implements IJobStatistics {
+	private final String name;
+	final DurationHistogram waitTime = new DurationHistogram();
+	final DurationHistogram blockedTime = new DurationHistogram();
+	final DurationHistogram runTime = new DurationHistogram();
+	final LongAdder reschedules = new LongAdder();
+
+	JobStatistics(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public IDurationHistogram getWaitTime() {
+		return waitTime;
+	}
+
+	@Override
+	public IDurationHistogram getBlockedTime() {
+		return blockedTime;
+	}
+
+	@Override
+	public IDurationHistogram getRunTime() {
+		return runTime;
+	}
+
+	@Override
+	public long getRescheduleCount() {
+		return reschedules.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "JobStatistics(" + name + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -220,7 +220,7 @@ public class LockManager {
 		//all job threads have to be treated as lock owners because UI thread
 		//may try to join a job
 		Thread current = Thread.currentThread();
-		if (current instanceof Worker)
+		if (current instanceof Worker || JobRunner.current() != null)
 			return true;
 		DeadlockDetector tempLocks = locks;
 		if (tempLocks == null)
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.jobs;
+
+import java.util.*;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.jobs.*;
+
+/**
+ * Indexes the scheduling rules of running and blocked jobs so that the jobs
+ * conflicting with a waiting job can be found without testing every running job.
+ * <p>
+ * Jobs whose rule is an {@link IHierarchicalSchedulingRule}, or a {@link MultiRule}
+ * composed only of such rules, are stored in a path trie per hierarchy. All other
+ * jobs are kept in a plain set and are always tested.
+ * </p>
+ * <p>
+ * This class is not thread safe, all access is guarded by {@link JobManager#lock}.
+ * </p>
+ */
+class RuleIndex {
+	/**
+	 * A node of the path trie. Holds the jobs whose rule locks exactly this path.
+	 */
+	private static final class Node {
+		Map<String, Node> children;
+		List<InternalJob> jobs;
+
+		Node child(String segment) {
+			return children == null ? null : children.get(segment);
+		}
+
+		boolean isEmpty() {
+			return (jobs == null || jobs.isEmpty()) && (children == null || children.isEmpty());
+		}
+	}
+
+	/**
+	 * Remembers the conflicting running job, or the first conflicting
+	 * blocked job, found while visiting candidates.
+	 */
+	private static final class Search {
+		final InternalJob waitingJob;
+		InternalJob blocked;
+
+		Search(InternalJob waitingJob) {
+			this.waitingJob = waitingJob;
+		}
+
+		/**
+		 * Returns a running job of the given list that conflicts with the
+		 * waiting job, or <code>null</code> if there is none.
+		 */
+		InternalJob visit(Collection<InternalJob> candidates) {
+			if (candidates == null)
+				return null;
+			for (InternalJob job : candidates) {
+				if (!waitingJob.isConflicting(job))
+					continue;
+				if (job.internalGetState() != InternalJob.BLOCKED)
+					return job;
+				if (blocked == null)
+					blocked = job;
+			}
+			return null;
+		}
+
+		InternalJob visitSubtree(Node node) {
+			InternalJob found = visit(node.jobs);
+			if (found != null || node.children == null)
+				return found;
+			for (Node child : node.children.values()) {
+				found = visitSubtree(child);
+				if (found != null)
+					return found;
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * The root node of the trie of each hierarchy.
+	 */
+	private final Map<Object, Node> roots = new HashMap<>();
+
+	/**
+	 * The rule components each indexed job was added with, so that it can be
+	 * removed even if its rule does not behave consistently.
+	 */
+	private final Map<InternalJob, IHierarchicalSchedulingRule[]> indexed = new IdentityHashMap<>();
+
+	/**
+	 * Jobs with a rule that cannot be indexed.
+	 */
+	private final Set<InternalJob> unindexed = new HashSet<>();
+
+	/**
+	 * Returns the hierarchical rules the given rule is composed of, or
+	 * <code>null</code> if the rule is not composed of hierarchical rules only.
+	 */
+	static IHierarchicalSchedulingRule[] components(ISchedulingRule rule) {
+		if (rule instanceof IHierarchicalSchedulingRule)
+			return new IHierarchicalSchedulingRule[] {(IHierarchicalSchedulingRule) rule};
+		if (rule == null || rule.getClass() != MultiRule.class)
+			return null;
+		ISchedulingRule[] children = ((MultiRule) rule).getChildren();
+		IHierarchicalSchedulingRule[] result = new IHierarchicalSchedulingRule[children.length];
+		for (int i = 0; i < children.length; i++) {
+			if (!(children[i] instanceof IHierarchicalSchedulingRule))
+				return null;
+			result[i] = (IHierarchicalSchedulingRule) children[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Adds a job that has become running or blocked.
+	 */
+	void add(InternalJob job) {
+		ISchedulingRule rule = job.getRule();
+		if (rule == null)
+			return;
+		IHierarchicalSchedulingRule[] components = components(rule);
+		if (components == null) {
+			unindexed.add(job);
+			return;
+		}
+		indexed.put(job, components);
+		for (IHierarchicalSchedulingRule component : components) {
+			Node node = roots.computeIfAbsent(component.getHierarchy(), k -> new Node());
+			IPath path = component.getFullPath();
+			for (int i = 0, count = path.segmentCount(); i < count; i++) {
+				if (node.children == null)
+					node.children = new HashMap<>();
+				node = node.children.computeIfAbsent(path.segment(i), k -> new Node());
+			}
+			if (node.jobs == null)
+				node.jobs = new ArrayList<>(2);
+			node.jobs.add(job);
+		}
+	}
+
+	/**
+	 * Removes a job that is no longer running or blocked.
+	 */
+	void remove(InternalJob job) {
+		IHierarchicalSchedulingRule[] components = indexed.remove(job);
+		if (components == null) {
+			unindexed.remove(job);
+			return;
+		}
+		for (IHierarchicalSchedulingRule component : components) {
+			Object hierarchy = component.getHierarchy();
+			Node root = roots.get(hierarchy);
+			if (root == null)
+				continue;
+			IPath path = component.getFullPath();
+			int count = path.segmentCount();
+			Node[] nodes = new Node[count + 1];
+			nodes[0] = root;
+			int depth = 0;
+			while (depth < count) {
+				Node child = nodes[depth].child(path.segment(depth));
+				if (child == null)
+					break;
+				nodes[++depth] = child;
+			}
+			if (depth < count || nodes[depth].jobs == null)
+				continue;
+			nodes[depth].jobs.remove(job);
+			//prune nodes that became empty
+			while (depth > 0 && nodes[depth].isEmpty()) {
+				nodes[depth - 1].children.remove(path.segment(depth - 1));
+				depth--;
+			}
+			if (root.isEmpty())
+				roots.remove(hierarchy);
+		}
+	}
+
+	/**
+	 * Discards all jobs from the index.
+	 */
+	void clear() {
+		roots.clear();
+		indexed.clear();
+		unindexed.clear();
+	}
+
+	/**
+	 * Returns a running or blocked job that conflicts with the given waiting job,
+	 * whose rule consists of the given hierarchical rules. Running jobs are preferred
+	 * over blocked jobs. Returns <code>null</code> if there is no conflicting job.
+	 */
+	InternalJob findBlockingJob(InternalJob waitingJob, IHierarchicalSchedulingRule[] components) {
+		Search search = new Search(waitingJob);
+		for (IHierarchicalSchedulingRule component : components) {
+			Node node = roots.get(component.getHierarchy());
+			IPath path = component.getFullPath();
+			//jobs locking an ancestor of the path
+			for (int i = 0, count = path.segmentCount(); node != null && i < count; i++) {
+				InternalJob found = search.visit(node.jobs);
+				if (found != null)
+					return found;
+				node = node.child(path.segment(i));
+			}
+			//jobs locking the path itself or one of its descendants
+			if (node != null) {
+				InternalJob found = search.visitSubtree(node);
+				if (found != null)
+					return found;
+			}
+		}
+		InternalJob found = search.visit(unindexed);
+		return found != null ? found : search.blocked;
+	}
+}
@@ -14,14 +14,22 @@
  *******************************************************************************/
 package org.eclipse.core.internal.jobs;
 
-import org.eclipse.core.runtime.Assert;
-import org.eclipse.core.runtime.IStatus;
+import java.util.concurrent.ThreadFactory;
+import org.eclipse.core.internal.runtime.RuntimeLog;
+import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.jobs.Job;
 
 /**
  * Maintains a pool of worker threads. Threads are constructed lazily as
  * required, and are eventually discarded if not in use for awhile. This class
  * maintains the thread creation/destruction policies for the job manager.
+ * <p>
+ * Workers are either {@link Worker} threads, or virtual threads if requested
+ * with {@link org.eclipse.core.runtime.jobs.IJobManager#PROP_USE_VIRTUAL_THREADS}.
+ * Virtual threads are cheap to create and should not be pooled, so an idle virtual
+ * worker is discarded as soon as MIN_THREADS other workers are idle.  Idle platform
+ * workers are discarded while the pool uses virtual threads.
+ * </p>
  *
  * Implementation note: all the data structures of this class are protected
  * by the instance's object monitor.  To avoid deadlock with third party code,
@@ -41,7 +49,7 @@ class WorkerPool {
 	/**
 	 * Soft limit on the maximum number of workers in the pool. An idle worker
 	 * is not put back in the pool if the total number of workers is more than
-	 * MAX_THREADS.
+	 * MAX_THREADS. Does not apply to virtual workers, which are not kept idle.
 	 */
 	private static final int MAX_THREADS = 50;
 
@@ -66,6 +74,10 @@ class WorkerPool {
 	 * The number of workers in the threads array
 	 */
 	private int numThreads = 0;
+	/**
+	 * The largest number of workers that were in the pool at the same time
+	 */
+	private int peakThreads = 0;
 	/**
 	 * The number of threads that are currently sleeping
 	 */
@@ -73,7 +85,12 @@ class WorkerPool {
 	/**
 	 * The living set of workers in this pool.
 	 */
-	private Worker[] threads = new Worker[10];
+	private JobRunner[] threads = new JobRunner[10];
+
+	/**
+	 * Creates virtual worker threads, or null if platform threads are used.
+	 */
+	private ThreadFactory virtualThreadFactory;
 
 	protected WorkerPool(JobManager manager) {
 		this.manager = manager;
@@ -83,14 +100,16 @@ class WorkerPool {
 	/**
 	 * Adds a worker to the list of workers.
 	 */
-	private synchronized void add(Worker worker) {
+	private synchronized void add(JobRunner worker) {
 		int size = threads.length;
 		if (numThreads + 1 > size) {
-			Worker[] newThreads = new Worker[2 * size];
+			JobRunner[] newThreads = new JobRunner[2 * size];
 			System.arraycopy(threads, 0, newThreads, 0, size);
 			threads = newThreads;
 		}
 		threads[numThreads++] = worker;
+		if (numThreads > peakThreads)
+			peakThreads = numThreads;
 	}
 
 	private synchronized void decrementBusyThreads() {
@@ -126,7 +145,7 @@ class WorkerPool {
 	 * Signals the death of a worker thread.  Note that this method can be called under
 	 * OutOfMemoryError conditions and thus must be paranoid about allocating objects.
 	 */
-	protected synchronized void endWorker(Worker worker) {
+	protected synchronized void endWorker(JobRunner worker) {
 		if (remove(worker) && JobManager.DEBUG)
 			JobManager.debug("worker removed from pool: " + worker); //$NON-NLS-1$
 	}
@@ -140,6 +159,27 @@ class WorkerPool {
 		}
 	}
 
+	/**
+	 * Returns the number of workers in the pool.
+	 */
+	synchronized int getThreadCount() {
+		return numThreads;
+	}
+
+	/**
+	 * Returns the number of workers that are running a job or looking for one.
+	 */
+	synchronized int getBusyThreadCount() {
+		return busyThreads;
+	}
+
+	/**
+	 * Returns the largest number of workers that were in the pool at the same time.
+	 */
+	synchronized int getPeakThreadCount() {
+		return peakThreads;
+	}
+
 	/**
 	 * Notification that a job has been added to the queue. Wake a worker,
 	 * creating a new worker if necessary. The provided job may be null.
@@ -152,21 +192,37 @@ class WorkerPool {
 		}
 		//create a thread if all threads are busy
 		if (busyThreads >= numThreads) {
-			Worker worker = new Worker(this);
-			worker.setDaemon(isDaemon);
+			JobRunner worker = new JobRunner(this);
+			Thread thread = newThread(worker);
+			thread.setContextClassLoader(defaultContextLoader);
 			add(worker);
 			if (JobManager.DEBUG)
 				JobManager.debug("worker added to pool: " + worker); //$NON-NLS-1$
-			worker.start();
+			thread.start();
 			return;
 		}
 	}
 
+	/**
+	 * Creates the thread of a new worker.
+	 */
+	private Thread newThread(JobRunner worker) {
+		if (virtualThreadFactory != null) {
+			Thread thread = virtualThreadFactory.newThread(worker);
+			thread.setName(worker.getGeneralName());
+			worker.setThread(thread);
+			return thread;
+		}
+		Worker thread = new Worker(worker);
+		thread.setDaemon(isDaemon);
+		return thread;
+	}
+
 	/**
 	 * Remove a worker thread from our list.
 	 * @return true if a worker was removed, and false otherwise.
 	 */
-	private synchronized boolean remove(Worker worker) {
+	private synchronized boolean remove(JobRunner worker) {
 		for (int i = 0; i < threads.length; i++) {
 			if (threads[i] == worker) {
 				System.arraycopy(threads, i + 1, threads, i, numThreads - i - 1);
@@ -184,6 +240,32 @@ class WorkerPool {
 		this.isDaemon = value;
 	}
 
+	/**
+	 * Sets whether threads created in the worker pool should be virtual threads.
+	 * Platform threads are used if the Java runtime does not support virtual threads.
+	 * Idle platform workers are discarded while the pool uses virtual threads.
+	 * <p>
+	 * The scheduler of virtual threads is shared by the whole Java runtime and is
+	 * left alone: jobs that block while holding a monitor pin their carrier
+	 * thread, see {@link org.eclipse.core.runtime.jobs.IJobManager#PROP_USE_VIRTUAL_THREADS}.
+	 * </p>
+	 */
+	synchronized void setVirtual(boolean value) {
+		virtualThreadFactory = null;
+		//wake idle workers so that platform workers are discarded in virtual mode
+		notifyAll();
+		if (!value)
+			return;
+		try {
+			//reflection is needed as long as the bundle runs on Java 11
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null); //$NON-NLS-1$
+			virtualThreadFactory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			String msg = "Virtual threads are not supported by this Java runtime, jobs run on platform threads"; //$NON-NLS-1$
+			RuntimeLog.log(new Status(IStatus.WARNING, JobManager.PI_JOBS, JobManager.PLUGIN_ERROR, msg, e));
+		}
+	}
+
 	protected synchronized void shutdown() {
 		notifyAll();
 	}
@@ -210,7 +292,7 @@ class WorkerPool {
 	/**
 	 * Returns a new job to run. Returns null if the thread should die.
 	 */
-	protected InternalJob startJob(Worker worker) {
+	protected InternalJob startJob(JobRunner worker) {
 		// must endWorker and decrementBusyThreads from the same synchronized block
 		boolean busy;
 		synchronized (this) {
@@ -225,14 +307,15 @@ class WorkerPool {
 		}
 		Job job = null;
 		try {
-			job = manager.startJob(worker);
+			job = manager.startJob(worker.getThread());
 			//spin until a job is found or until we have been idle for too long
 			long idleStart = manager.now();
 			while (manager.isActive() && job == null) {
 				long hint = manager.sleepHint();
 				if (hint > 0) {
 					synchronized (this) {
-						if (numThreads > MAX_THREADS) {
+						//virtual workers are not kept if other workers are idle, platform workers not at all
+						if (virtualThreadFactory == null ? numThreads > MAX_THREADS : numThreads - busyThreads >= MIN_THREADS || worker.getThread() instanceof Worker) {
 							endWorker(worker);
 							decrementBusyThreads();
 							busy = false;
@@ -241,7 +324,7 @@ class WorkerPool {
 					}
 					sleep(Math.min(hint, BEST_BEFORE));
 				}
-				job = manager.startJob(worker);
+				job = manager.startJob(worker.getThread());
 				//if we were already idle, and there are still no new jobs, then
 				// the thread can expire
 				synchronized (this) {
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.runtime.jobs;
+
+/**
+ * A histogram of durations recorded by the job manager.  Durations are
+ * measured in nanoseconds and counted in buckets whose bounds are powers of
+ * two: bucket <code>0</code> counts durations of zero, and bucket <code>i</code>
+ * counts durations <code>d</code> with <code>2<sup>i-1</sup> &lt;= d &lt; 2<sup>i</sup></code>.
+ * <p>
+ * A histogram is updated concurrently while jobs run, so the values returned by
+ * its methods may be slightly inconsistent with each other.
+ * </p>
+ *
+ * @see IJobStatistics
+ * @since 3.14
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IDurationHistogram {
+	/**
+	 * The number of buckets of a histogram.
+	 */
+	int BUCKETS = 64;
+
+	/**
+	 * Returns the number of recorded durations.
+	 *
+	 * @return the number of recorded durations
+	 */
+	long getCount();
+
+	/**
+	 * Returns the sum of the recorded durations in nanoseconds.
+	 *
+	 * @return the total duration in nanoseconds
+	 */
+	long getTotal();
+
+	/**
+	 * Returns the longest recorded duration in nanoseconds, or <code>0</code>
+	 * if no duration has been recorded.
+	 *
+	 * @return the longest duration in nanoseconds
+	 */
+	long getMax();
+
+	/**
+	 * Returns an upper bound of the given percentile of the recorded durations,
+	 * in nanoseconds.  The result is the upper bound of the bucket that contains
+	 * the percentile, but never more than {@link #getMax()}.
+	 *
+	 * @param percentile the percentile, between <code>0</code> and <code>100</code>
+	 * @return an upper bound of the percentile in nanoseconds, or <code>0</code>
+	 * if no duration has been recorded
+	 */
+	long getPercentile(double percentile);
+
+	/**
+	 * Returns the number of recorded durations in each bucket.
+	 *
+	 * @return an array of {@link #BUCKETS} counts
+	 */
+	long[] getBucketCounts();
+}
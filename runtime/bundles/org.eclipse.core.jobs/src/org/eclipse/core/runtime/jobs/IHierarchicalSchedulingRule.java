@@ -0,0 +1,55 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.runtime.jobs;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * A scheduling rule that locks a node in a tree shaped hierarchy, such as a
+ * resource in a workspace. The job manager uses the structure of such rules to
+ * index running and blocked jobs by path, so that finding the jobs that conflict
+ * with a hierarchical rule does not require testing every running job.
+ * <p>
+ * Implementations must guarantee that two hierarchical rules conflict if and
+ * only if their hierarchies are equal and the path of one rule is a prefix of the
+ * path of the other rule (see {@link IPath#isPrefixOf(IPath)}). A hierarchical rule
+ * may additionally conflict with rules that are not hierarchical.
+ * </p>
+ * <p>
+ * The hierarchy and path of a rule must not change while a job using the rule
+ * is scheduled or running.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @see ISchedulingRule#isConflicting(ISchedulingRule)
+ * @since 3.14
+ */
+public interface IHierarchicalSchedulingRule extends ISchedulingRule {
+	/**
+	 * Returns the hierarchy this rule belongs to. Rules of different hierarchies
+	 * never conflict with each other. The returned object is used as a hash key.
+	 *
+	 * @return the hierarchy of this rule, never <code>null</code>
+	 */
+	Object getHierarchy();
+
+	/**
+	 * Returns the path of the node locked by this rule within its hierarchy.
+	 *
+	 * @return the path of this rule, never <code>null</code>
+	 */
+	IPath getFullPath();
+}
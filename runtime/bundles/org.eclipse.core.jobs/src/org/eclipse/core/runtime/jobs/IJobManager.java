@@ -49,6 +49,43 @@ public interface IJobManager {
 	 */
 	String PROP_USE_DAEMON_THREADS = "eclipse.jobs.daemon"; //$NON-NLS-1$
 
+	/**
+	 * A system property key indicating whether the job manager should run jobs
+	 * on virtual threads.  Set to <code>true</code> to create worker threads as
+	 * virtual threads when the Java runtime supports them (Java 21 and later).
+	 * On older runtimes, or if the property is absent or <code>false</code>,
+	 * platform threads are used.
+	 * <p>
+	 * Virtual threads are cheap to create and to block, so jobs that mostly wait
+	 * for I/O no longer compete for a limited number of idle worker threads.
+	 * Virtual threads are always daemon threads, {@link #PROP_USE_DAEMON_THREADS}
+	 * has no effect on them.
+	 * </p>
+	 * <p>
+	 * Jobs that block while holding a monitor, and the job manager itself while
+	 * a job waits for a rule or yields, may pin the carrier thread of their
+	 * virtual thread, depending on the Java version. The Java runtime only
+	 * provides as many carrier threads as there are processors by default, so a
+	 * few such jobs can starve all other virtual threads. Applications that run
+	 * jobs which block in monitors on virtual threads must raise the number of
+	 * carrier threads themselves, for example with the system property
+	 * <code>jdk.virtualThreadScheduler.parallelism</code>. The job manager does
+	 * not change the scheduler, since it is shared by the whole Java runtime.
+	 * </p>
+	 * @since 3.14
+	 */
+	String PROP_USE_VIRTUAL_THREADS = "eclipse.jobs.virtual"; //$NON-NLS-1$
+
+	/**
+	 * A system property key indicating whether the job manager should record
+	 * scheduling metrics from startup.  Set to <code>true</code> to enable
+	 * {@link #getMetrics()} before the first job is scheduled.  If the property is
+	 * absent or <code>false</code>, metrics are only recorded once enabled with
+	 * {@link IJobMetrics#setEnabled(boolean)}.
+	 * @since 3.14
+	 */
+	String PROP_RECORD_METRICS = "eclipse.jobs.metrics"; //$NON-NLS-1$
+
 	/**
 	 * Registers a job listener with the job manager.
 	 * Has no effect if an identical listener is already registered.
@@ -195,6 +232,17 @@ public interface IJobManager {
 	 */
 	Job[] find(Object family);
 
+	/**
+	 * Returns the scheduling metrics of this job manager.  Metrics are only
+	 * recorded while they are enabled.
+	 *
+	 * @return the scheduling metrics
+	 * @see IJobMetrics#setEnabled(boolean)
+	 * @see #PROP_RECORD_METRICS
+	 * @since 3.14
+	 */
+	IJobMetrics getMetrics();
+
 	/**
 	 * Returns whether the job manager is currently idle.  The job manager is
 	 * idle if no jobs are currently running or waiting to run.
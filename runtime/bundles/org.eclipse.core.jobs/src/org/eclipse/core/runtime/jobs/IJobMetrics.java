@@ -0,0 +1,125 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.runtime.jobs;
+
+/**
+ * Scheduling metrics of the job manager.  When enabled, the job manager records
+ * wait, blocked and run times and reschedule counts for each job class, and for
+ * each family declared with {@link Job#setFamilies(Object...)}.  The metrics also
+ * report how many worker threads the job manager uses.
+ * <p>
+ * Recording is disabled by default, unless the system property
+ * {@link IJobManager#PROP_RECORD_METRICS} is set.  While disabled, the job
+ * manager records nothing, but statistics recorded so far are kept.
+ * Statistics are discarded when their job class or family object is
+ * garbage collected.
+ * </p>
+ *
+ * @see IJobManager#getMetrics()
+ * @since 3.14
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IJobMetrics {
+	/**
+	 * Returns whether the job manager records metrics.
+	 *
+	 * @return <code>true</code> if metrics are recorded, and <code>false</code>
+	 * otherwise
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Sets whether the job manager records metrics.  Jobs that are already
+	 * waiting or running when recording is enabled are only measured from
+	 * their next state change.
+	 *
+	 * @param enabled <code>true</code> to record metrics, and <code>false</code>
+	 * to stop recording
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * Discards all recorded statistics.
+	 */
+	void reset();
+
+	/**
+	 * Returns the statistics of all job classes for which metrics have been
+	 * recorded.
+	 *
+	 * @return the statistics of the job classes
+	 */
+	IJobStatistics[] getJobClassStatistics();
+
+	/**
+	 * Returns the statistics of the given job class, or <code>null</code> if no
+	 * metrics have been recorded for it.
+	 *
+	 * @param jobClass the class of the jobs
+	 * @return the statistics of the job class, or <code>null</code>
+	 */
+	IJobStatistics getJobClassStatistics(Class<?> jobClass);
+
+	/**
+	 * Returns the statistics of all declared job families for which metrics have
+	 * been recorded.
+	 *
+	 * @return the statistics of the job families
+	 */
+	IJobStatistics[] getFamilyStatistics();
+
+	/**
+	 * Returns the statistics of the given declared job family, or <code>null</code>
+	 * if no metrics have been recorded for it.  Only families declared with
+	 * {@link Job#setFamilies(Object...)} have statistics.
+	 *
+	 * @param family the job family
+	 * @return the statistics of the job family, or <code>null</code>
+	 */
+	IJobStatistics getFamilyStatistics(Object family);
+
+	/**
+	 * Returns the number of worker threads of the job manager.
+	 *
+	 * @return the number of worker threads
+	 */
+	int getWorkerCount();
+
+	/**
+	 * Returns the number of worker threads that are running a job or looking
+	 * for one to run.
+	 *
+	 * @return the number of busy worker threads
+	 */
+	int getBusyWorkerCount();
+
+	/**
+	 * Returns the largest number of worker threads the job manager has used at
+	 * the same time.
+	 *
+	 * @return the peak number of worker threads
+	 */
+	int getPeakWorkerCount();
+
+	/**
+	 * Returns the recorded metrics as a JSON document.  The document contains
+	 * the worker counts and, for every job class and family, the count, total,
+	 * maximum and the 50th, 90th and 99th percentiles of each histogram in
+	 * nanoseconds.
+	 *
+	 * @return the metrics as JSON
+	 */
+	String toJSON();
+}
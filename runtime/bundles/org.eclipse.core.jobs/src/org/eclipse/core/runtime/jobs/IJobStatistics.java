@@ -0,0 +1,72 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.runtime.jobs;
+
+/**
+ * Scheduling statistics of the jobs of one job class, or of one job family.
+ * The job manager measures, for every run of a job:
+ * <ul>
+ * <li>the time the job spent in the wait queue before it started running,
+ * not counting the time it was blocked;</li>
+ * <li>the time the job spent blocked behind a running job with a conflicting
+ * scheduling rule;</li>
+ * <li>the time from the start of the job until it was done.</li>
+ * </ul>
+ *
+ * @see IJobMetrics
+ * @since 3.14
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IJobStatistics {
+	/**
+	 * Returns the name of these statistics: the fully qualified name of the job
+	 * class, or the string representation of the job family.
+	 *
+	 * @return the name of these statistics
+	 */
+	String getName();
+
+	/**
+	 * Returns the histogram of the times jobs spent waiting to run, excluding
+	 * the time they were blocked.
+	 *
+	 * @return the histogram of wait times
+	 */
+	IDurationHistogram getWaitTime();
+
+	/**
+	 * Returns the histogram of the times jobs spent blocked behind running jobs
+	 * with conflicting scheduling rules before they started running.
+	 *
+	 * @return the histogram of blocked times
+	 */
+	IDurationHistogram getBlockedTime();
+
+	/**
+	 * Returns the histogram of the times jobs ran, from the moment they started
+	 * until they were done.
+	 *
+	 * @return the histogram of run times
+	 */
+	IDurationHistogram getRunTime();
+
+	/**
+	 * Returns how many times jobs were rescheduled when they were done, because
+	 * they were scheduled again while running.
+	 *
+	 * @return the number of reschedules
+	 */
+	long getRescheduleCount();
+}
@@ -261,18 +261,20 @@ public abstract class Job extends InternalJob {
 	 * by the job manager.  Thus, a job can choose to belong to any number of
 	 * families.
 	 * <p>
-	 * Clients may override this method.  This default implementation always returns
-	 * <code>false</code>.  Overriding implementations must return <code>false</code>
-	 * for families they do not recognize.
+	 * Clients may override this method.  This default implementation returns
+	 * <code>true</code> for the families declared with {@link #setFamilies(Object...)},
+	 * and <code>false</code> otherwise.  Overriding implementations must return
+	 * <code>false</code> for families they do not recognize.
 	 * </p>
 	 *
 	 * @param family the job family identifier
 	 * @return <code>true</code> if this job belongs to the given family, and
 	 * <code>false</code> otherwise.
+	 * @see #setFamilies(Object...)
 	 */
 	@Override
 	public boolean belongsTo(Object family) {
-		return false;
+		return super.belongsTo(family);
 	}
 
 	/**
@@ -771,6 +773,31 @@ public abstract class Job extends InternalJob {
 		super.setRule(rule);
 	}
 
+	/**
+	 * Declares the families this job belongs to.  Families are compared using
+	 * <code>equals</code>.  The job manager keeps an index of scheduled jobs by
+	 * declared family, so that finding, joining, canceling, sleeping or waking up
+	 * a family of jobs does not need to ask every job whether it belongs to the
+	 * family.
+	 * <p>
+	 * Once a job has declared its families, the job manager only uses the declared
+	 * families to answer family queries, and does not call {@link #belongsTo(Object)}.
+	 * Subclasses that declare their families should therefore not override
+	 * <code>belongsTo</code> to answer differently.  This method must be called
+	 * before the job is scheduled.
+	 * </p>
+	 *
+	 * @param families the families of this job, none of which may be <code>null</code>
+	 * @exception IllegalStateException if the job is scheduled
+	 * @see #belongsTo(Object)
+	 * @see IJobManager#find(Object)
+	 * @since 3.14
+	 */
+	@Override
+	public final void setFamilies(Object... families) {
+		super.setFamilies(families);
+	}
+
 	/**
 	 * Sets whether or not this job is a system job.  System jobs are typically not
 	 * revealed to users in any UI presentation of jobs.  Other than their UI presentation,
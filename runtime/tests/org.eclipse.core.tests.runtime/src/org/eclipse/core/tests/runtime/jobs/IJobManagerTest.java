@@ -560,6 +560,61 @@ public class IJobManagerTest extends AbstractJobManagerTest {
 		}
 	}
 
+	/**
+	 * Tests conflicts between jobs with hierarchical rules, which are looked up
+	 * in the rule index of the job manager, and jobs with other rules.
+	 */
+	public void testHierarchicalRules() {
+		ISchedulingRule mutex = new IdentityRule();
+		TestJob holder = newRuleJob(new PathRule("/a/b"));
+		TestJob other = newRuleJob(mutex);
+		waitForStart(holder);
+		waitForStart(other);
+		TestJob ancestor = newRuleJob(new PathRule("/a"));
+		TestJob descendant = newRuleJob(new PathRule("/a/b/c"));
+		TestJob multi = newRuleJob(MultiRule.combine(new PathRule("/x"), new PathRule("/a/b/c/d")));
+		//conflicts with the blocked ancestor job only
+		TestJob sibling = newRuleJob(new PathRule("/a/c"));
+		TestJob mixed = newRuleJob(MultiRule.combine(new PathRule("/y"), mutex));
+		TestJob unrelated = newRuleJob(new PathRule("/ab"));
+		waitForStart(unrelated);
+		assertState("1.0", holder, Job.RUNNING);
+		assertState("1.1", other, Job.RUNNING);
+		assertState("1.2", unrelated, Job.RUNNING);
+		assertState("1.3", ancestor, Job.WAITING);
+		assertState("1.4", descendant, Job.WAITING);
+		assertState("1.5", multi, Job.WAITING);
+		assertState("1.6", sibling, Job.WAITING);
+		assertState("1.7", mixed, Job.WAITING);
+
+		holder.cancel();
+		waitForStart(ancestor);
+		assertState("2.0", descendant, Job.WAITING);
+		assertState("2.1", multi, Job.WAITING);
+		assertState("2.2", sibling, Job.WAITING);
+
+		ancestor.cancel();
+		waitForStart(descendant);
+		waitForStart(sibling);
+		assertState("3.0", multi, Job.WAITING);
+
+		descendant.cancel();
+		waitForStart(multi);
+		other.cancel();
+		waitForStart(mixed);
+
+		for (TestJob job : new TestJob[] {sibling, multi, mixed, unrelated})
+			job.cancel();
+		waitForCompletion();
+	}
+
+	private TestJob newRuleJob(ISchedulingRule rule) {
+		TestJob job = new TestJob("testHierarchicalRules", 1000000, 1);
+		job.setRule(rule);
+		job.schedule();
+		return job;
+	}
+
 	public void testJobFamilyCancel() {
 		//test the cancellation of a family of jobs
 		final int NUM_JOBS = 20;
@@ -637,6 +692,80 @@ public class IJobManagerTest extends AbstractJobManagerTest {
 		}
 	}
 
+	public void testJobFamilyDeclared() {
+		//test finding and canceling jobs that declare their families up front
+		final int NUM_JOBS = 12;
+		TestJob[] jobs = new TestJob[NUM_JOBS];
+		String first = "first";
+		String second = "second";
+		TestJobFamily undeclared = new TestJobFamily(TestJobFamily.TYPE_ONE);
+		//need a scheduling rule so that the jobs would be executed one by one
+		ISchedulingRule rule = new IdentityRule();
+
+		for (int i = 0; i < NUM_JOBS; i++) {
+			switch (i % 3) {
+			case 0:
+				jobs[i] = new TestJob("TestFirstFamily", 1000000, 10);
+				jobs[i].setFamilies(first);
+				break;
+			case 1:
+				jobs[i] = new TestJob("TestBothFamilies", 1000000, 10);
+				jobs[i].setFamilies(first, second);
+				break;
+			default:
+				/*if(i%3 == 2)*/
+				jobs[i] = new FamilyTestJob("TestUndeclaredFamily", 1000000, 10, TestJobFamily.TYPE_ONE);
+				break;
+			}
+			jobs[i].setRule(rule);
+			jobs[i].schedule();
+		}
+
+		waitForStart(jobs[0]);
+
+		//the families cannot change while the job is scheduled
+		try {
+			jobs[0].setFamilies(second);
+			fail("1.0");
+		} catch (IllegalStateException e) {
+			//expected
+		}
+		assertTrue("1.1", jobs[0].belongsTo(first));
+		assertTrue("1.2", !jobs[0].belongsTo(second));
+		assertTrue("1.3", jobs[1].belongsTo(second));
+		assertTrue("1.4", !jobs[2].belongsTo(first));
+
+		//declared jobs are found in the order they were scheduled
+		Job[] result = manager.find(first);
+		assertEquals("2.0", 8, result.length);
+		for (int i = 0, j = 0; i < NUM_JOBS; i++) {
+			if (i % 3 != 2) {
+				assertEquals("2." + (i + 1), jobs[i], result[j++]);
+			}
+		}
+		assertEquals("2.9", 4, manager.find(second).length);
+		assertEquals("2.10", 4, manager.find(undeclared).length);
+
+		//cancel the jobs that declared both families
+		manager.cancel(second);
+		for (int i = 1; i < NUM_JOBS; i += 3) {
+			assertState("3." + i, jobs[i], Job.NONE);
+		}
+		assertEquals("3.0", 0, manager.find(second).length);
+		assertEquals("3.1", 4, manager.find(first).length);
+		assertEquals("3.2", 4, manager.find(undeclared).length);
+
+		//once done, a job can change its families
+		manager.cancel(first);
+		manager.cancel(undeclared);
+		waitForCompletion();
+		jobs[0].setFamilies(second);
+		assertTrue("4.0", jobs[0].belongsTo(second));
+		assertTrue("4.1", !jobs[0].belongsTo(first));
+		assertEquals("4.2", 0, manager.find(first).length);
+		assertEquals("4.3", 0, manager.find(undeclared).length);
+	}
+
 	public void testJobFamilyFind() {
 		//test of finding jobs based on the job family they belong to
 		final int NUM_JOBS = 20;
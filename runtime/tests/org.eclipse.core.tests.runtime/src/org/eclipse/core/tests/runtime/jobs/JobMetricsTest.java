@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.runtime.jobs;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.*;
+import org.junit.*;
+
+public class JobMetricsTest {
+	private static final String FAMILY = "JobMetricsTest";
+
+	/**
+	 * A job that sleeps for a while and reschedules itself a given number of times.
+	 */
+	private static class MeasuredJob extends Job {
+		private final AtomicInteger reschedules;
+
+		MeasuredJob(ISchedulingRule rule, int reschedules) {
+			super("MeasuredJob");
+			this.reschedules = new AtomicInteger(reschedules);
+			setRule(rule);
+			setSystem(true);
+			setFamilies(FAMILY);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				return Status.CANCEL_STATUS;
+			}
+			if (reschedules.getAndDecrement() > 0)
+				schedule();
+			return Status.OK_STATUS;
+		}
+	}
+
+	private IJobMetrics metrics;
+	private boolean wasEnabled;
+
+	@Before
+	public void setUp() {
+		metrics = Job.getJobManager().getMetrics();
+		wasEnabled = metrics.isEnabled();
+		metrics.setEnabled(true);
+		metrics.reset();
+	}
+
+	@After
+	public void tearDown() {
+		metrics.setEnabled(wasEnabled);
+		metrics.reset();
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		ISchedulingRule rule = new IdentityRule();
+		new MeasuredJob(rule, 1).schedule();
+		new MeasuredJob(rule, 0).schedule();
+		Job.getJobManager().join(FAMILY, null);
+
+		IJobStatistics statistics = metrics.getJobClassStatistics(MeasuredJob.class);
+		assertNotNull(statistics);
+		assertEquals(MeasuredJob.class.getName(), statistics.getName());
+		// two jobs, one of them rescheduled once
+		assertEquals(3, statistics.getRunTime().getCount());
+		assertEquals(3, statistics.getWaitTime().getCount());
+		assertEquals(3, statistics.getBlockedTime().getCount());
+		assertEquals(1, statistics.getRescheduleCount());
+		assertTrue(statistics.getRunTime().getMax() >= 40_000_000L);
+		assertTrue(statistics.getRunTime().getPercentile(50) > 0);
+		assertTrue(statistics.getRunTime().getPercentile(50) <= statistics.getRunTime().getMax());
+
+		IJobStatistics family = metrics.getFamilyStatistics(FAMILY);
+		assertNotNull(family);
+		assertEquals(3, family.getRunTime().getCount());
+		assertEquals(1, family.getRescheduleCount());
+
+		assertTrue(metrics.getPeakWorkerCount() >= 1);
+		assertTrue(metrics.getPeakWorkerCount() >= metrics.getWorkerCount());
+		String json = metrics.toJSON();
+		assertTrue(json, json.startsWith("{\"enabled\":true"));
+		assertTrue(json, json.contains("\"name\":\"" + MeasuredJob.class.getName() + "\""));
+		assertTrue(json, json.contains("\"name\":\"" + FAMILY + "\""));
+	}
+
+	@Test
+	public void testDisabled() throws Exception {
+		metrics.setEnabled(false);
+		new MeasuredJob(null, 0).schedule();
+		Job.getJobManager().join(FAMILY, null);
+		assertNull(metrics.getJobClassStatistics(MeasuredJob.class));
+		assertNull(metrics.getFamilyStatistics(FAMILY));
+	}
+}
@@ -13,9 +13,11 @@
  *******************************************************************************/
 package org.eclipse.core.tests.runtime.jobs;
 
+import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.eclipse.core.internal.jobs.JobManager;
 import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.jobs.*;
 import org.eclipse.core.tests.harness.TestBarrier2;
@@ -24,6 +26,7 @@ import org.eclipse.core.tests.harness.TestJob;
 /**
  * Tests for {@link Job#yieldRule(IProgressMonitor)}.
  */
+@SuppressWarnings("restriction")
 public class YieldTest extends AbstractJobManagerTest {
 
 	class TestJobListener extends JobChangeAdapter {
@@ -235,6 +238,64 @@ public class YieldTest extends AbstractJobManagerTest {
 		assertTrue(conflictingJob.getResult().isOK());
 	}
 
+	public void testYieldJobToJobOnVirtualThreads() throws Exception {
+		Method isVirtual;
+		try {
+			isVirtual = Thread.class.getMethod("isVirtual");
+		} catch (NoSuchMethodException e) {
+			//virtual threads are not supported by this Java runtime
+			return;
+		}
+		JobManager jobManager = (JobManager) manager;
+		jobManager.setVirtualThreads(true);
+		try {
+			//wait until the idle platform workers are discarded
+			long end = System.currentTimeMillis() + 10000;
+			while (manager.getMetrics().getWorkerCount() > 0 && System.currentTimeMillis() < end) {
+				Thread.sleep(10);
+			}
+			final PathRule rule = new PathRule(getName());
+			final Thread[] threads = new Thread[2];
+			final Job[] jobs = new Job[2];
+			Job yieldJob = new Job(getName() + " Yielding") {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					threads[0] = Thread.currentThread();
+					while (yieldRule(null) == null) {
+						//loop until yield succeeds
+					}
+					waitForCompletion(jobs[1]);
+					assertTrue(jobs[1].getResult().isOK());
+					return Status.OK_STATUS;
+				}
+			};
+			jobs[0] = yieldJob;
+			yieldJob.setRule(rule);
+
+			Job conflictingJob = new Job(getName() + " Conflicting") {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					threads[1] = Thread.currentThread();
+					assertEquals(WAITING, jobs[0].getState());
+					return Status.OK_STATUS;
+				}
+			};
+			jobs[1] = conflictingJob;
+			conflictingJob.setRule(rule);
+
+			yieldJob.schedule();
+			conflictingJob.schedule();
+			waitForCompletion(yieldJob);
+			assertTrue("Result is not ok: " + yieldJob.getResult(), yieldJob.getResult().isOK());
+			waitForCompletion(conflictingJob);
+			assertTrue(conflictingJob.getResult().isOK());
+			assertEquals(Boolean.TRUE, isVirtual.invoke(threads[0]));
+			assertEquals(Boolean.TRUE, isVirtual.invoke(threads[1]));
+		} finally {
+			jobManager.setVirtualThreads(Boolean.getBoolean(IJobManager.PROP_USE_VIRTUAL_THREADS));
+		}
+	}
+
 	//	public void testILockTransfer() {
 	//		final PathRule rule = new PathRule("testYield");
 	//		final ILock lock = Job.getJobManager().newLock();
@@ -47,6 +47,7 @@ public class AllPerfTests extends TestCase {
 		suite.addTestSuite(BenchPath.class);
 		suite.addTest(ContentTypePerformanceTest.suite());
 		suite.addTestSuite(PreferencePerformanceTest.class);
+		suite.addTestSuite(JobManagerPerformanceTest.class);
 		return suite;
 	}
 }
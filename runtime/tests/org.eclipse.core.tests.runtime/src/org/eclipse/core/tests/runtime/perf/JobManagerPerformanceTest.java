@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.runtime.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.tests.harness.PerformanceTestRunner;
+import org.eclipse.core.tests.runtime.RuntimeTest;
+
+/**
+ * Measures the throughput of the job manager when many threads schedule and
+ * complete short jobs of unrelated families while other threads query them.
+ */
+public class JobManagerPerformanceTest extends RuntimeTest {
+	private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+	private static final int JOBS_PER_THREAD = 200;
+
+	/**
+	 * A job that does nothing and belongs to a single family.
+	 */
+	private static class ShortJob extends Job {
+		private final Object family;
+
+		ShortJob(Object family) {
+			super("ShortJob");
+			this.family = family;
+			setSystem(true);
+		}
+
+		@Override
+		public boolean belongsTo(Object f) {
+			return f == family;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			return Status.OK_STATUS;
+		}
+	}
+
+	public JobManagerPerformanceTest() {
+		super();
+	}
+
+	public JobManagerPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	private void runConcurrently(List<Thread> threads) {
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				fail("Interrupted while waiting for " + thread.getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * Each thread schedules jobs of its own family and joins them.
+	 */
+	private void scheduleAndJoin(IJobManager manager, AtomicBoolean failed) {
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			final Object family = new Object();
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < JOBS_PER_THREAD; i++) {
+						new ShortJob(family).schedule();
+					}
+					manager.join(family, null);
+				} catch (InterruptedException | RuntimeException e) {
+					failed.set(true);
+				}
+			}, "Scheduler-" + t));
+		}
+		runConcurrently(threads);
+	}
+
+	/**
+	 * Tests scheduling and completing short jobs from many threads.
+	 */
+	public void testScheduleComplete() {
+		final IJobManager manager = Job.getJobManager();
+		final AtomicBoolean failed = new AtomicBoolean();
+		new PerformanceTestRunner() {
+			@Override
+			protected void test() {
+				scheduleAndJoin(manager, failed);
+			}
+		}.run(this, 10, 5);
+		assertFalse("A scheduling thread failed", failed.get());
+	}
+
+	/**
+	 * Tests scheduling and completing short jobs from many threads while other
+	 * threads keep querying job families.
+	 */
+	public void testScheduleCompleteWithFamilyQueries() {
+		final IJobManager manager = Job.getJobManager();
+		final AtomicBoolean failed = new AtomicBoolean();
+		final AtomicBoolean done = new AtomicBoolean();
+		final Object unrelatedFamily = new Object();
+		List<Thread> pollers = new ArrayList<>();
+		for (int t = 0; t < 2; t++) {
+			pollers.add(new Thread(() -> {
+				while (!done.get()) {
+					manager.find(unrelatedFamily);
+					manager.isIdle();
+				}
+			}, "Poller-" + t));
+		}
+		pollers.forEach(Thread::start);
+		try {
+			new PerformanceTestRunner() {
+				@Override
+				protected void test() {
+					scheduleAndJoin(manager, failed);
+				}
+			}.run(this, 10, 5);
+		} finally {
+			done.set(true);
+			for (Thread poller : pollers) {
+				try {
+					poller.join();
+				} catch (InterruptedException e) {
+					fail("Interrupted while waiting for " + poller.getName(), e);
+				}
+			}
+		}
+		assertFalse("A scheduling thread failed", failed.get());
+	}
+}